@@ -0,0 +1,157 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.TodoListApplication;
+import com.example.todolist.dao.CategoryJdbcDao;
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Status;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.service.AuthenticatedUser;
+import com.example.todolist.service.TaskStatsService;
+import com.example.todolist.service.search.TaskSearchIndex;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Boots the application against a private in-memory H2 database, migrated by Flyway without the
+ * demo seed, and fills it with {@link #taskCount} tasks spread over {@link #categoryCount}
+ * categories of one user, who is then signed in for every benchmark thread.
+ *
+ * <p>Run with {@code ./mvnw -Pbenchmark test}; sizes and JMH options go through {@code jmh.args},
+ * e.g. {@code -Djmh.args="TaskServiceBenchmark -p taskCount=100000 -f 1"}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+  static final UUID USER_ID = UUID.fromString("bbbbbbbb-0000-0000-0000-000000000001");
+  static final String[] WORDS = {
+    "raport", "spotkanie", "zakupy", "prezentacja", "backup", "review", "faktura", "trening",
+    "dokumentacja", "naprawa", "projekt", "klient", "mleko", "kurs", "wizyta", "remont"
+  };
+  static final String[] CATEGORY_NAMES = {
+    "Praca",
+    "Dom",
+    "Łazienka",
+    "Żywność",
+    "Ćwiczenia",
+    "Śniadania",
+    "Zakupy",
+    "Hobby",
+    "Ogród",
+    "Auto",
+    "Książki",
+    "Źródła",
+    "Nauka",
+    "Sport",
+    "Finanse",
+    "Zdrowie"
+  };
+
+  @Param({"1000", "10000"})
+  public int taskCount;
+
+  @Param({"20"})
+  public int categoryCount;
+
+  ConfigurableApplicationContext context;
+  List<Category> categories;
+
+  @Setup(Level.Trial)
+  public void start() {
+    context =
+        new SpringApplicationBuilder(TodoListApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.flyway.locations=classpath:db/migration",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.security.web.authentication=WARN",
+                "--logging.level.org.springframework.security.authentication=WARN");
+    seed();
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    AuthenticatedUser principal =
+        new AuthenticatedUser(
+            USER_ID, "bench@example.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() {
+    SecurityContextHolder.clearContext();
+    context.close();
+  }
+
+  <T> T bean(Class<T> type) {
+    return context.getBean(type);
+  }
+
+  private void seed() {
+    JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+    jdbcTemplate.update(
+        "INSERT INTO users (id, email, password, role) VALUES (?, ?, ?, ?)",
+        USER_ID,
+        "bench@example.com",
+        "{noop}bench",
+        "USER");
+    User user = new User();
+    user.setId(USER_ID);
+
+    categories = new ArrayList<>(categoryCount);
+    for (int i = 0; i < categoryCount; i++) {
+      Category category = new Category();
+      category.setId(UUID.randomUUID());
+      category.setName(CATEGORY_NAMES[i % CATEGORY_NAMES.length] + " " + i);
+      category.setColor("#3357FF");
+      category.setUser(user);
+      categories.add(category);
+    }
+    bean(CategoryJdbcDao.class).insertAll(categories, 500);
+
+    Random random = new Random(42);
+    Status[] statuses = Status.values();
+    LocalDateTime now = LocalDateTime.now();
+    List<Task> tasks = new ArrayList<>(taskCount);
+    for (int i = 0; i < taskCount; i++) {
+      Task task = new Task();
+      task.setId(UUID.randomUUID());
+      task.setTitle(
+          WORDS[random.nextInt(WORDS.length)]
+              + " "
+              + WORDS[random.nextInt(WORDS.length)]
+              + " "
+              + i);
+      task.setDescription(WORDS[random.nextInt(WORDS.length)] + " " + i);
+      task.setStatus(statuses[random.nextInt(statuses.length)]);
+      task.setDueDate(random.nextInt(4) == 0 ? null : now.plusDays(random.nextInt(120) - 30));
+      task.setCategory(
+          random.nextInt(5) == 0 ? null : categories.get(random.nextInt(categories.size())));
+      task.setUser(user);
+      tasks.add(task);
+    }
+    bean(TaskJdbcDao.class).insertAll(tasks, 1000);
+    bean(TaskStatsService.class).rebuild(USER_ID);
+    bean(TaskSearchIndex.class).indexMissing();
+  }
+}
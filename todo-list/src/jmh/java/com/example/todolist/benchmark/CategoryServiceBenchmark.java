@@ -0,0 +1,43 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.entity.Category;
+import com.example.todolist.service.CategoryService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Sorted category listing; the category count comes from {@link BenchmarkDatabase}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryServiceBenchmark {
+
+  @Param({"asc", "desc"})
+  public String direction;
+
+  private CategoryService categoryService;
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkDatabase database) {
+    categoryService = database.bean(CategoryService.class);
+  }
+
+  @Benchmark
+  public List<Category> findAllCategoriesSorted() {
+    return categoryService.findAllCategories("name", direction);
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.dao.CategoryJdbcDao;
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Task;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Reads every row of the user through the DAO row mappers. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcDaoBenchmark {
+
+  private TaskJdbcDao taskJdbcDao;
+  private CategoryJdbcDao categoryJdbcDao;
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkDatabase database) {
+    taskJdbcDao = database.bean(TaskJdbcDao.class);
+    categoryJdbcDao = database.bean(CategoryJdbcDao.class);
+  }
+
+  @Benchmark
+  public List<Task> mapTasks() {
+    return taskJdbcDao.findAllByUserId(BenchmarkDatabase.USER_ID);
+  }
+
+  @Benchmark
+  public List<Category> mapCategories() {
+    return categoryJdbcDao.findAllByUserId(BenchmarkDatabase.USER_ID);
+  }
+}
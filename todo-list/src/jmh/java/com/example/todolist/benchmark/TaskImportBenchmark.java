@@ -0,0 +1,82 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.service.TaskImportResult;
+import com.example.todolist.service.TaskImportService;
+import com.example.todolist.service.TaskStatsService;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+/** Imports {@link #importRows} rows per call; imported tasks are removed after each iteration. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskImportBenchmark {
+
+  private static final String TITLE_PREFIX = "imported ";
+
+  @Param({"1000"})
+  public int importRows;
+
+  private BenchmarkDatabase database;
+  private TaskImportService taskImportService;
+  private MockMultipartFile file;
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkDatabase database) {
+    this.database = database;
+    taskImportService = database.bean(TaskImportService.class);
+    StringBuilder csv = new StringBuilder("title;description;status;dueDate;categoryName\n");
+    for (int i = 0; i < importRows; i++) {
+      csv.append(TITLE_PREFIX)
+          .append(BenchmarkDatabase.WORDS[i % BenchmarkDatabase.WORDS.length])
+          .append(' ')
+          .append(i)
+          .append(";opis ")
+          .append(i)
+          .append(";TODO;2030-01-01T10:00;")
+          .append(database.categories.get(i % database.categories.size()).getName())
+          .append('\n');
+    }
+    file =
+        new MockMultipartFile(
+            "file", "tasks.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @TearDown(Level.Iteration)
+  public void removeImportedTasks() {
+    JdbcTemplate jdbcTemplate = database.bean(JdbcTemplate.class);
+    String imported = "SELECT id FROM tasks WHERE user_id = ? AND title LIKE ?";
+    jdbcTemplate.update(
+        "DELETE FROM task_search_terms WHERE task_id IN (" + imported + ")",
+        BenchmarkDatabase.USER_ID,
+        TITLE_PREFIX + "%");
+    jdbcTemplate.update(
+        "DELETE FROM tasks WHERE user_id = ? AND title LIKE ?",
+        BenchmarkDatabase.USER_ID,
+        TITLE_PREFIX + "%");
+    database.bean(TaskStatsService.class).rebuild(BenchmarkDatabase.USER_ID);
+  }
+
+  @Benchmark
+  public TaskImportResult importTasksFromCsv() {
+    return taskImportService.importTasksFromCsv(file);
+  }
+}
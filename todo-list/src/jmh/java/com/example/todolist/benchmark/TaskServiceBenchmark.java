@@ -0,0 +1,78 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.dto.response.TaskStatsResponse;
+import com.example.todolist.service.TaskService;
+import com.example.todolist.service.filter.TaskFilter;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+  private TaskService taskService;
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkDatabase database) {
+    taskService = database.bean(TaskService.class);
+  }
+
+  @Benchmark
+  public Page<?> getAllTasksFirstPage() {
+    return taskService.getAllTasks(new TaskFilter());
+  }
+
+  @Benchmark
+  public Page<?> getAllTasksDeepPageByDueDate() {
+    TaskFilter filter = new TaskFilter();
+    filter.setSort("dueDate");
+    filter.setDirection("desc");
+    filter.setPage(50);
+    return taskService.getAllTasks(filter);
+  }
+
+  @Benchmark
+  public Page<?> getAllTasksByStatusAndDueRange() {
+    TaskFilter filter = new TaskFilter();
+    filter.setStatus("TODO");
+    filter.setDueAfter(LocalDate.now());
+    filter.setDueBefore(LocalDate.now().plusDays(30));
+    return taskService.getAllTasks(filter);
+  }
+
+  @Benchmark
+  public Page<?> getAllTasksByKeyword() {
+    TaskFilter filter = new TaskFilter();
+    filter.setTitle("prezentacja");
+    return taskService.getAllTasks(filter);
+  }
+
+  @Benchmark
+  public TaskStatsResponse getStats() {
+    return taskService.getStats();
+  }
+
+  @Benchmark
+  public int exportTasksToCsv() {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    taskService.exportTasksToCSV(response);
+    return response.getContentAsByteArray().length;
+  }
+}
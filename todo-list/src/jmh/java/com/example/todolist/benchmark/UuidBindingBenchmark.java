@@ -0,0 +1,156 @@
+package com.example.todolist.benchmark;
+
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.entity.Task;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Runs {@link TaskJdbcDao#findAllByUserId} and {@link TaskJdbcDao#findById} with their row mapper,
+ * with ids bound and read either natively as {@link UUID} ({@code binding=native}, what the DAO
+ * does) or as strings ({@code binding=string}, what it did before). The DAO is built on a {@link
+ * BindingJdbcTemplate} in both cases, so both pay the same wrapping cost and differ only in the
+ * binding. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UuidBindingBenchmark {
+
+  @Param({"string", "native"})
+  public String binding;
+
+  private TaskJdbcDao taskJdbcDao;
+  private List<UUID> taskIds;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkDatabase database) {
+    taskJdbcDao =
+        new TaskJdbcDao(
+            new BindingJdbcTemplate(database.bean(DataSource.class), "string".equals(binding)));
+    taskIds =
+        database
+            .bean(JdbcTemplate.class)
+            .queryForList(
+                "SELECT id FROM tasks WHERE user_id = ? ORDER BY id LIMIT 1000",
+                UUID.class,
+                BenchmarkDatabase.USER_ID);
+  }
+
+  @Benchmark
+  public List<Task> findAllByUserId() {
+    return taskJdbcDao.findAllByUserId(BenchmarkDatabase.USER_ID);
+  }
+
+  @Benchmark
+  public Task findById() {
+    UUID id = taskIds.get(next);
+    next = (next + 1) % taskIds.size();
+    return taskJdbcDao.findById(id);
+  }
+
+  /**
+   * Routes the query methods the DAO uses through a {@link ResultSet} proxy. With {@code
+   * uuidsAsStrings} the {@link UUID} arguments are bound as strings and {@code getObject(column,
+   * UUID.class)} is answered by parsing {@code getString(column)}; otherwise every call is passed
+   * through unchanged.
+   */
+  static final class BindingJdbcTemplate extends JdbcTemplate {
+
+    private final boolean uuidsAsStrings;
+
+    BindingJdbcTemplate(DataSource dataSource, boolean uuidsAsStrings) {
+      super(dataSource);
+      this.uuidsAsStrings = uuidsAsStrings;
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+      return super.query(sql, wrap(rowMapper), bind(args));
+    }
+
+    @Override
+    public <T> T queryForObject(String sql, RowMapper<T> rowMapper, Object... args) {
+      return super.queryForObject(sql, wrap(rowMapper), bind(args));
+    }
+
+    private Object[] bind(Object[] args) {
+      if (!uuidsAsStrings || args == null) {
+        return args;
+      }
+      Object[] bound = args.clone();
+      for (int i = 0; i < bound.length; i++) {
+        if (bound[i] instanceof UUID uuid) {
+          bound[i] = uuid.toString();
+        }
+      }
+      return bound;
+    }
+
+    /**
+     * Hands the mapper one proxy per result set, so mappers that cache column indexes per result
+     * set resolve them once as they do without the proxy.
+     */
+    private <T> RowMapper<T> wrap(RowMapper<T> rowMapper) {
+      return new RowMapper<>() {
+        private ResultSet target;
+        private ResultSet wrapped;
+
+        @Override
+        public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+          if (rs != target) {
+            target = rs;
+            wrapped = proxy(rs);
+          }
+          return rowMapper.mapRow(wrapped, rowNum);
+        }
+      };
+    }
+
+    private ResultSet proxy(ResultSet rs) {
+      return (ResultSet)
+          Proxy.newProxyInstance(
+              BindingJdbcTemplate.class.getClassLoader(),
+              new Class<?>[] {ResultSet.class},
+              (proxy, method, methodArgs) -> {
+                if (uuidsAsStrings
+                    && method.getName().equals("getObject")
+                    && methodArgs.length == 2
+                    && methodArgs[0] instanceof Integer column
+                    && methodArgs[1] == UUID.class) {
+                  String value = rs.getString(column);
+                  return value != null ? UUID.fromString(value) : null;
+                }
+                try {
+                  return method.invoke(rs, methodArgs);
+                } catch (InvocationTargetException e) {
+                  throw e.getCause();
+                }
+              });
+    }
+  }
+}
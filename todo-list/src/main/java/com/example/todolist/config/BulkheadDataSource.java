@@ -0,0 +1,107 @@
+package com.example.todolist.config;
+
+import com.example.todolist.exception.DatabaseBusyException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Caps the number of connections in use at {@link DatabaseBulkheadProperties#maxConcurrent()}. A
+ * permit is taken when a connection is handed out and returned when it is closed. Callers beyond
+ * the cap wait up to {@code maxWait}, and at most {@code maxWaiting} of them wait at all; the rest
+ * get a {@link DatabaseBusyException} straight away. With virtual threads many more requests can
+ * reach the database layer than there are connections, and this turns pool starvation into a quick
+ * 503 instead of a pile of connection timeouts.
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final int maxWaiting;
+  private final long maxWaitNanos;
+
+  public BulkheadDataSource(DataSource target, DatabaseBulkheadProperties properties) {
+    super(target);
+    this.permits = new Semaphore(Math.max(properties.maxConcurrent(), 1), true);
+    this.maxWaiting = Math.max(properties.maxWaiting(), 0);
+    this.maxWaitNanos = properties.maxWait().toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return guarded(super::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return guarded(() -> super.getConnection(username, password));
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  private void acquire() {
+    if (permits.tryAcquire()) {
+      return;
+    }
+    if (waiting.incrementAndGet() > maxWaiting) {
+      waiting.decrementAndGet();
+      throw new DatabaseBusyException();
+    }
+    try {
+      if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+        throw new DatabaseBusyException();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new DatabaseBusyException();
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  private Connection guarded(ConnectionSource source) throws SQLException {
+    Connection connection;
+    try {
+      connection = source.get();
+    } catch (SQLException | RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                try {
+                  connection.close();
+                } finally {
+                  permits.release();
+                }
+                return null;
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+              }
+            });
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSource {
+    Connection get() throws SQLException;
+  }
+}
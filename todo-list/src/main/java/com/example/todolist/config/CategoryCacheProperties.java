@@ -0,0 +1,16 @@
+package com.example.todolist.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the per-user category cache.
+ *
+ * @param maximumSize number of users whose category lists are kept; the least recently used list is
+ *     evicted beyond it
+ * @param timeToLive how long a cached list is served before it is read from the database again
+ */
+@ConfigurationProperties(prefix = "todo.category-cache")
+public record CategoryCacheProperties(
+    @DefaultValue("1000") long maximumSize, @DefaultValue("10m") Duration timeToLive) {}
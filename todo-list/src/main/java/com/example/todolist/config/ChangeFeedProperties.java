@@ -0,0 +1,23 @@
+package com.example.todolist.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the server-sent change feed ({@code GET /api/v1/events}).
+ *
+ * @param bufferSize events queued for one subscriber; a subscriber that falls this far behind is
+ *     disconnected and has to resync when it reconnects
+ * @param maxSubscriptionsPerUser open feeds per user; the oldest is stopped beyond it and does not
+ *     reconnect
+ * @param timeout how long one feed stays open before the client has to reconnect
+ * @param trackedUsers users whose last event id is remembered; a user evicted from it is told to
+ *     resync on their next reconnect
+ */
+@ConfigurationProperties(prefix = "todo.change-feed")
+public record ChangeFeedProperties(
+    @DefaultValue("32") int bufferSize,
+    @DefaultValue("5") int maxSubscriptionsPerUser,
+    @DefaultValue("30m") Duration timeout,
+    @DefaultValue("10000") int trackedUsers) {}
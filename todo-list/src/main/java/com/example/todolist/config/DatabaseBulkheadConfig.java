@@ -0,0 +1,24 @@
+package com.example.todolist.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DatabaseBulkheadConfig {
+
+  @Bean
+  static BeanPostProcessor databaseBulkhead(ObjectProvider<DatabaseBulkheadProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+          return new BulkheadDataSource(dataSource, properties.getObject());
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,20 @@
+package com.example.todolist.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the bulkhead in front of the connection pool.
+ *
+ * @param maxConcurrent number of connections handed out at the same time; should not exceed the
+ *     pool size
+ * @param maxWaiting number of callers allowed to wait for a connection; further callers are refused
+ *     at once
+ * @param maxWait how long a caller waits for a connection before it is refused
+ */
+@ConfigurationProperties(prefix = "todo.db-bulkhead")
+public record DatabaseBulkheadProperties(
+    @DefaultValue("10") int maxConcurrent,
+    @DefaultValue("200") int maxWaiting,
+    @DefaultValue("2s") Duration maxWait) {}
@@ -0,0 +1,99 @@
+package com.example.todolist.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warns at startup when an index the task queries rely on is missing, e.g. because a migration was
+ * skipped or the schema was created by hand.
+ */
+@Component
+public class IndexCheck {
+
+  static final Map<String, List<String>> EXPECTED_INDEXES =
+      Map.of(
+          "tasks",
+          List.of(
+              "idx_tasks_user_title",
+              "idx_tasks_user_status_due",
+              "idx_tasks_user_due",
+              "idx_tasks_user_category",
+              "idx_tasks_category",
+              "idx_tasks_user_updated"),
+          "categories",
+          List.of("idx_categories_user_name", "idx_categories_user_sort_key"),
+          "task_search_terms",
+          List.of("idx_task_search_terms_user_term", "idx_task_search_terms_task"),
+          "task_deletions",
+          List.of("idx_task_deletions_user_deleted"));
+
+  private static final Logger log = LoggerFactory.getLogger(IndexCheck.class);
+
+  private final DataSource dataSource;
+
+  public IndexCheck(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void verifyIndexes() {
+    try {
+      missingIndexes()
+          .forEach(
+              (table, indexes) ->
+                  indexes.forEach(
+                      index -> log.warn("Missing expected index {} on table {}", index, table)));
+    } catch (SQLException ex) {
+      log.warn("Could not verify database indexes: {}", ex.getMessage());
+    }
+  }
+
+  /** The expected indexes absent from the database, by table. */
+  Map<String, List<String>> missingIndexes() throws SQLException {
+    Map<String, List<String>> missing = new TreeMap<>();
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      EXPECTED_INDEXES.forEach(
+          (table, indexes) -> {
+            Set<String> present = indexNames(metaData, table);
+            List<String> absent =
+                indexes.stream().filter(index -> !present.contains(index)).toList();
+            if (!absent.isEmpty()) {
+              missing.put(table, absent);
+            }
+          });
+    }
+    return missing;
+  }
+
+  private static Set<String> indexNames(DatabaseMetaData metaData, String table) {
+    Set<String> names = new HashSet<>();
+    for (String candidate : List.of(table, table.toUpperCase(Locale.ROOT))) {
+      try (ResultSet rs = metaData.getIndexInfo(null, null, candidate, false, true)) {
+        while (rs.next()) {
+          String name = rs.getString("INDEX_NAME");
+          if (name != null) {
+            names.add(name.toLowerCase(Locale.ROOT));
+          }
+        }
+      } catch (SQLException ex) {
+        log.debug("Could not read indexes of {}: {}", candidate, ex.getMessage());
+      }
+    }
+    return names;
+  }
+}
@@ -21,6 +21,8 @@ public class SecurityConfig {
             auth ->
                 auth.requestMatchers("/h2-console/**", "/register", "/login")
                     .permitAll()
+                    .requestMatchers("/api/v1/admin/**")
+                    .hasRole("ADMIN")
                     .anyRequest()
                     .authenticated())
         .formLogin(form -> form.loginPage("/login").defaultSuccessUrl("/", true).permitAll())
@@ -29,7 +31,10 @@ public class SecurityConfig {
         .csrf(
             csrf ->
                 csrf.ignoringRequestMatchers(
-                    "/h2-console/**", "/api/v1/tasks/import", "/api/v1/tasks/export"))
+                    "/h2-console/**",
+                    "/api/v1/tasks/import",
+                    "/api/v1/tasks/export",
+                    "/api/v1/admin/**"))
         .headers(headers -> headers.frameOptions().disable());
 
     return http.build();
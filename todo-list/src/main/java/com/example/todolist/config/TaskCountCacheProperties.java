@@ -0,0 +1,15 @@
+package com.example.todolist.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the cache of filtered task counts behind the page-number bar.
+ *
+ * @param maximumSize number of distinct filters whose counts are kept
+ * @param timeToLive how long a count is reused; totals may lag behind task writes by this much
+ */
+@ConfigurationProperties(prefix = "todo.task-count-cache")
+public record TaskCountCacheProperties(
+    @DefaultValue("10000") long maximumSize, @DefaultValue("30s") Duration timeToLive) {}
@@ -0,0 +1,25 @@
+package com.example.todolist.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the CSV task import.
+ *
+ * @param batchSize number of rows sent to the database in one JDBC batch, and the number of rows
+ *     committed per transaction by import jobs
+ * @param workers number of import jobs processed at the same time
+ * @param queueCapacity number of submitted jobs that may wait for a worker before uploads are
+ *     refused
+ * @param maxErrors number of rejected-row messages kept per job; rejected rows beyond it are only
+ *     counted
+ * @param jobRetention how long a finished job stays available for progress polling
+ */
+@ConfigurationProperties(prefix = "todo.import")
+public record TaskImportProperties(
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("2") int workers,
+    @DefaultValue("20") int queueCapacity,
+    @DefaultValue("100") int maxErrors,
+    @DefaultValue("1h") Duration jobRetention) {}
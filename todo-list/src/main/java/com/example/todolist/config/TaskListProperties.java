@@ -0,0 +1,17 @@
+package com.example.todolist.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the unpaged task list ({@code GET /api/v1/tasks}).
+ *
+ * @param maxUnpagedTasks most tasks returned as one buffered JSON array; larger accounts must page
+ *     or use the streamed variants
+ * @param maxConcurrentStreams streamed lists open at the same time; each holds a database
+ *     connection until the client has read it, so this should stay well below {@code
+ *     todo.db-bulkhead.max-concurrent}
+ */
+@ConfigurationProperties(prefix = "todo.task-list")
+public record TaskListProperties(
+    @DefaultValue("5000") int maxUnpagedTasks, @DefaultValue("4") int maxConcurrentStreams) {}
@@ -0,0 +1,19 @@
+package com.example.todolist.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the task changes feed ({@code GET /api/v1/tasks/changes}).
+ *
+ * @param maxChanges most changed and deleted tasks returned by one request
+ * @param overlap how far a caught-up token is moved back so that writes still committing when it
+ *     was issued are read again; must exceed the longest task write transaction
+ * @param tombstoneRetention how long deletions are kept; older tokens must sync from scratch
+ */
+@ConfigurationProperties(prefix = "todo.task-sync")
+public record TaskSyncProperties(
+    @DefaultValue("500") int maxChanges,
+    @DefaultValue("5s") Duration overlap,
+    @DefaultValue("30d") Duration tombstoneRetention) {}
@@ -0,0 +1,25 @@
+package com.example.todolist.controller.api;
+
+import com.example.todolist.service.TaskStatsService;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminApiController {
+
+  private final TaskStatsService taskStatsService;
+
+  public AdminApiController(TaskStatsService taskStatsService) {
+    this.taskStatsService = taskStatsService;
+  }
+
+  @PostMapping("/task-stats/rebuild")
+  public ResponseEntity<Map<String, Object>> rebuildTaskStats() {
+    int users = taskStatsService.rebuildAll();
+    return ResponseEntity.ok(Map.of("rebuiltUsers", users));
+  }
+}
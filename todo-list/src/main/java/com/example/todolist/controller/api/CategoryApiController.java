@@ -6,13 +6,17 @@ import com.example.todolist.dto.request.UpdateCategoryRequest;
 import com.example.todolist.dto.response.CreateCategoryResponse;
 import com.example.todolist.dto.response.GetCategoryResponse;
 import com.example.todolist.entity.Category;
+import com.example.todolist.repository.CategoryListItem;
 import com.example.todolist.service.CategoryService;
+import com.example.todolist.service.DataVersionService;
+import com.example.todolist.service.ResourceVersion;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 
 @RestController
 @RequestMapping("/api/v1/categories")
@@ -20,17 +24,26 @@ public class CategoryApiController {
 
   private final CategoryService categoryService;
   private final CategoryMapper categoryMapper;
+  private final DataVersionService dataVersionService;
 
-  public CategoryApiController(CategoryService categoryService, CategoryMapper categoryMapper) {
+  public CategoryApiController(
+      CategoryService categoryService,
+      CategoryMapper categoryMapper,
+      DataVersionService dataVersionService) {
     this.categoryService = categoryService;
     this.categoryMapper = categoryMapper;
+    this.dataVersionService = dataVersionService;
   }
 
   @GetMapping
-  public ResponseEntity<List<GetCategoryResponse>> getAll() {
-    List<Category> categories = categoryService.findAllCategories();
+  public ResponseEntity<List<GetCategoryResponse>> getAll(NativeWebRequest request) {
+    ResourceVersion version = dataVersionService.current();
+    if (ConditionalGet.notModified(request, version)) {
+      return null;
+    }
+    List<CategoryListItem> categories = categoryService.findAllCategories();
     List<GetCategoryResponse> response = categoryMapper.mapToGetCategoryResponse(categories);
-    return ResponseEntity.ok(response);
+    return ConditionalGet.ok(version).body(response);
   }
 
   @GetMapping("/{id}")
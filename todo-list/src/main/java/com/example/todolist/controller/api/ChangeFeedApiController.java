@@ -0,0 +1,29 @@
+package com.example.todolist.controller.api;
+
+import com.example.todolist.service.UserService;
+import com.example.todolist.service.events.ChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+public class ChangeFeedApiController {
+
+  private final ChangeFeed changeFeed;
+  private final UserService userService;
+
+  public ChangeFeedApiController(ChangeFeed changeFeed, UserService userService) {
+    this.changeFeed = changeFeed;
+    this.userService = userService;
+  }
+
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribe(
+      @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+    return changeFeed.subscribe(userService.getCurrentUser().getId(), lastEventId);
+  }
+}
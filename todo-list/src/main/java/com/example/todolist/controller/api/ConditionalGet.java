@@ -0,0 +1,41 @@
+package com.example.todolist.controller.api;
+
+import com.example.todolist.service.ResourceVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+
+/**
+ * Answers conditional GETs from a {@link ResourceVersion} read before the response body is built,
+ * so an unchanged resource costs one version lookup and no entity loading.
+ */
+final class ConditionalGet {
+
+  /** Clients may store the response but must revalidate it before every reuse. */
+  static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+  private ConditionalGet() {}
+
+  /** Sets a 304 response with the validators when the request's validators still match. */
+  static boolean notModified(NativeWebRequest request, ResourceVersion version) {
+    boolean notModified =
+        version.hasLastModified()
+            ? request.checkNotModified(version.eTag(), version.lastModified())
+            : request.checkNotModified(version.eTag());
+    if (notModified) {
+      HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+      if (response != null) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+      }
+    }
+    return notModified;
+  }
+
+  static ResponseEntity.BodyBuilder ok(ResourceVersion version) {
+    ResponseEntity.BodyBuilder builder =
+        ResponseEntity.ok().eTag(version.eTag()).cacheControl(CACHE_CONTROL);
+    return version.hasLastModified() ? builder.lastModified(version.lastModified()) : builder;
+  }
+}
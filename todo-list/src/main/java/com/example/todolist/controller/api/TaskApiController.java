@@ -1,43 +1,163 @@
 package com.example.todolist.controller.api;
 
+import com.example.todolist.dto.mapper.ImportJobMapper;
 import com.example.todolist.dto.mapper.TaskMapper;
+import com.example.todolist.dto.request.BulkTaskRequest;
 import com.example.todolist.dto.request.CreateTaskRequest;
 import com.example.todolist.dto.request.UpdateTaskRequest;
+import com.example.todolist.dto.response.BulkTaskResponse;
 import com.example.todolist.dto.response.CreateTaskResponse;
 import com.example.todolist.dto.response.GetTaskResponse;
+import com.example.todolist.dto.response.ImportJobResponse;
 import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskListItem;
+import com.example.todolist.service.DataVersionService;
+import com.example.todolist.service.ResourceVersion;
+import com.example.todolist.service.TaskImportResult;
+import com.example.todolist.service.TaskImportService;
 import com.example.todolist.service.TaskService;
+import com.example.todolist.service.TaskStreamLimiter;
 import com.example.todolist.service.filter.TaskFilter;
+import com.example.todolist.service.importjob.ImportJob;
+import com.example.todolist.service.importjob.ImportJobService;
+import com.example.todolist.service.pagination.CursorPage;
+import com.example.todolist.service.sync.TaskChanges;
+import com.example.todolist.service.sync.TaskSyncService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/tasks")
 public class TaskApiController {
 
+  private static final String STREAM_PERMIT_INTERCEPTOR =
+      TaskApiController.class.getName() + ".streamPermit";
+
   private final TaskService taskService;
+  private final TaskImportService taskImportService;
+  private final ImportJobService importJobService;
   private final TaskMapper taskMapper;
+  private final ImportJobMapper importJobMapper;
+  private final DataVersionService dataVersionService;
+  private final TaskSyncService taskSyncService;
+  private final ObjectMapper objectMapper;
+  private final TaskStreamLimiter taskStreamLimiter;
 
-  public TaskApiController(TaskService taskService, TaskMapper taskMapper) {
+  public TaskApiController(
+      TaskService taskService,
+      TaskImportService taskImportService,
+      ImportJobService importJobService,
+      TaskMapper taskMapper,
+      ImportJobMapper importJobMapper,
+      DataVersionService dataVersionService,
+      TaskSyncService taskSyncService,
+      ObjectMapper objectMapper,
+      TaskStreamLimiter taskStreamLimiter) {
     this.taskService = taskService;
+    this.taskImportService = taskImportService;
+    this.importJobService = importJobService;
     this.taskMapper = taskMapper;
+    this.importJobMapper = importJobMapper;
+    this.dataVersionService = dataVersionService;
+    this.taskSyncService = taskSyncService;
+    this.objectMapper = objectMapper;
+    this.taskStreamLimiter = taskStreamLimiter;
   }
 
   @GetMapping
-  public ResponseEntity<List<GetTaskResponse>> getAllTasks() {
-    List<Task> tasks = taskService.getAllTasks();
+  public ResponseEntity<List<GetTaskResponse>> getAllTasks(NativeWebRequest request) {
+    ResourceVersion version = dataVersionService.current();
+    if (ConditionalGet.notModified(request, version)) {
+      return null;
+    }
+    List<TaskListItem> tasks = taskService.getAllTasks();
     List<GetTaskResponse> response = taskMapper.mapToGetTaskResponse(tasks);
-    return ResponseEntity.ok(response);
+    return ConditionalGet.ok(version).body(response);
+  }
+
+  @GetMapping(params = "stream=json")
+  public ResponseEntity<StreamingResponseBody> streamAllTasks(NativeWebRequest request) {
+    return streamAllTasks(request, MediaType.APPLICATION_JSON);
+  }
+
+  @GetMapping(params = "stream=ndjson")
+  public ResponseEntity<StreamingResponseBody> streamAllTasksAsNdjson(NativeWebRequest request) {
+    return streamAllTasks(request, MediaType.APPLICATION_NDJSON);
+  }
+
+  /**
+   * Writes the tasks as a JSON array, or as one JSON object per line for NDJSON, while they are
+   * read from the database; the generator flushes its fixed-size buffer to the response as it
+   * fills. Open arrays are not closed on failure, so a client can tell a broken stream from a
+   * complete one. The stream holds a {@link TaskStreamLimiter} permit until it ends; the permit is
+   * also released when the async request completes, so a body that never runs because the client
+   * left, the executor refused it or the request timed out does not keep it.
+   */
+  private ResponseEntity<StreamingResponseBody> streamAllTasks(
+      NativeWebRequest request, MediaType mediaType) {
+    ResourceVersion version = dataVersionService.current();
+    if (ConditionalGet.notModified(request, version)) {
+      return null;
+    }
+    boolean ndjson = MediaType.APPLICATION_NDJSON.equals(mediaType);
+    TaskStreamLimiter.Permit permit = taskStreamLimiter.acquire();
+    WebAsyncUtils.getAsyncManager(request)
+        .registerCallableInterceptor(
+            STREAM_PERMIT_INTERCEPTOR,
+            new CallableProcessingInterceptor() {
+              @Override
+              public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                permit.close();
+              }
+            });
+    StreamingResponseBody body =
+        out -> {
+          try (permit;
+              JsonGenerator json = objectMapper.createGenerator(out)) {
+            json.setRootValueSeparator(null);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (!ndjson) {
+              json.writeStartArray();
+            }
+            taskService.streamAllTasks(
+                task -> {
+                  try {
+                    json.writeObject(taskMapper.mapToGetTaskResponse(task));
+                    if (ndjson) {
+                      json.writeRaw('\n');
+                    }
+                  } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                  }
+                });
+            if (!ndjson) {
+              json.writeEndArray();
+            }
+          }
+        };
+    return ConditionalGet.ok(version).contentType(mediaType).body(body);
   }
 
   @GetMapping("/all")
@@ -53,28 +173,99 @@ public class TaskApiController {
       @RequestParam(defaultValue = "10") int size,
       @RequestParam(defaultValue = "title") String sort,
       @RequestParam(defaultValue = "asc") String direction) {
+    TaskFilter filter =
+        taskFilter(title, status, categoryId, dueAfter, dueBefore, size, sort, direction);
+    filter.setPage(page);
+
+    Page<TaskListItem> resultPage = taskService.getAllTasks(filter);
+    Page<GetTaskResponse> responsePage = resultPage.map(taskMapper::mapToGetTaskResponse);
+
+    return ResponseEntity.ok(responsePage);
+  }
+
+  @GetMapping(value = "/all", params = "paging=slice")
+  public ResponseEntity<Slice<GetTaskResponse>> getTaskSlice(
+      @RequestParam(required = false) String title,
+      @RequestParam(required = false) String status,
+      @RequestParam(required = false) UUID categoryId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDate dueAfter,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDate dueBefore,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "title") String sort,
+      @RequestParam(defaultValue = "asc") String direction) {
+    TaskFilter filter =
+        taskFilter(title, status, categoryId, dueAfter, dueBefore, size, sort, direction);
+    filter.setPaging("slice");
+    filter.setPage(page);
+
+    Slice<TaskListItem> resultSlice = taskService.getTaskSlice(filter);
+    return ResponseEntity.ok(resultSlice.map(taskMapper::mapToGetTaskResponse));
+  }
+
+  @GetMapping(value = "/all", params = "paging=keyset")
+  public ResponseEntity<CursorPage<GetTaskResponse>> getAllTasksByCursor(
+      @RequestParam(required = false) String title,
+      @RequestParam(required = false) String status,
+      @RequestParam(required = false) UUID categoryId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDate dueAfter,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDate dueBefore,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "10") int size,
+      @RequestParam(defaultValue = "title") String sort,
+      @RequestParam(defaultValue = "asc") String direction) {
+    TaskFilter filter =
+        taskFilter(title, status, categoryId, dueAfter, dueBefore, size, sort, direction);
+    filter.setPaging("keyset");
+    filter.setCursor(cursor);
+
+    CursorPage<TaskListItem> resultPage = taskService.getAllTasksByCursor(filter);
+    return ResponseEntity.ok(resultPage.map(taskMapper::mapToGetTaskResponse));
+  }
+
+  /** The filter and sort parameters shared by the {@code /all} variants. */
+  private static TaskFilter taskFilter(
+      String title,
+      String status,
+      UUID categoryId,
+      LocalDate dueAfter,
+      LocalDate dueBefore,
+      int size,
+      String sort,
+      String direction) {
     TaskFilter filter = new TaskFilter();
     filter.setTitle(title);
     filter.setStatus(status);
     filter.setCategoryId(categoryId);
     filter.setDueAfter(dueAfter);
     filter.setDueBefore(dueBefore);
-    filter.setPage(page);
     filter.setSize(size);
     filter.setSort(sort);
     filter.setDirection(direction);
+    return filter;
+  }
 
-    Page<Task> resultPage = taskService.getAllTasks(filter);
-    Page<GetTaskResponse> responsePage = resultPage.map(taskMapper::mapToGetTaskResponse);
-
-    return ResponseEntity.ok(responsePage);
+  @GetMapping("/changes")
+  public ResponseEntity<TaskChanges<GetTaskResponse>> getChanges(
+      @RequestParam(required = false) String since) {
+    return ResponseEntity.ok(
+        taskSyncService.getChanges(since).map(taskMapper::mapToGetTaskResponse));
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<GetTaskResponse> getTaskById(@PathVariable("id") UUID id) {
+  public ResponseEntity<GetTaskResponse> getTaskById(
+      @PathVariable("id") UUID id, NativeWebRequest request) {
+    Optional<ResourceVersion> version = dataVersionService.ofTask(id);
+    if (version.isPresent() && ConditionalGet.notModified(request, version.get())) {
+      return null;
+    }
     Task task = taskService.findTaskById(id);
     GetTaskResponse response = taskMapper.mapToGetTaskResponse(task);
-    return ResponseEntity.ok(response);
+    return version.map(ConditionalGet::ok).orElseGet(ResponseEntity::ok).body(response);
   }
 
   @PostMapping
@@ -98,6 +289,12 @@ public class TaskApiController {
     return ResponseEntity.noContent().build();
   }
 
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkTaskResponse> bulkUpdateTasks(@RequestBody @Valid BulkTaskRequest dto) {
+    int affected = taskService.bulkUpdate(dto);
+    return ResponseEntity.ok(new BulkTaskResponse(dto.getOperation(), affected));
+  }
+
   @GetMapping("/export")
   public void exportTasksCsv(HttpServletResponse response) {
     taskService.exportTasksToCSV(response);
@@ -106,10 +303,30 @@ public class TaskApiController {
   @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
   public ResponseEntity<String> importTasksCsv(@RequestParam("file") MultipartFile file) {
     try {
-      taskService.importTasksFromCsv(file);
-      return ResponseEntity.ok("Import zakończony sukcesem!");
+      TaskImportResult result = taskImportService.importTasksFromCsv(file);
+      return ResponseEntity.ok(
+          "Import zakończony sukcesem! Zaimportowano "
+              + result.importedRows()
+              + " zadań ("
+              + result.rowsPerSecond()
+              + " wierszy/s).");
     } catch (Exception ex) {
       return ResponseEntity.badRequest().body("Błąd importu CSV: " + ex.getMessage());
     }
   }
+
+  @PostMapping(value = "/import/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  public ResponseEntity<ImportJobResponse> submitImportJob(
+      @RequestParam("file") MultipartFile file) {
+    ImportJob job = importJobService.submit(file);
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .location(URI.create("/api/v1/tasks/import/jobs/" + job.getId()))
+        .body(importJobMapper.mapToImportJobResponse(job));
+  }
+
+  @GetMapping("/import/jobs/{jobId}")
+  public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable("jobId") UUID jobId) {
+    return ResponseEntity.ok(
+        importJobMapper.mapToImportJobResponse(importJobService.getJob(jobId)));
+  }
 }
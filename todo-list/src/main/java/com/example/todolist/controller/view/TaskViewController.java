@@ -2,11 +2,15 @@ package com.example.todolist.controller.view;
 
 import com.example.todolist.dto.request.CreateTaskRequest;
 import com.example.todolist.dto.request.UpdateTaskRequest;
-import com.example.todolist.entity.Category;
 import com.example.todolist.entity.Task;
+import com.example.todolist.repository.CategoryListItem;
+import com.example.todolist.repository.TaskListItem;
 import com.example.todolist.service.CategoryService;
 import com.example.todolist.service.TaskService;
 import com.example.todolist.service.filter.TaskFilter;
+import com.example.todolist.service.importjob.ImportJob;
+import com.example.todolist.service.importjob.ImportJobService;
+import com.example.todolist.service.pagination.CursorPage;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -26,10 +30,13 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class TaskViewController {
 
   private final TaskService taskService;
+  private final ImportJobService importJobService;
   private final CategoryService categoryService;
 
-  public TaskViewController(TaskService taskService, CategoryService categoryService) {
+  public TaskViewController(
+      TaskService taskService, ImportJobService importJobService, CategoryService categoryService) {
     this.taskService = taskService;
+    this.importJobService = importJobService;
     this.categoryService = categoryService;
   }
 
@@ -57,20 +64,37 @@ public class TaskViewController {
   }
 
   @GetMapping
-  public String showTasks(@ModelAttribute TaskFilter taskFilter, Model model) {
-    Page<Task> taskPage;
-
-    taskPage = taskService.getAllTasks(taskFilter);
-
-    List<Category> categories = categoryService.findAllCategories();
+  public String showTasks(
+      @ModelAttribute TaskFilter taskFilter,
+      @RequestParam(required = false) UUID importJob,
+      Model model) {
+    if (importJob != null) {
+      importJobService
+          .findJob(importJob)
+          .ifPresentOrElse(
+              job -> model.addAttribute("importJob", job),
+              () -> model.addAttribute("errorMessage", "This import is no longer available."));
+    }
+    if (taskFilter.isKeysetPaging()) {
+      CursorPage<TaskListItem> cursorPage = taskService.getAllTasksByCursor(taskFilter);
+
+      model.addAttribute("tasks", cursorPage.content());
+      model.addAttribute("cursorPage", cursorPage);
+      model.addAttribute("pageSize", cursorPage.size());
+      model.addAttribute("paging", "keyset");
+    } else {
+      Page<TaskListItem> taskPage = taskService.getAllTasks(taskFilter);
+
+      model.addAttribute("tasks", taskPage.getContent());
+      model.addAttribute("page", taskPage);
+      model.addAttribute(
+          "pageNumbers",
+          IntStream.range(0, taskPage.getTotalPages()).boxed().collect(Collectors.toList()));
+      model.addAttribute("currentPage", taskPage.getNumber());
+      model.addAttribute("pageSize", taskPage.getSize());
+    }
 
-    model.addAttribute("tasks", taskPage.getContent());
-    model.addAttribute("page", taskPage);
-    model.addAttribute(
-        "pageNumbers",
-        IntStream.range(0, taskPage.getTotalPages()).boxed().collect(Collectors.toList()));
-    model.addAttribute("currentPage", taskPage.getNumber());
-    model.addAttribute("pageSize", taskPage.getSize());
+    List<CategoryListItem> categories = categoryService.findAllCategories();
 
     model.addAttribute("currentSort", taskFilter.getSort());
     model.addAttribute(
@@ -146,8 +170,9 @@ public class TaskViewController {
   public String importTasks(
       @RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
     try {
-      taskService.importTasksFromCsv(file);
-      redirectAttributes.addFlashAttribute("successMessage", "Import successful!");
+      ImportJob job = importJobService.submit(file);
+      redirectAttributes.addAttribute("importJob", job.getId());
+      redirectAttributes.addFlashAttribute("successMessage", "Import started.");
     } catch (Exception ex) {
       redirectAttributes.addFlashAttribute("errorMessage", "Import error: " + ex.getMessage());
     }
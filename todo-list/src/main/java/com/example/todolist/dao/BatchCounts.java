@@ -0,0 +1,24 @@
+package com.example.todolist.dao;
+
+import java.sql.Statement;
+
+/** Totals of the per-statement update counts that {@code JdbcTemplate.batchUpdate} returns. */
+final class BatchCounts {
+
+  private BatchCounts() {}
+
+  /**
+   * Sums the affected rows of every batch. A driver that reports {@link Statement#SUCCESS_NO_INFO}
+   * for a statement is counted as one row, since every statement of the insert batches writes
+   * exactly one.
+   */
+  static int rows(int[][] counts) {
+    int rows = 0;
+    for (int[] batch : counts) {
+      for (int count : batch) {
+        rows += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+      }
+    }
+    return rows;
+  }
+}
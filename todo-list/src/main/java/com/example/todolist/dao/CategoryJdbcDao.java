@@ -2,6 +2,9 @@ package com.example.todolist.dao;
 
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.User;
+import com.example.todolist.service.sort.NameCollation;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -17,49 +20,96 @@ public class CategoryJdbcDao {
     this.jdbcTemplate = jdbcTemplate;
   }
 
+  private static final String INSERT_ALL =
+      "INSERT INTO categories (id, name, color, user_id, name_sort_key, name_sort_key_version)";
+
+  private static final String CATEGORY_COLUMNS = "id, name, color, user_id";
+
   private final RowMapper<Category> categoryRowMapper =
       (rs, rowNum) -> {
         Category category = new Category();
-        category.setId(UUID.fromString(rs.getString("id")));
+        category.setId(rs.getObject("id", UUID.class));
         category.setName(rs.getString("name"));
         category.setColor(rs.getString("color"));
-        String userIdStr = rs.getString("user_id");
-        if (userIdStr != null) {
+        UUID userId = rs.getObject("user_id", UUID.class);
+        if (userId != null) {
           User user = new User();
-          user.setId(UUID.fromString(userIdStr));
+          user.setId(userId);
           category.setUser(user);
         }
         return category;
       };
 
   public List<Category> findAllByUserId(UUID userId) {
-    String sql = "SELECT * FROM categories WHERE user_id = ?";
-    return jdbcTemplate.query(sql, categoryRowMapper, userId.toString());
+    String sql = "SELECT " + CATEGORY_COLUMNS + " FROM categories WHERE user_id = ?";
+    return jdbcTemplate.query(sql, categoryRowMapper, userId);
   }
 
   public Category findById(UUID id) {
-    String sql = "SELECT * FROM categories WHERE id = ?";
-    return jdbcTemplate.queryForObject(sql, categoryRowMapper, id.toString());
+    String sql = "SELECT " + CATEGORY_COLUMNS + " FROM categories WHERE id = ?";
+    return jdbcTemplate.queryForObject(sql, categoryRowMapper, id);
   }
 
   public int insert(Category category) {
-    String sql = "INSERT INTO categories (id, name, color, user_id) VALUES (?, ?, ?, ?)";
+    String sql = INSERT_ALL + " VALUES (?, ?, ?, ?, ?, ?)";
     return jdbcTemplate.update(
         sql,
-        category.getId().toString(),
+        category.getId(),
         category.getName(),
         category.getColor(),
-        category.getUser() != null ? category.getUser().getId().toString() : null);
+        category.getUser() != null ? category.getUser().getId() : null,
+        NameCollation.sortKey(category.getName()),
+        NameCollation.SORT_KEY_VERSION);
+  }
+
+  /** Inserts all categories with JDBC batches of {@code batchSize} statements. */
+  public int insertAll(List<Category> categories, int batchSize) {
+    return BatchCounts.rows(
+        jdbcTemplate.batchUpdate(
+            INSERT_ALL + " VALUES (?, ?, ?, ?, ?, ?)",
+            categories,
+            batchSize,
+            (ps, category) -> bindInsert(ps, 0, category)));
+  }
+
+  /**
+   * Same as {@link #insertAll(List, int)}, but sends multi-row {@code INSERT ... VALUES} statements
+   * of up to {@code rowsPerStatement} categories each.
+   */
+  public int insertAllMultiRow(List<Category> categories, int rowsPerStatement) {
+    return MultiRowInsert.execute(
+        jdbcTemplate, INSERT_ALL, 6, categories, rowsPerStatement, CategoryJdbcDao::bindInsert);
   }
 
+  private static void bindInsert(PreparedStatement ps, int offset, Category category)
+      throws SQLException {
+    ps.setObject(offset + 1, category.getId());
+    ps.setString(offset + 2, category.getName());
+    ps.setString(offset + 3, category.getColor());
+    ps.setObject(offset + 4, category.getUser() != null ? category.getUser().getId() : null);
+    ps.setBytes(offset + 5, NameCollation.sortKey(category.getName()));
+    ps.setString(offset + 6, NameCollation.SORT_KEY_VERSION);
+  }
+
+  /**
+   * Updates the row only; the category cache, the user's data version and the changed-at stamps of
+   * its tasks are maintained by {@code CategoryService}.
+   */
   public int update(Category category) {
-    String sql = "UPDATE categories SET name = ?, color = ? WHERE id = ?";
+    String sql =
+        "UPDATE categories SET name = ?, name_sort_key = ?, name_sort_key_version = ?, color = ? "
+            + "WHERE id = ?";
     return jdbcTemplate.update(
-        sql, category.getName(), category.getColor(), category.getId().toString());
+        sql,
+        category.getName(),
+        NameCollation.sortKey(category.getName()),
+        NameCollation.SORT_KEY_VERSION,
+        category.getColor(),
+        category.getId());
   }
 
   public int deleteById(UUID id) {
     String sql = "DELETE FROM categories WHERE id = ?";
-    return jdbcTemplate.update(sql, id.toString());
+    return jdbcTemplate.update(sql, id);
   }
 }
@@ -0,0 +1,62 @@
+package com.example.todolist.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes rows with {@code INSERT ... VALUES (...), (...), ...} statements of up to {@code
+ * rowsPerStatement} rows each, so a chunk of rows costs a single statement instead of one batch
+ * entry per row.
+ */
+final class MultiRowInsert {
+
+  @FunctionalInterface
+  interface RowBinder<T> {
+    /** Binds {@code row} to the parameters that start right after {@code offset}. */
+    void bind(PreparedStatement ps, int offset, T row) throws SQLException;
+  }
+
+  private MultiRowInsert() {}
+
+  static <T> int execute(
+      JdbcTemplate jdbcTemplate,
+      String insertInto,
+      int columnCount,
+      List<T> rows,
+      int rowsPerStatement,
+      RowBinder<T> binder) {
+    if (rowsPerStatement < 1) {
+      throw new IllegalArgumentException("rowsPerStatement must be positive");
+    }
+    String rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+    int inserted = 0;
+    String fullChunkSql = null;
+    for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+      List<T> chunk = rows.subList(from, Math.min(from + rowsPerStatement, rows.size()));
+      String sql;
+      if (chunk.size() == rowsPerStatement && fullChunkSql != null) {
+        sql = fullChunkSql;
+      } else {
+        sql =
+            insertInto
+                + " VALUES "
+                + String.join(", ", Collections.nCopies(chunk.size(), rowPlaceholders));
+        if (chunk.size() == rowsPerStatement) {
+          fullChunkSql = sql;
+        }
+      }
+      inserted +=
+          jdbcTemplate.update(
+              sql,
+              ps -> {
+                for (int i = 0; i < chunk.size(); i++) {
+                  binder.bind(ps, i * columnCount, chunk.get(i));
+                }
+              });
+    }
+    return inserted;
+  }
+}
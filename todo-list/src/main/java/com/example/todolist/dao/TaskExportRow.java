@@ -0,0 +1,6 @@
+package com.example.todolist.dao;
+
+import java.time.LocalDateTime;
+
+public record TaskExportRow(
+    String title, String description, String status, LocalDateTime dueDate, String categoryName) {}
@@ -3,12 +3,20 @@ package com.example.todolist.dao;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
 import com.example.todolist.entity.User;
+import com.example.todolist.repository.TaskListItem;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
@@ -21,79 +29,241 @@ public class TaskJdbcDao {
     this.jdbcTemplate = jdbcTemplate;
   }
 
-  private final RowMapper<Task> taskRowMapper =
-      (rs, rowNum) -> {
-        Task task = new Task();
-        task.setId(UUID.fromString(rs.getString("id")));
-        task.setTitle(rs.getString("title"));
-        task.setDescription(rs.getString("description"));
-        task.setDueDate(rs.getObject("due_date", LocalDateTime.class));
-        String statusStr = rs.getString("status");
-        if (statusStr != null) {
-          task.setStatus(Status.valueOf(statusStr));
-        }
-        task.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
-        if (hasColumn(rs, "updated_at")) {
-          task.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
-        }
-        if (hasColumn(rs, "user_id")) {
-          String userIdStr = rs.getString("user_id");
-          if (userIdStr != null) {
-            User user = new User();
-            user.setId(UUID.fromString(userIdStr));
-            task.setUser(user);
-          }
+  private static final String INSERT_ALL =
+      "INSERT INTO tasks (id, title, description, due_date, created_at, updated_at, status, category_id, user_id)";
+
+  private static final String TASK_COLUMNS =
+      "id, title, description, due_date, status, created_at, updated_at, user_id";
+
+  /**
+   * Maps task rows by column index. The indexes are looked up once from the metadata of the first
+   * row's result set, so an instance must not be shared between concurrent queries; {@code
+   * updated_at} and {@code user_id} are optional and skipped when the query does not select them.
+   */
+  static final class TaskRowMapper implements RowMapper<Task> {
+
+    private ResultSet resolvedFor;
+    private int id;
+    private int title;
+    private int description;
+    private int dueDate;
+    private int status;
+    private int createdAt;
+    private int updatedAt;
+    private int userId;
+
+    @Override
+    public Task mapRow(ResultSet rs, int rowNum) throws SQLException {
+      if (rs != resolvedFor) {
+        resolveColumns(rs);
+      }
+      Task task = new Task();
+      task.setId(rs.getObject(id, UUID.class));
+      task.setTitle(rs.getString(title));
+      task.setDescription(rs.getString(description));
+      task.setDueDate(rs.getObject(dueDate, LocalDateTime.class));
+      String statusStr = rs.getString(status);
+      if (statusStr != null) {
+        task.setStatus(Status.valueOf(statusStr));
+      }
+      task.setCreatedAt(rs.getObject(createdAt, LocalDateTime.class));
+      if (updatedAt > 0) {
+        task.setUpdatedAt(rs.getObject(updatedAt, LocalDateTime.class));
+      }
+      if (userId > 0) {
+        UUID userIdValue = rs.getObject(userId, UUID.class);
+        if (userIdValue != null) {
+          User user = new User();
+          user.setId(userIdValue);
+          task.setUser(user);
         }
-        return task;
-      };
-
-  private static boolean hasColumn(ResultSet rs, String column) {
-    try {
-      rs.findColumn(column);
-      return true;
-    } catch (SQLException e) {
-      return false;
+      }
+      return task;
+    }
+
+    private void resolveColumns(ResultSet rs) throws SQLException {
+      Map<String, Integer> indexes = new HashMap<>();
+      ResultSetMetaData metaData = rs.getMetaData();
+      for (int i = metaData.getColumnCount(); i >= 1; i--) {
+        indexes.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+      }
+      id = required(indexes, "id");
+      title = required(indexes, "title");
+      description = required(indexes, "description");
+      dueDate = required(indexes, "due_date");
+      status = required(indexes, "status");
+      createdAt = required(indexes, "created_at");
+      updatedAt = indexes.getOrDefault("updated_at", 0);
+      userId = indexes.getOrDefault("user_id", 0);
+      resolvedFor = rs;
+    }
+
+    private static int required(Map<String, Integer> indexes, String column) throws SQLException {
+      Integer index = indexes.get(column);
+      if (index == null) {
+        throw new SQLException("Column '" + column + "' not found in task query");
+      }
+      return index;
     }
   }
 
   public List<Task> findAllByUserId(UUID userId) {
-    String sql = "SELECT * FROM tasks WHERE user_id = ?";
-    return jdbcTemplate.query(sql, taskRowMapper, userId.toString());
+    String sql = "SELECT " + TASK_COLUMNS + " FROM tasks WHERE user_id = ?";
+    return jdbcTemplate.query(sql, new TaskRowMapper(), userId);
+  }
+
+  /**
+   * Passes every task of the user, joined with its category name, to {@code consumer} while the
+   * forward-only result set is read, {@code fetchSize} rows per round trip. No row is kept after
+   * the consumer returns, so callers that write each row out use constant memory. Must run inside a
+   * transaction when the driver only streams with auto-commit off.
+   */
+  public void streamExportRows(UUID userId, int fetchSize, Consumer<TaskExportRow> consumer) {
+    String sql =
+        "SELECT t.title, t.description, t.status, t.due_date, c.name AS category_name "
+            + "FROM tasks t LEFT JOIN categories c ON c.id = t.category_id WHERE t.user_id = ?";
+    jdbcTemplate.query(
+        con -> {
+          PreparedStatement ps =
+              con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          ps.setFetchSize(fetchSize);
+          ps.setObject(1, userId);
+          return ps;
+        },
+        (RowCallbackHandler)
+            rs ->
+                consumer.accept(
+                    new TaskExportRow(
+                        rs.getString(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getObject(4, LocalDateTime.class),
+                        rs.getString(5))));
+  }
+
+  /**
+   * Streams every task of the user as a list row, ordered by id like the unpaged task list, with
+   * the same forward-only, {@code fetchSize} reads as {@link #streamExportRows}.
+   */
+  public void streamListItems(UUID userId, int fetchSize, Consumer<TaskListItem> consumer) {
+    String sql =
+        "SELECT t.id, t.title, t.description, t.status, t.due_date, t.user_id, c.id, c.name, c.color "
+            + "FROM tasks t LEFT JOIN categories c ON c.id = t.category_id WHERE t.user_id = ? "
+            + "ORDER BY t.id";
+    jdbcTemplate.query(
+        con -> {
+          PreparedStatement ps =
+              con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          ps.setFetchSize(fetchSize);
+          ps.setObject(1, userId);
+          return ps;
+        },
+        (RowCallbackHandler)
+            rs -> {
+              String status = rs.getString(4);
+              consumer.accept(
+                  new TaskListItem(
+                      rs.getObject(1, UUID.class),
+                      rs.getString(2),
+                      rs.getString(3),
+                      status != null ? Status.valueOf(status) : null,
+                      rs.getObject(5, LocalDateTime.class),
+                      rs.getObject(6, UUID.class),
+                      rs.getObject(7, UUID.class),
+                      rs.getString(8),
+                      rs.getString(9)));
+            });
   }
 
   public Task findById(UUID id) {
-    String sql = "SELECT * FROM tasks WHERE id = ?";
-    return jdbcTemplate.queryForObject(sql, taskRowMapper, id.toString());
+    String sql = "SELECT " + TASK_COLUMNS + " FROM tasks WHERE id = ?";
+    return jdbcTemplate.queryForObject(sql, new TaskRowMapper(), id);
   }
 
+  /** Inserts the task with {@code updated_at} equal to its creation time, like a new entity. */
   public int insert(Task task) {
     String sql =
-        "INSERT INTO tasks (id, title, description, due_date, created_at, status, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        "INSERT INTO tasks (id, title, description, due_date, created_at, updated_at, status, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    LocalDateTime createdAt =
+        task.getCreatedAt() != null ? task.getCreatedAt() : LocalDateTime.now();
     return jdbcTemplate.update(
         sql,
-        task.getId().toString(),
+        task.getId(),
         task.getTitle(),
         task.getDescription(),
         task.getDueDate(),
-        task.getCreatedAt() != null ? task.getCreatedAt() : LocalDateTime.now(),
+        createdAt,
+        createdAt,
         task.getStatus() != null ? task.getStatus().name() : Status.TODO.name(),
-        task.getUser() != null ? task.getUser().getId().toString() : null);
+        task.getUser() != null ? task.getUser().getId() : null);
+  }
+
+  /**
+   * Inserts all tasks with JDBC batches of {@code batchSize} statements and returns the number of
+   * inserted rows. Unlike {@link #insert(Task)} this also writes the category and both timestamps;
+   * every task must already have an id and a user.
+   */
+  public int insertAll(List<Task> tasks, int batchSize) {
+    LocalDateTime now = LocalDateTime.now();
+    return BatchCounts.rows(
+        jdbcTemplate.batchUpdate(
+            INSERT_ALL + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            tasks,
+            batchSize,
+            (ps, task) -> bindInsert(ps, 0, task, now)));
+  }
+
+  /**
+   * Same as {@link #insertAll(List, int)}, but sends multi-row {@code INSERT ... VALUES} statements
+   * of up to {@code rowsPerStatement} tasks each. Returns the number of inserted rows.
+   */
+  public int insertAllMultiRow(List<Task> tasks, int rowsPerStatement) {
+    LocalDateTime now = LocalDateTime.now();
+    return MultiRowInsert.execute(
+        jdbcTemplate,
+        INSERT_ALL,
+        9,
+        tasks,
+        rowsPerStatement,
+        (ps, offset, task) -> bindInsert(ps, offset, task, now));
+  }
+
+  private static void bindInsert(PreparedStatement ps, int offset, Task task, LocalDateTime now)
+      throws SQLException {
+    LocalDateTime createdAt = task.getCreatedAt() != null ? task.getCreatedAt() : now;
+    ps.setObject(offset + 1, task.getId());
+    ps.setString(offset + 2, task.getTitle());
+    ps.setString(offset + 3, task.getDescription());
+    ps.setObject(offset + 4, task.getDueDate());
+    ps.setObject(offset + 5, createdAt);
+    ps.setObject(offset + 6, task.getUpdatedAt() != null ? task.getUpdatedAt() : createdAt);
+    ps.setString(
+        offset + 7, task.getStatus() != null ? task.getStatus().name() : Status.TODO.name());
+    ps.setObject(offset + 8, task.getCategory() != null ? task.getCategory().getId() : null);
+    ps.setObject(offset + 9, task.getUser().getId());
   }
 
+  /**
+   * Updates the task and stamps {@code updated_at} with now, so the changes feed picks it up. Like
+   * every write here it only touches the {@code tasks} row: counters, search terms and the user's
+   * data version are maintained by {@code TaskService} and {@code TaskImportService}.
+   */
   public int update(Task task) {
     String sql =
-        "UPDATE tasks SET title = ?, description = ?, due_date = ?, status = ? WHERE id = ?";
+        "UPDATE tasks SET title = ?, description = ?, due_date = ?, status = ?, updated_at = ? WHERE id = ?";
     return jdbcTemplate.update(
         sql,
         task.getTitle(),
         task.getDescription(),
         task.getDueDate(),
         task.getStatus() != null ? task.getStatus().name() : Status.TODO.name(),
-        task.getId().toString());
+        LocalDateTime.now(),
+        task.getId());
   }
 
+  /** Deletes the row only; no tombstone is written for the changes feed. */
   public int deleteById(UUID id) {
     String sql = "DELETE FROM tasks WHERE id = ?";
-    return jdbcTemplate.update(sql, id.toString());
+    return jdbcTemplate.update(sql, id);
   }
 }
@@ -3,6 +3,7 @@ package com.example.todolist.dto.mapper;
 import com.example.todolist.dto.response.CreateCategoryResponse;
 import com.example.todolist.dto.response.GetCategoryResponse;
 import com.example.todolist.entity.Category;
+import com.example.todolist.repository.CategoryListItem;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -16,5 +17,7 @@ public interface CategoryMapper {
   @Mapping(source = "user.id", target = "userId")
   GetCategoryResponse mapToGetCategoryResponse(Category category);
 
-  List<GetCategoryResponse> mapToGetCategoryResponse(List<Category> categories);
+  GetCategoryResponse mapToGetCategoryResponse(CategoryListItem category);
+
+  List<GetCategoryResponse> mapToGetCategoryResponse(List<CategoryListItem> categories);
 }
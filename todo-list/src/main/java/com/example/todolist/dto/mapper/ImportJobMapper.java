@@ -0,0 +1,11 @@
+package com.example.todolist.dto.mapper;
+
+import com.example.todolist.dto.response.ImportJobResponse;
+import com.example.todolist.service.importjob.ImportJob;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, componentModel = "spring")
+public interface ImportJobMapper {
+  ImportJobResponse mapToImportJobResponse(ImportJob job);
+}
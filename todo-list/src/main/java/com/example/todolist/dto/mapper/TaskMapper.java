@@ -3,6 +3,7 @@ package com.example.todolist.dto.mapper;
 import com.example.todolist.dto.response.CreateTaskResponse;
 import com.example.todolist.dto.response.GetTaskResponse;
 import com.example.todolist.entity.Task;
+import com.example.todolist.repository.TaskListItem;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -20,9 +21,11 @@ public interface TaskMapper {
   @Mapping(source = "category.id", target = "categoryId")
   GetTaskResponse mapToGetTaskResponse(Task task);
 
-  List<GetTaskResponse> mapToGetTaskResponse(List<Task> tasks);
+  GetTaskResponse mapToGetTaskResponse(TaskListItem task);
 
-  default Page<GetTaskResponse> mapToGetTaskResponse(Page<Task> page) {
+  List<GetTaskResponse> mapToGetTaskResponse(List<TaskListItem> tasks);
+
+  default Page<GetTaskResponse> mapToGetTaskResponse(Page<TaskListItem> page) {
     List<GetTaskResponse> content = mapToGetTaskResponse(page.getContent());
     return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
   }
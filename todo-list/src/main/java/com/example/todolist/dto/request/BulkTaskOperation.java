@@ -0,0 +1,8 @@
+package com.example.todolist.dto.request;
+
+public enum BulkTaskOperation {
+  SET_STATUS,
+  SET_CATEGORY,
+  SET_DUE_DATE,
+  DELETE
+}
@@ -0,0 +1,75 @@
+package com.example.todolist.dto.request;
+
+import com.example.todolist.entity.Status;
+import com.example.todolist.service.filter.TaskFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Applies one operation to the tasks listed in {@code ids} or to every task matching {@code
+ * filter}; exactly one of the two must be given. Only the filter's title, status, category and due
+ * date fields are used, and at least one of them must be set, so an empty filter cannot touch every
+ * task of the user. A null {@code categoryId} or {@code dueDate} clears the field.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskRequest {
+
+  private List<UUID> ids;
+
+  private TaskFilter filter;
+
+  @NotNull(message = "Bulk operation cannot be null")
+  private BulkTaskOperation operation;
+
+  private Status status;
+
+  private UUID categoryId;
+
+  private LocalDateTime dueDate;
+
+  @JsonIgnore
+  @AssertTrue(message = "Exactly one of ids or filter must be given")
+  public boolean isTargetValid() {
+    return (ids != null && !ids.isEmpty()) != (filter != null);
+  }
+
+  @JsonIgnore
+  @AssertTrue(
+      message = "Filter must set at least one of title, status, categoryId, dueAfter or dueBefore")
+  public boolean isFilterNarrowing() {
+    return filter == null
+        || (ids != null && !ids.isEmpty())
+        || (filter.getTitle() != null && !filter.getTitle().isBlank())
+        || (filter.getStatus() != null && !filter.getStatus().isBlank())
+        || filter.getCategoryId() != null
+        || filter.getDueAfter() != null
+        || filter.getDueBefore() != null;
+  }
+
+  @JsonIgnore
+  @AssertTrue(message = "Filter status must be one of TODO, IN_PROGRESS, DONE")
+  public boolean isFilterStatusValid() {
+    return filter == null
+        || filter.getStatus() == null
+        || filter.getStatus().isBlank()
+        || Arrays.stream(Status.values()).anyMatch(s -> s.name().equals(filter.getStatus()));
+  }
+
+  @JsonIgnore
+  @AssertTrue(message = "Status is required for SET_STATUS")
+  public boolean isStatusValid() {
+    return operation != BulkTaskOperation.SET_STATUS || status != null;
+  }
+}
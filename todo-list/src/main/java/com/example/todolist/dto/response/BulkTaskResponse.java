@@ -0,0 +1,17 @@
+package com.example.todolist.dto.response;
+
+import com.example.todolist.dto.request.BulkTaskOperation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResponse {
+  private BulkTaskOperation operation;
+
+  private int affected;
+}
@@ -0,0 +1,21 @@
+package com.example.todolist.dto.response;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTaskCountResponse {
+  private UUID categoryId;
+
+  private String categoryName;
+
+  private long totalTasks;
+
+  private long doneTasks;
+}
@@ -0,0 +1,36 @@
+package com.example.todolist.dto.response;
+
+import com.example.todolist.service.importjob.ImportJobStatus;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+  private UUID id;
+
+  private String fileName;
+
+  private ImportJobStatus status;
+
+  private int processedRows;
+
+  private int acceptedRows;
+
+  private int rejectedRows;
+
+  private List<String> errors;
+
+  private String message;
+
+  private Instant createdAt;
+
+  private Instant finishedAt;
+}
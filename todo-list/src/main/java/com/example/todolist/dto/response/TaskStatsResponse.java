@@ -0,0 +1,27 @@
+package com.example.todolist.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+  private long totalTasks;
+
+  private long todoTasks;
+
+  private long inProgressTasks;
+
+  private long doneTasks;
+
+  private long overdueTasks;
+
+  private int percentDone;
+
+  private List<CategoryTaskCountResponse> categories;
+}
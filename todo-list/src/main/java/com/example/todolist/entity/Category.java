@@ -22,6 +22,12 @@ public class Category {
   @Column(name = "color")
   private String color;
 
+  @Column(name = "name_sort_key")
+  private byte[] nameSortKey;
+
+  @Column(name = "name_sort_key_version")
+  private String nameSortKeyVersion;
+
   @OneToMany(mappedBy = "category")
   private List<Task> tasks = new ArrayList<>();
 
@@ -0,0 +1,31 @@
+package com.example.todolist.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "task_deletions")
+public class TaskDeletion {
+  @Id
+  @Column(name = "task_id")
+  private UUID taskId;
+
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Column(name = "deleted_at", nullable = false)
+  private LocalDateTime deletedAt;
+
+  public TaskDeletion(UUID taskId, UUID userId, LocalDateTime deletedAt) {
+    this.taskId = taskId;
+    this.userId = userId;
+    this.deletedAt = deletedAt;
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.todolist.entity;
+
+import jakarta.persistence.*;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "task_search_terms")
+public class TaskSearchTerm {
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "task_id", nullable = false)
+  private UUID taskId;
+
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Column(name = "term", nullable = false, length = 12)
+  private String term;
+
+  @Column(name = "weight", nullable = false)
+  private int weight;
+
+  public TaskSearchTerm(UUID taskId, UUID userId, String term, int weight) {
+    this.taskId = taskId;
+    this.userId = userId;
+    this.term = term;
+    this.weight = weight;
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.todolist.entity;
 
 import jakarta.persistence.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -25,6 +26,12 @@ public class User {
   @Column(name = "role", nullable = false)
   private String role;
 
+  @Column(name = "data_version", nullable = false, insertable = false, updatable = false)
+  private long dataVersion;
+
+  @Column(name = "data_modified_at", nullable = false, insertable = false, updatable = false)
+  private LocalDateTime dataModifiedAt;
+
   @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
   private List<Task> userTasks = new ArrayList<>();
 
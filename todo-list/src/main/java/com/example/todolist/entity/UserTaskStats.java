@@ -0,0 +1,44 @@
+package com.example.todolist.entity;
+
+import jakarta.persistence.*;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(
+    name = "user_task_stats",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "category_id"}))
+public class UserTaskStats {
+
+  /** Category id of the row that counts tasks without a category, so the unique key covers it. */
+  public static final UUID NO_CATEGORY = new UUID(0, 0);
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "user_id", nullable = false)
+  private UUID userId;
+
+  @Column(name = "category_id", nullable = false)
+  private UUID categoryId;
+
+  @Column(name = "total", nullable = false)
+  private long total;
+
+  @Column(name = "todo", nullable = false)
+  private long todo;
+
+  @Column(name = "in_progress", nullable = false)
+  private long inProgress;
+
+  @Column(name = "done", nullable = false)
+  private long done;
+
+  public boolean hasCategory() {
+    return categoryId != null && !NO_CATEGORY.equals(categoryId);
+  }
+}
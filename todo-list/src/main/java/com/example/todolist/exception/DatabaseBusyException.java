@@ -0,0 +1,7 @@
+package com.example.todolist.exception;
+
+public class DatabaseBusyException extends RuntimeException {
+  public DatabaseBusyException() {
+    super("Too many requests are waiting for the database, try again later");
+  }
+}
@@ -3,8 +3,12 @@ package com.example.todolist.exception;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -41,4 +45,106 @@ public class GlobalExceptionHandler {
     body.put("message", ex.getMessage());
     return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
   }
+
+  @ExceptionHandler(ImportJobNotFoundException.class)
+  public ResponseEntity<Map<String, Object>> ImportJobNotFoundException(
+      ImportJobNotFoundException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.NOT_FOUND.value());
+    body.put("error", "Not Found");
+    body.put("message", ex.getMessage());
+    return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(ImportQueueFullException.class)
+  public ResponseEntity<Map<String, Object>> ImportQueueFullException(ImportQueueFullException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    body.put("error", "Service Unavailable");
+    body.put("message", ex.getMessage());
+    return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<Map<String, Object>> InvalidCursorException(InvalidCursorException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", "Bad Request");
+    body.put("message", ex.getMessage());
+    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(SyncTokenExpiredException.class)
+  public ResponseEntity<Map<String, Object>> SyncTokenExpiredException(
+      SyncTokenExpiredException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.GONE.value());
+    body.put("error", "Gone");
+    body.put("message", ex.getMessage());
+    return new ResponseEntity<>(body, HttpStatus.GONE);
+  }
+
+  @ExceptionHandler(TaskListTooLargeException.class)
+  public ResponseEntity<Map<String, Object>> TaskListTooLargeException(
+      TaskListTooLargeException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", "Bad Request");
+    body.put("message", ex.getMessage());
+    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(DatabaseBusyException.class)
+  public ResponseEntity<Map<String, Object>> DatabaseBusyException(DatabaseBusyException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    body.put("error", "Service Unavailable");
+    body.put("message", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(body);
+  }
+
+  @ExceptionHandler(TooManyTaskStreamsException.class)
+  public ResponseEntity<Map<String, Object>> TooManyTaskStreamsException(
+      TooManyTaskStreamsException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+    body.put("error", "Service Unavailable");
+    body.put("message", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "5")
+        .body(body);
+  }
+
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<Map<String, Object>> CannotCreateTransactionException(
+      CannotCreateTransactionException ex) {
+    if (ex.getMostSpecificCause() instanceof DatabaseBusyException busy) {
+      return DatabaseBusyException(busy);
+    }
+    return handleGeneralError(ex);
+  }
+
+  @ExceptionHandler(MethodArgumentNotValidException.class)
+  public ResponseEntity<Map<String, Object>> MethodArgumentNotValidException(
+      MethodArgumentNotValidException ex) {
+    Map<String, Object> body = new HashMap<>();
+    body.put("timestamp", LocalDateTime.now());
+    body.put("status", HttpStatus.BAD_REQUEST.value());
+    body.put("error", "Bad Request");
+    body.put(
+        "message",
+        ex.getBindingResult().getAllErrors().stream()
+            .map(error -> error.getDefaultMessage())
+            .collect(Collectors.joining("; ")));
+    return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+  }
 }
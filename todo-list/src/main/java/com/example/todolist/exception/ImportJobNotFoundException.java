@@ -0,0 +1,9 @@
+package com.example.todolist.exception;
+
+import java.util.UUID;
+
+public class ImportJobNotFoundException extends RuntimeException {
+  public ImportJobNotFoundException(UUID jobId) {
+    super(String.format("Import job not found with id : '%s'", jobId));
+  }
+}
@@ -0,0 +1,7 @@
+package com.example.todolist.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+  public ImportQueueFullException() {
+    super("Too many imports in progress, try again later");
+  }
+}
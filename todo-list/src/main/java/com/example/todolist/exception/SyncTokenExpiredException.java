@@ -0,0 +1,7 @@
+package com.example.todolist.exception;
+
+public class SyncTokenExpiredException extends RuntimeException {
+  public SyncTokenExpiredException() {
+    super("Sync token has expired, fetch all tasks and start again without a token");
+  }
+}
@@ -0,0 +1,10 @@
+package com.example.todolist.exception;
+
+public class TaskListTooLargeException extends RuntimeException {
+  public TaskListTooLargeException(int limit) {
+    super(
+        "More than "
+            + limit
+            + " tasks, use /api/v1/tasks/all for pages or ?stream=ndjson to stream all tasks");
+  }
+}
@@ -0,0 +1,10 @@
+package com.example.todolist.exception;
+
+public class TooManyTaskStreamsException extends RuntimeException {
+  public TooManyTaskStreamsException(int limit) {
+    super(
+        "More than "
+            + limit
+            + " task streams are open, try again later or use /api/v1/tasks/all for pages");
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.todolist.repository;
+
+import java.util.UUID;
+
+/**
+ * Read model of a category list row. It is immutable and holds no persistence context state, so it
+ * can be cached and shared between requests and threads.
+ */
+public record CategoryListItem(UUID id, String name, String color, UUID userId) {}
@@ -4,11 +4,31 @@ import com.example.todolist.entity.Category;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
   List<Category> findAllByUserId(UUID userId);
 
+  List<Category> findAllByUserId(UUID userId, Sort sort);
+
+  @Query(
+      """
+    SELECT new com.example.todolist.repository.CategoryListItem(c.id, c.name, c.color, c.user.id)
+    FROM Category c
+    WHERE c.user.id = :userId
+    """)
+  List<CategoryListItem> findListItemsByUserId(@Param("userId") UUID userId);
+
+  @Query(
+      """
+    SELECT c FROM Category c
+    WHERE c.nameSortKey IS NULL OR c.nameSortKeyVersion IS NULL OR c.nameSortKeyVersion <> :version
+    """)
+  List<Category> findAllWithStaleSortKey(@Param("version") String version);
+
   boolean existsCategoriesByNameAndUserId(String name, UUID userId);
 
   Optional<Category> findByNameAndUserId(String name, UUID user_id);
@@ -0,0 +1,34 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Status;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A task of the changes feed together with the {@code updated_at} it is ordered by. */
+public record ChangedTask(TaskListItem task, LocalDateTime updatedAt) {
+
+  public ChangedTask(
+      UUID id,
+      String title,
+      String description,
+      Status status,
+      LocalDateTime dueDate,
+      UUID userId,
+      UUID categoryId,
+      String categoryName,
+      String categoryColor,
+      LocalDateTime updatedAt) {
+    this(
+        new TaskListItem(
+            id,
+            title,
+            description,
+            status,
+            dueDate,
+            userId,
+            categoryId,
+            categoryName,
+            categoryColor),
+        updatedAt);
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.todolist.repository;
+
+import java.util.Set;
+
+/**
+ * Query trigrams of one keyword word and how many of them a task has to contain to match the word.
+ */
+public record KeywordTerms(Set<String> terms, int minMatches) {}
@@ -0,0 +1,32 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.TaskDeletion;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskDeletionRepository extends JpaRepository<TaskDeletion, UUID> {
+
+  @Query(
+      """
+    SELECT d FROM TaskDeletion d
+    WHERE d.userId = :userId
+      AND (d.deletedAt > :time OR (d.deletedAt = :time AND d.taskId > :id))
+    ORDER BY d.deletedAt, d.taskId
+    """)
+  List<TaskDeletion> findDeletedAfter(
+      @Param("userId") UUID userId,
+      @Param("time") LocalDateTime time,
+      @Param("id") UUID id,
+      Limit limit);
+
+  @Modifying
+  @Query("DELETE FROM TaskDeletion d WHERE d.userId = :userId AND d.deletedAt < :cutoff")
+  int deleteByUserIdAndDeletedAtBefore(
+      @Param("userId") UUID userId, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,21 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Status;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read model of a task list row: the task columns together with the name and color of its category,
+ * selected in one query. Nothing is managed by the persistence context, so rendering a list never
+ * triggers lazy loading.
+ */
+public record TaskListItem(
+    UUID id,
+    String title,
+    String description,
+    Status status,
+    LocalDateTime dueDate,
+    UUID userId,
+    UUID categoryId,
+    String categoryName,
+    String categoryColor) {}
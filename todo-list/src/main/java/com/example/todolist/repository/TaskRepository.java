@@ -4,41 +4,70 @@ import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
+
+  Page<Task> findByUserIdAndDueDateIsNotNullOrderByDueDateAsc(UUID userId, Pageable pageable);
+
+  List<Task> findAllByUserId(UUID userId);
 
   @Query(
       """
-    SELECT t FROM Task t
+    SELECT t.status AS status, c.id AS categoryId, c.name AS categoryName,
+           COUNT(t) AS total,
+           SUM(CASE WHEN t.dueDate < :now
+                     AND t.status <> com.example.todolist.entity.Status.DONE
+                    THEN 1 ELSE 0 END) AS overdue
+    FROM Task t LEFT JOIN t.category c
     WHERE t.user.id = :userId
-      AND (:keyword IS NULL OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')))
-      AND (:status IS NULL OR t.status = :status)
-      AND (:categoryId IS NULL OR t.category.id = :categoryId)
-      AND (:dueAfter IS NULL OR t.dueDate >= :dueAfter)
-      AND (:dueBefore IS NULL OR t.dueDate <= :dueBefore)
+    GROUP BY t.status, c.id, c.name
     """)
-  Page<Task> searchTasksByFilter(
-      @Param("userId") UUID userId,
-      @Param("keyword") String keyword,
-      @Param("status") Status status,
-      @Param("categoryId") UUID categoryId,
-      @Param("dueAfter") LocalDateTime dueAfter,
-      @Param("dueBefore") LocalDateTime dueBefore,
-      Pageable pageable);
+  List<TaskStatsRow> aggregateStatsByUserId(
+      @Param("userId") UUID userId, @Param("now") LocalDateTime now);
 
-  Page<Task> findByUserIdAndDueDateIsNotNullOrderByDueDateAsc(UUID userId, Pageable pageable);
+  long countByUserIdAndStatusNotAndDueDateBefore(UUID userId, Status status, LocalDateTime now);
 
-  List<Task> findAllByUserId(UUID userId);
+  @Query(
+      """
+    SELECT new com.example.todolist.repository.ChangedTask(
+             t.id, t.title, t.description, t.status, t.dueDate, t.user.id,
+             c.id, c.name, c.color, t.updatedAt)
+    FROM Task t LEFT JOIN t.category c
+    WHERE t.user.id = :userId
+      AND (t.updatedAt > :time OR (t.updatedAt = :time AND t.id > :id))
+    ORDER BY t.updatedAt, t.id
+    """)
+  List<ChangedTask> findChangedAfter(
+      @Param("userId") UUID userId,
+      @Param("time") LocalDateTime time,
+      @Param("id") UUID id,
+      Limit limit);
 
-  long countByUserId(UUID userId);
+  @Query(
+      """
+    SELECT COALESCE(t.updatedAt, t.createdAt)
+    FROM Task t
+    WHERE t.id = :taskId AND t.user.id = :userId
+    """)
+  Optional<LocalDateTime> findModifiedAt(
+      @Param("taskId") UUID taskId, @Param("userId") UUID userId);
 
-  long countByUserIdAndStatus(UUID userId, Status status);
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE Task t SET t.category = NULL, t.updatedAt = :now WHERE t.category.id = :categoryId")
+  int clearCategory(@Param("categoryId") UUID categoryId, @Param("now") LocalDateTime now);
 
-  List<Task> findAllByCategoryId(UUID categoryId);
+  /** Marks the category's tasks changed; their feed entries carry its name and color. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("UPDATE Task t SET t.updatedAt = :now WHERE t.category.id = :categoryId")
+  int touchByCategoryId(@Param("categoryId") UUID categoryId, @Param("now") LocalDateTime now);
 }
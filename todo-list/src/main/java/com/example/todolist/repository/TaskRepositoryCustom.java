@@ -0,0 +1,60 @@
+package com.example.todolist.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+public interface TaskRepositoryCustom {
+
+  /** Sort property that orders keyword matches by relevance, best match first. */
+  String RELEVANCE = "relevance";
+
+  /**
+   * Offset-paged task search returning {@link TaskListItem} rows, with the category columns read
+   * through a left join in the same query. Besides entity properties the pageable may sort by
+   * {@link #RELEVANCE}, the summed weight of the keyword trigrams each task contains; without a
+   * keyword all tasks are equally relevant. No count query is run: one row more than the page size
+   * is fetched to tell whether a next page exists.
+   */
+  Slice<TaskListItem> sliceTasksByFilter(TaskSearchCriteria criteria, Pageable pageable);
+
+  /** Number of tasks matching {@code criteria}, for page totals the counters cannot answer. */
+  long countTasksByFilter(TaskSearchCriteria criteria);
+
+  /**
+   * Keyset-paged task search over the same rows and filters as {@link #sliceTasksByFilter}. Tasks
+   * are ordered by ({@code sortProperty}, id) with null sort keys always last. When {@code
+   * anchorId} is null the first {@code limit} tasks are returned. Otherwise the tasks right after
+   * the ({@code anchorValue}, {@code anchorId}) position are returned, or right before it when
+   * {@code backward} is set, in which case the result comes nearest-first and has to be reversed by
+   * the caller.
+   */
+  List<TaskListItem> seekTasksByFilter(
+      TaskSearchCriteria criteria,
+      String sortProperty,
+      Sort.Direction direction,
+      Object anchorValue,
+      UUID anchorId,
+      boolean backward,
+      int limit);
+
+  /**
+   * Sets {@code attribute} to {@code value} (which may be null) and bumps {@code updatedAt} on
+   * every task matching {@code criteria}, restricted to {@code ids} when they are given, with a
+   * single UPDATE statement. Pending changes are flushed before and the persistence context is
+   * cleared afterwards, so no stale task stays managed. Returns the number of updated tasks.
+   */
+  int updateTasksByFilter(
+      TaskSearchCriteria criteria, Collection<UUID> ids, String attribute, Object value);
+
+  /**
+   * Deletes every task matching {@code criteria}, restricted to {@code ids} when they are given,
+   * together with its keyword search terms, with one DELETE statement per table. A {@code
+   * task_deletions} tombstone is written for each deleted task first. Returns the number of deleted
+   * tasks. Flushes and clears the persistence context like {@link #updateTasksByFilter}.
+   */
+  int deleteTasksByFilter(TaskSearchCriteria criteria, Collection<UUID> ids);
+}
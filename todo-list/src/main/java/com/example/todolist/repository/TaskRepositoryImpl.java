@@ -0,0 +1,359 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskDeletion;
+import com.example.todolist.entity.TaskSearchTerm;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaInsertSelect;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public Slice<TaskListItem> sliceTasksByFilter(TaskSearchCriteria criteria, Pageable pageable) {
+    List<TaskListItem> content =
+        new ArrayList<>(
+            listQuery(criteria, pageable.getSort())
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList());
+    boolean hasNext = content.size() > pageable.getPageSize();
+    if (hasNext) {
+      content.remove(pageable.getPageSize());
+    }
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  private TypedQuery<TaskListItem> listQuery(TaskSearchCriteria criteria, Sort sort) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<TaskListItem> query = cb.createQuery(TaskListItem.class);
+    Root<Task> task = query.from(Task.class);
+    Join<Task, Category> category = task.join("category", JoinType.LEFT);
+
+    List<Order> orders = new ArrayList<>();
+    for (Sort.Order order : sort) {
+      if (!RELEVANCE.equals(order.getProperty())) {
+        orders.addAll(QueryUtils.toOrders(Sort.by(order), task, cb));
+      } else if (!criteria.keywordTerms().isEmpty()) {
+        orders.add(order(cb, relevance(cb, query, task, criteria), order.isAscending()));
+      }
+    }
+    orders.add(cb.asc(task.get("id")));
+
+    query
+        .select(listItem(cb, task, category))
+        .where(filterPredicates(cb, query, task, criteria).toArray(Predicate[]::new))
+        .orderBy(orders);
+    return entityManager.createQuery(query);
+  }
+
+  @Override
+  public long countTasksByFilter(TaskSearchCriteria criteria) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<Task> task = query.from(Task.class);
+    query
+        .select(cb.count(task))
+        .where(filterPredicates(cb, query, task, criteria).toArray(Predicate[]::new));
+    return entityManager.createQuery(query).getSingleResult();
+  }
+
+  @Override
+  public List<TaskListItem> seekTasksByFilter(
+      TaskSearchCriteria criteria,
+      String sortProperty,
+      Sort.Direction direction,
+      Object anchorValue,
+      UUID anchorId,
+      boolean backward,
+      int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<TaskListItem> query = cb.createQuery(TaskListItem.class);
+    Root<Task> task = query.from(Task.class);
+    Join<Task, Category> category = task.join("category", JoinType.LEFT);
+
+    List<Predicate> predicates = filterPredicates(cb, query, task, criteria);
+
+    Expression<Comparable<Object>> key = sortKey(task, sortProperty);
+    Path<UUID> id = task.get("id");
+    Expression<Integer> nullsLast = cb.<Integer>selectCase().when(cb.isNull(key), 1).otherwise(0);
+
+    if (anchorId != null) {
+      Object anchor = atColumnPrecision(anchorValue);
+      predicates.add(
+          backward
+              ? before(cb, key, id, direction, anchor, anchorId)
+              : after(cb, key, id, direction, anchor, anchorId));
+    }
+
+    boolean ascending = direction.isAscending() != backward;
+    query
+        .select(listItem(cb, task, category))
+        .where(predicates.toArray(Predicate[]::new))
+        .orderBy(
+            backward ? cb.desc(nullsLast) : cb.asc(nullsLast),
+            order(cb, key, ascending),
+            order(cb, id, ascending));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  @Override
+  public int updateTasksByFilter(
+      TaskSearchCriteria criteria, Collection<UUID> ids, String attribute, Object value) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+    Root<Task> task = update.from(Task.class);
+    Path<Object> path = task.get(attribute);
+    if (value == null) {
+      update.<Object>set(path, cb.nullLiteral(Object.class));
+    } else {
+      update.set(path, value);
+    }
+    update
+        .set(task.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+        .where(bulkPredicates(cb, update, task, criteria, ids));
+    entityManager.flush();
+    int updated = entityManager.createQuery(update).executeUpdate();
+    entityManager.clear();
+    return updated;
+  }
+
+  @Override
+  public int deleteTasksByFilter(TaskSearchCriteria criteria, Collection<UUID> ids) {
+    HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+
+    // INSERT INTO task_deletions ... SELECT over the same predicates as the DELETE below
+    JpaCriteriaInsertSelect<TaskDeletion> tombstones =
+        cb.createCriteriaInsertSelect(TaskDeletion.class);
+    Root<TaskDeletion> tombstone = tombstones.getTarget();
+    tombstones.setInsertionTargetPaths(
+        tombstone.get("taskId"), tombstone.get("userId"), tombstone.get("deletedAt"));
+    JpaCriteriaQuery<Tuple> doomed = cb.createTupleQuery();
+    Root<Task> doomedTask = doomed.from(Task.class);
+    doomed
+        .multiselect(
+            doomedTask.get("id"), doomedTask.get("user").get("id"), cb.literal(LocalDateTime.now()))
+        .where(bulkPredicates(cb, doomed, doomedTask, criteria, ids));
+    tombstones.select(doomed);
+    entityManager.flush();
+    entityManager.unwrap(Session.class).createMutationQuery(tombstones).executeUpdate();
+
+    CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+    Root<Task> task = delete.from(Task.class);
+    delete.where(bulkPredicates(cb, delete, task, criteria, ids));
+    entityManager.flush();
+    int deleted = entityManager.createQuery(delete).executeUpdate();
+
+    // the keyword filter reads the search terms, so they can only go once the tasks are gone
+    CriteriaDelete<TaskSearchTerm> deleteTerms = cb.createCriteriaDelete(TaskSearchTerm.class);
+    Root<TaskSearchTerm> term = deleteTerms.from(TaskSearchTerm.class);
+    Subquery<UUID> remaining = deleteTerms.subquery(UUID.class);
+    Root<Task> remainingTask = remaining.from(Task.class);
+    remaining
+        .select(remainingTask.get("id"))
+        .where(cb.equal(remainingTask.get("user").get("id"), criteria.userId()));
+    deleteTerms.where(
+        cb.equal(term.get("userId"), criteria.userId()), cb.not(term.get("taskId").in(remaining)));
+    if (deleted > 0) {
+      entityManager.createQuery(deleteTerms).executeUpdate();
+    }
+    entityManager.clear();
+    return deleted;
+  }
+
+  private static Predicate[] bulkPredicates(
+      CriteriaBuilder cb,
+      CommonAbstractCriteria query,
+      Root<Task> task,
+      TaskSearchCriteria criteria,
+      Collection<UUID> ids) {
+    List<Predicate> predicates = filterPredicates(cb, query, task, criteria);
+    if (ids != null) {
+      predicates.add(task.get("id").in(ids));
+    }
+    return predicates.toArray(Predicate[]::new);
+  }
+
+  private static List<Predicate> filterPredicates(
+      CriteriaBuilder cb,
+      CommonAbstractCriteria query,
+      Root<Task> task,
+      TaskSearchCriteria criteria) {
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(task.get("user").get("id"), criteria.userId()));
+    for (KeywordTerms word : criteria.keywords()) {
+      predicates.add(
+          word.terms().isEmpty()
+              ? cb.disjunction()
+              : task.get("id").in(keywordMatches(cb, query, criteria.userId(), word)));
+    }
+    if (criteria.status() != null) {
+      predicates.add(cb.equal(task.get("status"), criteria.status()));
+    }
+    if (criteria.categoryId() != null) {
+      predicates.add(cb.equal(task.get("category").get("id"), criteria.categoryId()));
+    }
+    if (criteria.dueAfter() != null) {
+      predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), criteria.dueAfter()));
+    }
+    if (criteria.dueBefore() != null) {
+      predicates.add(cb.lessThanOrEqualTo(task.get("dueDate"), criteria.dueBefore()));
+    }
+    return predicates;
+  }
+
+  private static Subquery<UUID> keywordMatches(
+      CriteriaBuilder cb, CommonAbstractCriteria query, UUID userId, KeywordTerms word) {
+    Subquery<UUID> matches = query.subquery(UUID.class);
+    Root<TaskSearchTerm> term = matches.from(TaskSearchTerm.class);
+    return matches
+        .select(term.get("taskId"))
+        .where(cb.equal(term.get("userId"), userId), term.get("term").in(word.terms()))
+        .groupBy(term.get("taskId"))
+        .having(cb.ge(cb.count(term), word.minMatches()));
+  }
+
+  private static Subquery<Integer> relevance(
+      CriteriaBuilder cb,
+      CommonAbstractCriteria query,
+      Root<Task> task,
+      TaskSearchCriteria criteria) {
+    Subquery<Integer> score = query.subquery(Integer.class);
+    Root<TaskSearchTerm> term = score.from(TaskSearchTerm.class);
+    return score
+        .select(cb.sum(term.get("weight")))
+        .where(
+            cb.equal(term.get("taskId"), task.get("id")),
+            term.get("term").in(criteria.keywordTerms()));
+  }
+
+  private static CompoundSelection<TaskListItem> listItem(
+      CriteriaBuilder cb, Root<Task> task, Join<Task, Category> category) {
+    return cb.construct(
+        TaskListItem.class,
+        task.get("id"),
+        task.get("title"),
+        task.get("description"),
+        task.get("status"),
+        task.get("dueDate"),
+        task.get("user").get("id"),
+        category.get("id"),
+        category.get("name"),
+        category.get("color"));
+  }
+
+  private static Expression<Comparable<Object>> sortKey(Root<Task> task, String sortProperty) {
+    From<?, ?> from = task;
+    String[] segments = sortProperty.split("\\.");
+    for (int i = 0; i < segments.length - 1; i++) {
+      from = leftJoin(from, segments[i]);
+    }
+    return from.get(segments[segments.length - 1]);
+  }
+
+  private static From<?, ?> leftJoin(From<?, ?> from, String attribute) {
+    for (Join<?, ?> join : from.getJoins()) {
+      if (join.getAttribute().getName().equals(attribute) && join.getJoinType() == JoinType.LEFT) {
+        return join;
+      }
+    }
+    return from.join(attribute, JoinType.LEFT);
+  }
+
+  private static Predicate after(
+      CriteriaBuilder cb,
+      Expression<Comparable<Object>> key,
+      Path<UUID> id,
+      Sort.Direction direction,
+      Object anchorValue,
+      UUID anchorId) {
+    if (anchorValue == null) {
+      return cb.and(cb.isNull(key), beyond(cb, id, anchorId, direction.isAscending()));
+    }
+    Comparable<Object> value = comparable(anchorValue);
+    return cb.or(
+        beyond(cb, key, value, direction.isAscending()),
+        cb.and(cb.equal(key, value), beyond(cb, id, anchorId, direction.isAscending())),
+        cb.isNull(key));
+  }
+
+  private static Predicate before(
+      CriteriaBuilder cb,
+      Expression<Comparable<Object>> key,
+      Path<UUID> id,
+      Sort.Direction direction,
+      Object anchorValue,
+      UUID anchorId) {
+    if (anchorValue == null) {
+      return cb.or(
+          cb.isNotNull(key),
+          cb.and(cb.isNull(key), beyond(cb, id, anchorId, direction.isDescending())));
+    }
+    Comparable<Object> value = comparable(anchorValue);
+    return cb.or(
+        beyond(cb, key, value, direction.isDescending()),
+        cb.and(cb.equal(key, value), beyond(cb, id, anchorId, direction.isDescending())));
+  }
+
+  private static <Y extends Comparable<? super Y>> Predicate beyond(
+      CriteriaBuilder cb, Expression<? extends Y> path, Y value, boolean ascending) {
+    return ascending ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+  }
+
+  private static Order order(CriteriaBuilder cb, Expression<?> expression, boolean ascending) {
+    return ascending ? cb.asc(expression) : cb.desc(expression);
+  }
+
+  /**
+   * Rounds a timestamp anchor to the microseconds the {@code TIMESTAMP(6)} columns keep, the way
+   * the database rounds values on write. Compared at full precision, an anchor with sub-microsecond
+   * digits would sort strictly before or after its own row, and the walk would repeat or skip it.
+   */
+  private static Object atColumnPrecision(Object value) {
+    if (value instanceof LocalDateTime time) {
+      LocalDateTime micros = time.truncatedTo(ChronoUnit.MICROS);
+      return time.getNano() % 1_000 >= 500 ? micros.plus(1, ChronoUnit.MICROS) : micros;
+    }
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> comparable(Object value) {
+    return (Comparable<Object>) value;
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Status;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Task list filters. {@code keywords} holds the query trigrams of each keyword word, looked up in
+ * {@code task_search_terms}; a task matches when it reaches the threshold of every word, so a
+ * two-word keyword only finds tasks containing both words. No words disable the keyword filter; a
+ * word without terms, from a keyword of only punctuation, matches no task.
+ */
+public record TaskSearchCriteria(
+    UUID userId,
+    List<KeywordTerms> keywords,
+    Status status,
+    UUID categoryId,
+    LocalDateTime dueAfter,
+    LocalDateTime dueBefore) {
+
+  public boolean hasKeyword() {
+    return !keywords.isEmpty();
+  }
+
+  /** Trigrams of all keyword words, which score the relevance of a match. */
+  public Set<String> keywordTerms() {
+    Set<String> terms = new LinkedHashSet<>();
+    keywords.forEach(word -> terms.addAll(word.terms()));
+    return terms;
+  }
+}
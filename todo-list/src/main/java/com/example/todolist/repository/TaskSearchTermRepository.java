@@ -0,0 +1,30 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskSearchTerm;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TaskSearchTermRepository extends JpaRepository<TaskSearchTerm, UUID> {
+  List<TaskSearchTerm> findAllByTaskId(UUID taskId);
+
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM TaskSearchTerm s WHERE s.taskId IN :taskIds")
+  int deleteAllByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+  /** Tasks without search terms after {@code afterId}, in id order for paging through them. */
+  @Query(
+      """
+    SELECT t FROM Task t
+    WHERE t.user IS NOT NULL AND t.id > :afterId
+      AND NOT EXISTS (SELECT 1 FROM TaskSearchTerm s WHERE s.taskId = t.id)
+    ORDER BY t.id
+    """)
+  List<Task> findUnindexedTasks(@Param("afterId") UUID afterId, Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.Status;
+import java.util.UUID;
+
+public interface TaskStatsRow {
+  Status getStatus();
+
+  UUID getCategoryId();
+
+  String getCategoryName();
+
+  Long getTotal();
+
+  Long getOverdue();
+}
@@ -0,0 +1,6 @@
+package com.example.todolist.repository;
+
+import java.time.LocalDateTime;
+
+/** Change counter of a user's tasks and categories and the time it was last bumped. */
+public record UserDataVersion(long version, LocalDateTime modifiedAt) {}
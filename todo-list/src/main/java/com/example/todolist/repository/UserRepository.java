@@ -1,10 +1,38 @@
 package com.example.todolist.repository;
 
 import com.example.todolist.entity.User;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByEmail(String email);
+
+  @Query(
+      """
+    SELECT new com.example.todolist.repository.UserDataVersion(u.dataVersion, u.dataModifiedAt)
+    FROM User u
+    WHERE u.id = :userId
+    """)
+  Optional<UserDataVersion> findDataVersion(@Param("userId") UUID userId);
+
+  @Modifying
+  @Query(
+      """
+    UPDATE User u
+    SET u.dataVersion = u.dataVersion + 1, u.dataModifiedAt = :now
+    WHERE u.id = :userId
+    """)
+  int incrementDataVersion(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+  /** Locks the user's row until the end of the transaction, serializing per-user maintenance. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT u FROM User u WHERE u.id = :userId")
+  Optional<User> lockById(@Param("userId") UUID userId);
 }
@@ -0,0 +1,41 @@
+package com.example.todolist.repository;
+
+import com.example.todolist.entity.UserTaskStats;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, UUID> {
+  List<UserTaskStats> findAllByUserId(UUID userId);
+
+  Optional<UserTaskStats> findByUserIdAndCategoryId(UUID userId, UUID categoryId);
+
+  boolean existsByUserId(UUID userId);
+
+  @Modifying(flushAutomatically = true)
+  @Query(
+      """
+    UPDATE UserTaskStats s
+    SET s.total = s.total + :total,
+        s.todo = s.todo + :todo,
+        s.inProgress = s.inProgress + :inProgress,
+        s.done = s.done + :done
+    WHERE s.userId = :userId
+      AND s.categoryId = :categoryId
+    """)
+  int increment(
+      @Param("userId") UUID userId,
+      @Param("categoryId") UUID categoryId,
+      @Param("total") long total,
+      @Param("todo") long todo,
+      @Param("inProgress") long inProgress,
+      @Param("done") long done);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM UserTaskStats s WHERE s.userId = :userId")
+  int deleteAllByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,25 @@
+package com.example.todolist.service;
+
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Principal stored in the security context after login. It carries the user's id so services can
+ * scope queries to the current user without looking the user up by email on every call.
+ */
+public class AuthenticatedUser extends User {
+
+  private final UUID id;
+
+  public AuthenticatedUser(
+      UUID id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+    super(email, password, authorities);
+    this.id = id;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+}
@@ -0,0 +1,58 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.CategoryCacheProperties;
+import com.example.todolist.repository.CategoryListItem;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Category lists by user id, bounded by {@link CategoryCacheProperties}. Entries are immutable
+ * {@link CategoryListItem} lists, never managed entities, so they are safe to share between
+ * requests. Hits, misses and evictions are published as the {@code cache.*} meters tagged {@code
+ * cache=categories}.
+ */
+@Component
+public class CategoryCache {
+  static final String NAME = "categories";
+
+  private final Cache<UUID, List<CategoryListItem>> cache;
+
+  public CategoryCache(CategoryCacheProperties properties, MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.timeToLive())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+  }
+
+  public List<CategoryListItem> get(UUID userId, Function<UUID, List<CategoryListItem>> loader) {
+    return cache.get(userId, id -> List.copyOf(loader.apply(id)));
+  }
+
+  /**
+   * Drops the user's list. Inside a transaction the list is dropped again after commit, so a read
+   * that ran before the commit cannot leave the old list cached.
+   */
+  public void evict(UUID userId) {
+    cache.invalidate(userId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              cache.invalidate(userId);
+            }
+          });
+    }
+  }
+}
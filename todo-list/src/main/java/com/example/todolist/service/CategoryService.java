@@ -3,37 +3,53 @@ package com.example.todolist.service;
 import com.example.todolist.dto.request.CreateCategoryRequest;
 import com.example.todolist.dto.request.UpdateCategoryRequest;
 import com.example.todolist.entity.Category;
-import com.example.todolist.entity.Task;
 import com.example.todolist.entity.User;
 import com.example.todolist.exception.CategoryNotFoundException;
+import com.example.todolist.repository.CategoryListItem;
 import com.example.todolist.repository.CategoryRepository;
 import com.example.todolist.repository.TaskRepository;
-import com.example.todolist.repository.UserRepository;
-import java.text.Collator;
-import java.util.Comparator;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeType;
+import com.example.todolist.service.sort.NameCollation;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CategoryService {
   private final CategoryRepository categoryRepository;
-  private final UserRepository userRepository;
   private final UserService userService;
   private final TaskRepository taskRepository;
+  private final TaskStatsService taskStatsService;
+  private final CategoryCache categoryCache;
+  private final DataVersionService dataVersionService;
+  private final ApplicationEventPublisher eventPublisher;
+  private static final Logger log = LoggerFactory.getLogger(CategoryService.class);
 
   public CategoryService(
       CategoryRepository categoryRepository,
-      UserRepository userRepository,
       UserService userService,
-      TaskRepository taskRepository) {
+      TaskRepository taskRepository,
+      TaskStatsService taskStatsService,
+      CategoryCache categoryCache,
+      DataVersionService dataVersionService,
+      ApplicationEventPublisher eventPublisher) {
     this.categoryRepository = categoryRepository;
-    this.userRepository = userRepository;
     this.userService = userService;
     this.taskRepository = taskRepository;
+    this.taskStatsService = taskStatsService;
+    this.categoryCache = categoryCache;
+    this.dataVersionService = dataVersionService;
+    this.eventPublisher = eventPublisher;
   }
 
   @Transactional
@@ -43,34 +59,68 @@ public class CategoryService {
             .findById(categoryId)
             .orElseThrow(() -> new CategoryNotFoundException("id", categoryId));
 
-    List<Task> tasksWithDeletedCategory = taskRepository.findAllByCategoryId(categoryId);
-    tasksWithDeletedCategory.forEach(task -> task.setCategory(null));
+    taskStatsService.moveToUncategorized(category);
+    taskRepository.clearCategory(categoryId, LocalDateTime.now());
     categoryRepository.delete(category);
+    categoryCache.evict(category.getUser().getId());
+    dataVersionService.bump(category.getUser().getId());
+    eventPublisher.publishEvent(
+        new ChangeEvent(category.getUser().getId(), ChangeType.CATEGORY_DELETED, categoryId));
   }
 
+  /** Categories of the current user, served from {@link CategoryCache} when present. */
   @Transactional(readOnly = true)
-  public List<Category> findAllCategories() {
-    return categoryRepository.findAllByUserId(userService.getCurrentUser().getId());
+  public List<CategoryListItem> findAllCategories() {
+    return categoryCache.get(
+        userService.getCurrentUser().getId(), categoryRepository::findListItemsByUserId);
   }
 
+  /**
+   * Categories of the current user in Polish collation order, ties broken by id. The database
+   * orders them by the stored {@code name_sort_key}; rows whose key is missing or was computed by
+   * another collator version are sorted in memory until {@link #refreshSortKeys} has run.
+   */
   @Transactional(readOnly = true)
   public List<Category> findAllCategories(String sort, String direction) {
     UUID userId = userService.getCurrentUser().getId();
+    Sort.Direction dir =
+        "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+    List<Category> categories =
+        categoryRepository.findAllByUserId(userId, Sort.by(dir, "nameSortKey", "id"));
+    if (categories.stream().anyMatch(CategoryService::hasStaleSortKey)) {
+      return NameCollation.sort(
+          categories, Category::getName, NameCollation.POLISH, dir == Sort.Direction.DESC);
+    }
+    return categories;
+  }
 
-    List<Category> categories = categoryRepository.findAllByUserId(userId);
-
-    Collator polishCollator = Collator.getInstance(new Locale("pl", "PL"));
-    polishCollator.setStrength(Collator.PRIMARY);
-
-    Comparator<Category> comparator =
-        Comparator.comparing(Category::getName, Comparator.nullsLast(polishCollator));
-
-    if ("desc".equalsIgnoreCase(direction)) {
-      comparator = comparator.reversed();
+  /**
+   * Recomputes the sort keys that are missing or were computed under another {@link
+   * NameCollation#SORT_KEY_VERSION}, e.g. after a JDK upgrade changed the collation rules.
+   */
+  @Transactional
+  @EventListener(ApplicationReadyEvent.class)
+  public void refreshSortKeys() {
+    List<Category> categories =
+        categoryRepository.findAllWithStaleSortKey(NameCollation.SORT_KEY_VERSION);
+    categories.forEach(category -> applySortKey(category, category.getName()));
+    if (!categories.isEmpty()) {
+      log.info(
+          "Computed name sort keys for {} categories (collation {})",
+          categories.size(),
+          NameCollation.SORT_KEY_VERSION);
     }
+  }
 
-    categories.sort(comparator);
-    return categories;
+  private static boolean hasStaleSortKey(Category category) {
+    return category.getNameSortKey() == null
+        || !NameCollation.SORT_KEY_VERSION.equals(category.getNameSortKeyVersion());
+  }
+
+  private static void applySortKey(Category category, String name) {
+    category.setNameSortKey(NameCollation.sortKey(name));
+    category.setNameSortKeyVersion(NameCollation.SORT_KEY_VERSION);
   }
 
   @Transactional(readOnly = true)
@@ -82,36 +132,53 @@ public class CategoryService {
 
   @Transactional
   public Category createCategory(CreateCategoryRequest dto) {
-    String email = SecurityContextHolder.getContext().getAuthentication().getName();
-    User user =
-        userRepository
-            .findByEmail(email)
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-    if (categoryRepository.existsCategoriesByNameAndUserId(
-        dto.getName(), userService.getCurrentUser().getId())) {
+    User user = userService.getCurrentUser();
+
+    if (categoryRepository.existsCategoriesByNameAndUserId(dto.getName(), user.getId())) {
       throw new IllegalArgumentException("Category already exists");
     }
 
     Category category = new Category();
     category.setName(dto.getName());
+    applySortKey(category, dto.getName());
     category.setColor(dto.getColor());
     category.setUser(user);
 
-    return categoryRepository.save(category);
+    Category saved = categoryRepository.save(category);
+    categoryCache.evict(user.getId());
+    dataVersionService.bump(user.getId());
+    eventPublisher.publishEvent(
+        new ChangeEvent(user.getId(), ChangeType.CATEGORY_CREATED, saved.getId()));
+    return saved;
   }
 
+  /**
+   * Renames or recolors the category. Its tasks are marked changed in the same transaction when the
+   * name or color actually changes, so delta-syncing clients pick up the new values.
+   */
   @Transactional
   public Category updateCategory(UUID id, UpdateCategoryRequest update) {
     Category category = findCategoryById(id);
+    boolean changed = false;
 
     if (update.name() != null) {
+      changed |= !Objects.equals(category.getName(), update.name());
       category.setName(update.name());
+      applySortKey(category, update.name());
     }
     if (update.color() != null) {
+      changed |= !Objects.equals(category.getColor(), update.color());
       category.setColor(update.color());
     }
 
-    return categoryRepository.save(category);
+    Category saved = categoryRepository.save(category);
+    if (changed) {
+      taskRepository.touchByCategoryId(id, LocalDateTime.now());
+    }
+    categoryCache.evict(category.getUser().getId());
+    dataVersionService.bump(category.getUser().getId());
+    eventPublisher.publishEvent(
+        new ChangeEvent(category.getUser().getId(), ChangeType.CATEGORY_UPDATED, id));
+    return saved;
   }
 }
@@ -23,9 +23,12 @@ public class CustomUserDetailsService implements UserDetailsService {
             .findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-    return org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
-        .password(user.getPassword())
-        .roles(user.getRole())
-        .build();
+    UserDetails details =
+        org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
+            .password(user.getPassword())
+            .roles(user.getRole())
+            .build();
+    return new AuthenticatedUser(
+        user.getId(), details.getUsername(), details.getPassword(), details.getAuthorities());
   }
 }
@@ -0,0 +1,77 @@
+package com.example.todolist.service;
+
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.repository.UserDataVersion;
+import com.example.todolist.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Versions of what the task and category endpoints return, read without loading any task or
+ * category. Lists are versioned by the per-user {@code data_version} counter, which every task and
+ * category write bumps in its own transaction; a single task by its {@code updated_at}.
+ */
+@Service
+public class DataVersionService {
+
+  private final UserRepository userRepository;
+  private final TaskRepository taskRepository;
+  private final UserService userService;
+
+  public DataVersionService(
+      UserRepository userRepository, TaskRepository taskRepository, UserService userService) {
+    this.userRepository = userRepository;
+    this.taskRepository = taskRepository;
+    this.userService = userService;
+  }
+
+  @Transactional
+  public void bump(UUID userId) {
+    if (userId != null) {
+      userRepository.incrementDataVersion(userId, LocalDateTime.now());
+    }
+  }
+
+  @Transactional
+  public void bump(Collection<UUID> userIds) {
+    userIds.stream().distinct().forEach(this::bump);
+  }
+
+  /** Version of the current user's task and category lists. */
+  @Transactional(readOnly = true)
+  public ResourceVersion current() {
+    UserDataVersion version =
+        userRepository
+            .findDataVersion(userService.getCurrentUser().getId())
+            .orElseThrow(() -> new IllegalArgumentException("User not found"));
+    return new ResourceVersion(
+        "\"" + version.version() + "-" + Long.toHexString(epochMillis(version.modifiedAt())) + "\"",
+        -1);
+  }
+
+  /** Version of one of the current user's tasks; empty when there is no such task. */
+  @Transactional(readOnly = true)
+  public Optional<ResourceVersion> ofTask(UUID taskId) {
+    return taskRepository
+        .findModifiedAt(taskId, userService.getCurrentUser().getId())
+        .map(
+            modifiedAt ->
+                new ResourceVersion(
+                    "\"" + Long.toHexString(epochMicros(modifiedAt)) + "\"",
+                    epochMillis(modifiedAt)));
+  }
+
+  private static long epochMillis(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  private static long epochMicros(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+  }
+}
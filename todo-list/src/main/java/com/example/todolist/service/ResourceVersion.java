@@ -0,0 +1,12 @@
+package com.example.todolist.service;
+
+/**
+ * Validators of a GET response: a strong entity tag and, when known, the last modification time in
+ * epoch milliseconds ({@code -1} otherwise).
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+  public boolean hasLastModified() {
+    return lastModified >= 0;
+  }
+}
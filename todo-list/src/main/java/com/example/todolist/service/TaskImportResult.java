@@ -0,0 +1,8 @@
+package com.example.todolist.service;
+
+public record TaskImportResult(int importedRows, long elapsedMillis) {
+
+  public long rowsPerSecond() {
+    return elapsedMillis == 0 ? importedRows * 1000L : importedRows * 1000L / elapsedMillis;
+  }
+}
@@ -0,0 +1,230 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskImportProperties;
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.dto.request.CreateTaskRequest;
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Status;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.repository.CategoryRepository;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeType;
+import com.example.todolist.service.search.TaskSearchIndex;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Bulk CSV import. Categories are resolved once per import into a name map, and tasks are written
+ * through {@link TaskJdbcDao#insertAll} in chunks of the configured batch size, so an import costs
+ * a handful of statements per batch instead of three per row. The persistence context is cleared
+ * after every chunk so the search terms written for it do not pile up.
+ *
+ * <p>{@link #importTasksFromCsv} runs the whole file in one transaction and any invalid row rolls
+ * it back. Import jobs use {@link #parseRow} and {@link #importChunk} directly to commit chunk by
+ * chunk and skip invalid rows instead.
+ */
+@Service
+public class TaskImportService {
+
+  private final TaskJdbcDao taskJdbcDao;
+  private final CategoryRepository categoryRepository;
+  private final UserService userService;
+  private final TaskStatsService taskStatsService;
+  private final TaskSearchIndex taskSearchIndex;
+  private final Validator validator;
+  private final TaskImportProperties properties;
+  private final EntityManager entityManager;
+  private final DataVersionService dataVersionService;
+  private final ApplicationEventPublisher eventPublisher;
+  private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+  /** One parsed CSV row: either a task ready to insert or the reason the row was rejected. */
+  public record ParsedRow(Task task, String error) {}
+
+  public TaskImportService(
+      TaskJdbcDao taskJdbcDao,
+      CategoryRepository categoryRepository,
+      UserService userService,
+      TaskStatsService taskStatsService,
+      TaskSearchIndex taskSearchIndex,
+      Validator validator,
+      TaskImportProperties properties,
+      EntityManager entityManager,
+      DataVersionService dataVersionService,
+      ApplicationEventPublisher eventPublisher) {
+    this.taskJdbcDao = taskJdbcDao;
+    this.categoryRepository = categoryRepository;
+    this.userService = userService;
+    this.taskStatsService = taskStatsService;
+    this.taskSearchIndex = taskSearchIndex;
+    this.validator = validator;
+    this.properties = properties;
+    this.entityManager = entityManager;
+    this.dataVersionService = dataVersionService;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Transactional
+  public TaskImportResult importTasksFromCsv(MultipartFile file) {
+    long started = System.nanoTime();
+    User user = userService.getCurrentUser();
+    Map<String, Category> categoriesByName = categoriesByName(user.getId());
+
+    int batchSize = batchSize();
+    List<String> validationErrors = new ArrayList<>();
+    List<Task> batch = new ArrayList<>(batchSize);
+    int imported = 0;
+    int rowNum = 1;
+    try (CSVReader reader = openCsv(file.getInputStream())) {
+      reader.readNext();
+      String[] row;
+      while ((row = reader.readNext()) != null) {
+        rowNum++;
+        ParsedRow parsed = parseRow(row, rowNum, user, categoriesByName);
+        if (parsed.error() != null) {
+          validationErrors.add(parsed.error());
+        } else if (validationErrors.isEmpty()) {
+          batch.add(parsed.task());
+          if (batch.size() == batchSize) {
+            imported += importChunk(batch);
+            batch.clear();
+          }
+        }
+      }
+
+      if (!validationErrors.isEmpty()) {
+        throw new RuntimeException(
+            "CSV import failed due to validation errors:\n" + String.join("\n", validationErrors));
+      }
+      imported += importChunk(batch);
+
+    } catch (CsvValidationException e) {
+      throw new RuntimeException("CSV validation failed: ", e);
+    } catch (Exception e) {
+      throw new RuntimeException("CSV import failed: " + e.getMessage(), e);
+    }
+
+    TaskImportResult result =
+        new TaskImportResult(imported, (System.nanoTime() - started) / 1_000_000);
+    log.info(
+        "Imported {} tasks in {} ms ({} rows/s, batch size {})",
+        result.importedRows(),
+        result.elapsedMillis(),
+        result.rowsPerSecond(),
+        batchSize);
+    return result;
+  }
+
+  public int batchSize() {
+    return Math.max(properties.batchSize(), 1);
+  }
+
+  public Map<String, Category> categoriesByName(UUID userId) {
+    Map<String, Category> categoriesByName = new HashMap<>();
+    categoryRepository
+        .findAllByUserId(userId)
+        .forEach(category -> categoriesByName.putIfAbsent(category.getName(), category));
+    return categoriesByName;
+  }
+
+  public static CSVReader openCsv(InputStream in) {
+    return new CSVReaderBuilder(new InputStreamReader(in, StandardCharsets.UTF_8))
+        .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+        .build();
+  }
+
+  public ParsedRow parseRow(
+      String[] row, int rowNum, User user, Map<String, Category> categoriesByName) {
+    CreateTaskRequest dto = new CreateTaskRequest();
+    Category category;
+    try {
+      dto.setTitle(row.length > 0 && row[0] != null && !row[0].isBlank() ? row[0] : null);
+      dto.setDescription(row.length > 1 && row[1] != null && !row[1].isBlank() ? row[1] : null);
+      dto.setStatus(
+          row.length > 2 && row[2] != null && !row[2].isBlank()
+              ? Status.valueOf(row[2])
+              : Status.TODO);
+      dto.setDueDate(
+          row.length > 3 && row[3] != null && !row[3].isBlank()
+              ? LocalDateTime.parse(row[3])
+              : null);
+      category =
+          row.length > 4 && row[4] != null && !row[4].isBlank()
+              ? categoriesByName.get(row[4])
+              : null;
+      dto.setCategoryId(category != null ? category.getId() : null);
+    } catch (IllegalArgumentException | DateTimeParseException ex) {
+      return new ParsedRow(null, rowError(rowNum, row, ex.getMessage()));
+    }
+
+    Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(dto);
+    if (!violations.isEmpty()) {
+      return new ParsedRow(
+          null,
+          rowError(
+              rowNum,
+              row,
+              violations.stream()
+                  .map(ConstraintViolation::getMessage)
+                  .reduce((a, b) -> a + "; " + b)
+                  .orElse("")));
+    }
+
+    Task task = new Task();
+    task.setId(UUID.randomUUID());
+    task.setTitle(dto.getTitle());
+    task.setDescription(dto.getDescription());
+    task.setStatus(dto.getStatus());
+    task.setDueDate(dto.getDueDate());
+    task.setCategory(category);
+    task.setUser(user);
+    return new ParsedRow(task, null);
+  }
+
+  private static String rowError(int rowNum, String[] row, String message) {
+    return "Row " + rowNum + " [" + Arrays.toString(row) + "]: " + message;
+  }
+
+  /** Inserts one chunk of parsed tasks and updates their counters and search terms. */
+  @Transactional
+  public int importChunk(List<Task> tasks) {
+    if (tasks.isEmpty()) {
+      return 0;
+    }
+    List<Task> chunk = List.copyOf(tasks);
+    taskJdbcDao.insertAll(chunk, batchSize());
+    taskStatsService.recordAdded(chunk);
+    taskSearchIndex.index(chunk);
+    List<UUID> userIds =
+        chunk.stream()
+            .filter(task -> task.getUser() != null)
+            .map(task -> task.getUser().getId())
+            .distinct()
+            .toList();
+    dataVersionService.bump(userIds);
+    userIds.forEach(
+        userId ->
+            eventPublisher.publishEvent(new ChangeEvent(userId, ChangeType.TASKS_CHANGED, null)));
+    entityManager.flush();
+    entityManager.clear();
+    return chunk.size();
+  }
+}
@@ -1,88 +1,258 @@
 package com.example.todolist.service;
 
+import com.example.todolist.config.TaskListProperties;
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.dto.request.BulkTaskOperation;
+import com.example.todolist.dto.request.BulkTaskRequest;
 import com.example.todolist.dto.request.CreateTaskRequest;
 import com.example.todolist.dto.request.UpdateTaskRequest;
+import com.example.todolist.dto.response.CategoryTaskCountResponse;
+import com.example.todolist.dto.response.TaskStatsResponse;
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
 import com.example.todolist.entity.User;
+import com.example.todolist.entity.UserTaskStats;
 import com.example.todolist.exception.CategoryNotFoundException;
+import com.example.todolist.exception.InvalidCursorException;
+import com.example.todolist.exception.TaskListTooLargeException;
 import com.example.todolist.exception.TaskNotFoundException;
 import com.example.todolist.repository.CategoryRepository;
+import com.example.todolist.repository.TaskListItem;
 import com.example.todolist.repository.TaskRepository;
-import com.example.todolist.repository.UserRepository;
+import com.example.todolist.repository.TaskRepositoryCustom;
+import com.example.todolist.repository.TaskSearchCriteria;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeType;
 import com.example.todolist.service.filter.TaskFilter;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVReaderBuilder;
+import com.example.todolist.service.pagination.CursorPage;
+import com.example.todolist.service.pagination.TaskCountCache;
+import com.example.todolist.service.pagination.TaskCursor;
+import com.example.todolist.service.pagination.TaskSortKey;
+import com.example.todolist.service.search.TaskSearchIndex;
+import com.example.todolist.service.search.Trigrams;
+import com.example.todolist.service.sync.TaskSyncService;
 import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvValidationException;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class TaskService {
 
+  private static final int EXPORT_FETCH_SIZE = 500;
+
   private final TaskRepository taskRepository;
+  private final TaskJdbcDao taskJdbcDao;
   private final CategoryRepository categoryRepository;
-  private final UserRepository userRepository;
   private final UserService userService;
-  private final Validator validator;
+  private final TaskStatsService taskStatsService;
+  private final TaskSearchIndex taskSearchIndex;
+  private final TaskCountCache taskCountCache;
+  private final DataVersionService dataVersionService;
+  private final TaskSyncService taskSyncService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TaskListProperties taskListProperties;
   private static final Logger log = LoggerFactory.getLogger(TaskService.class);
 
   public TaskService(
       TaskRepository taskRepository,
+      TaskJdbcDao taskJdbcDao,
       CategoryRepository categoryRepository,
-      UserRepository userRepository,
       UserService userService,
-      Validator validator) {
+      TaskStatsService taskStatsService,
+      TaskSearchIndex taskSearchIndex,
+      TaskCountCache taskCountCache,
+      DataVersionService dataVersionService,
+      TaskSyncService taskSyncService,
+      ApplicationEventPublisher eventPublisher,
+      TaskListProperties taskListProperties) {
     this.taskRepository = taskRepository;
+    this.taskJdbcDao = taskJdbcDao;
     this.categoryRepository = categoryRepository;
-    this.userRepository = userRepository;
     this.userService = userService;
-    this.validator = validator;
+    this.taskStatsService = taskStatsService;
+    this.taskSearchIndex = taskSearchIndex;
+    this.taskCountCache = taskCountCache;
+    this.dataVersionService = dataVersionService;
+    this.taskSyncService = taskSyncService;
+    this.eventPublisher = eventPublisher;
+    this.taskListProperties = taskListProperties;
   }
 
   @Transactional
   public void deleteTaskById(UUID taskId) {
+    Optional<Task> task = taskRepository.findById(taskId);
     taskRepository.deleteById(taskId);
+    task.ifPresent(taskStatsService::recordRemoved);
+    taskSearchIndex.remove(taskId);
+    task.ifPresent(
+        deleted -> {
+          taskSyncService.recordDeleted(taskId, userIdOf(deleted));
+          dataVersionService.bump(userIdOf(deleted));
+          eventPublisher.publishEvent(
+              new ChangeEvent(userIdOf(deleted), ChangeType.TASK_DELETED, taskId));
+        });
   }
 
+  /**
+   * All tasks of the current user, ordered by id. Reads at most one row more than {@link
+   * TaskListProperties#maxUnpagedTasks()} and fails when that row exists instead of buffering an
+   * unbounded list; {@link #streamAllTasks} has no limit.
+   */
   @Transactional(readOnly = true)
-  public List<Task> getAllTasks() {
+  public List<TaskListItem> getAllTasks() {
     User user = userService.getCurrentUser();
-    return taskRepository.findAllByUserId(user.getId());
+    TaskSearchCriteria criteria =
+        new TaskSearchCriteria(user.getId(), List.of(), null, null, null, null);
+    int limit = taskListProperties.maxUnpagedTasks();
+    Slice<TaskListItem> slice =
+        taskRepository.sliceTasksByFilter(criteria, PageRequest.of(0, limit));
+    if (slice.hasNext()) {
+      throw new TaskListTooLargeException(limit);
+    }
+    return slice.getContent();
   }
 
+  /**
+   * Passes every task of the current user to {@code consumer} in the order of {@link
+   * #getAllTasks()} while the rows are read, so memory use does not grow with the number of tasks.
+   * The transaction, and with it a connection, stays open until the last row is consumed.
+   */
   @Transactional(readOnly = true)
-  public Page<Task> getAllTasks(TaskFilter filter) {
-    UUID userId = userService.getCurrentUser().getId();
+  public void streamAllTasks(Consumer<TaskListItem> consumer) {
+    taskJdbcDao.streamListItems(userService.getCurrentUser().getId(), EXPORT_FETCH_SIZE, consumer);
+  }
+
+  /**
+   * Offset page of the current user's tasks. The rows are read as a slice; the total comes from
+   * {@link #totalOf} instead of a COUNT query per page.
+   */
+  @Transactional(readOnly = true)
+  public Page<TaskListItem> getAllTasks(TaskFilter filter) {
+    TaskSearchCriteria criteria = toSearchCriteria(userService.getCurrentUser().getId(), filter);
+    PageRequest pageRequest = toPageRequest(filter, criteria);
+    Slice<TaskListItem> slice = taskRepository.sliceTasksByFilter(criteria, pageRequest);
+    return new PageImpl<>(slice.getContent(), pageRequest, totalOf(criteria, pageRequest, slice));
+  }
+
+  /** Offset page of the current user's tasks that only tells whether a next page exists. */
+  @Transactional(readOnly = true)
+  public Slice<TaskListItem> getTaskSlice(TaskFilter filter) {
+    TaskSearchCriteria criteria = toSearchCriteria(userService.getCurrentUser().getId(), filter);
+    return taskRepository.sliceTasksByFilter(criteria, toPageRequest(filter, criteria));
+  }
+
+  /**
+   * Total number of tasks for a page-number bar. It is exact and free on the last page, and read
+   * from the per-category counters when only status and category are filtered. Keyword and due-date
+   * filters reuse a recently cached COUNT, which may lag behind writes by the cache's time to live;
+   * it is never reported below the rows already known to exist.
+   */
+  private long totalOf(
+      TaskSearchCriteria criteria, PageRequest pageRequest, Slice<TaskListItem> slice) {
+    long seen = pageRequest.getOffset() + slice.getNumberOfElements();
+    if (!slice.hasNext() && (slice.hasContent() || pageRequest.getPageNumber() == 0)) {
+      return seen;
+    }
+    OptionalLong counted =
+        criteria.hasKeyword() || criteria.dueAfter() != null || criteria.dueBefore() != null
+            ? OptionalLong.empty()
+            : taskStatsService.countTasks(
+                criteria.userId(), criteria.status(), criteria.categoryId());
+    long total =
+        counted.isPresent()
+            ? counted.getAsLong()
+            : taskCountCache.get(criteria, taskRepository::countTasksByFilter);
+    return slice.hasNext() ? Math.max(total, seen + 1) : total;
+  }
+
+  private PageRequest toPageRequest(TaskFilter filter, TaskSearchCriteria criteria) {
     int page = Math.max(filter.getPage(), 0);
     int size = Math.max(filter.getSize(), 1);
-    String keyword =
-        (filter.getTitle() != null && !filter.getTitle().isBlank()) ? filter.getTitle() : "";
     String sortProperty =
-        (filter.getSort() == null || filter.getSort().isBlank()) ? "title" : filter.getSort();
+        (filter.getSort() == null || filter.getSort().isBlank())
+            ? (criteria.hasKeyword() ? TaskRepositoryCustom.RELEVANCE : "title")
+            : filter.getSort();
     Sort.Direction dir =
-        "desc".equalsIgnoreCase(filter.getDirection()) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        "desc".equalsIgnoreCase(filter.getDirection())
+                || (TaskRepositoryCustom.RELEVANCE.equals(sortProperty)
+                    && (filter.getDirection() == null || filter.getDirection().isBlank()))
+            ? Sort.Direction.DESC
+            : Sort.Direction.ASC;
     Sort sortObj = Sort.by(dir, sortProperty);
-    PageRequest pageRequest = PageRequest.of(page, size, sortObj);
+    return PageRequest.of(page, size, sortObj);
+  }
 
+  @Transactional(readOnly = true)
+  public CursorPage<TaskListItem> getAllTasksByCursor(TaskFilter filter) {
+    TaskSearchCriteria criteria = toSearchCriteria(userService.getCurrentUser().getId(), filter);
+    int size = Math.max(filter.getSize(), 1);
+    TaskSortKey sortKey = keysetSortKey(filter.getSort());
+    Sort.Direction dir =
+        "desc".equalsIgnoreCase(filter.getDirection()) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+    TaskCursor cursor =
+        (filter.getCursor() != null && !filter.getCursor().isBlank())
+            ? TaskCursor.decode(filter.getCursor())
+            : null;
+    if (cursor != null && (cursor.sortKey() != sortKey || cursor.direction() != dir)) {
+      throw new InvalidCursorException("Cursor does not match the requested sort order");
+    }
+    boolean backward = cursor != null && cursor.backward();
+
+    List<TaskListItem> tasks =
+        new ArrayList<>(
+            taskRepository.seekTasksByFilter(
+                criteria,
+                sortKey.getProperty(),
+                dir,
+                cursor != null ? cursor.value() : null,
+                cursor != null ? cursor.id() : null,
+                backward,
+                size + 1));
+    boolean hasMore = tasks.size() > size;
+    if (hasMore) {
+      tasks.remove(size);
+    }
+    if (backward) {
+      Collections.reverse(tasks);
+    }
+    if (tasks.isEmpty()) {
+      return new CursorPage<>(tasks, size, null, null);
+    }
+
+    boolean hasNext = backward || hasMore;
+    boolean hasPrevious = backward ? hasMore : cursor != null;
+    String next =
+        hasNext ? TaskCursor.at(tasks.get(tasks.size() - 1), sortKey, dir, false).encode() : null;
+    String prev = hasPrevious ? TaskCursor.at(tasks.get(0), sortKey, dir, true).encode() : null;
+    return new CursorPage<>(tasks, size, next, prev);
+  }
+
+  private static TaskSortKey keysetSortKey(String sort) {
+    try {
+      return TaskSortKey.fromProperty((sort == null || sort.isBlank()) ? "title" : sort);
+    } catch (IllegalArgumentException ex) {
+      throw new InvalidCursorException(ex.getMessage(), ex);
+    }
+  }
+
+  private TaskSearchCriteria toSearchCriteria(UUID userId, TaskFilter filter) {
     LocalDateTime dueAfter =
         filter.getDueAfter() != null ? filter.getDueAfter().atStartOfDay() : null;
     LocalDateTime dueBefore =
@@ -95,9 +265,65 @@ public class TaskService {
     } catch (IllegalArgumentException ex) {
       log.warn("Invalid status filter '{}', skipping status filter", filter.getStatus());
     }
+    return new TaskSearchCriteria(
+        userId,
+        Trigrams.keywords(filter.getTitle()),
+        status,
+        filter.getCategoryId(),
+        dueAfter,
+        dueBefore);
+  }
+
+  /**
+   * Runs {@code request} as one set-based UPDATE or DELETE over the current user's tasks and
+   * returns the number of affected tasks. Counters are rebuilt when statuses or categories changed;
+   * search terms of deleted tasks are removed with them.
+   */
+  @Transactional
+  public int bulkUpdate(BulkTaskRequest request) {
+    UUID userId = userService.getCurrentUser().getId();
+    TaskSearchCriteria criteria =
+        request.getFilter() != null
+            ? toSearchCriteria(userId, request.getFilter())
+            : new TaskSearchCriteria(userId, List.of(), null, null, null, null);
+    List<UUID> ids = request.getFilter() != null ? null : request.getIds();
+
+    int affected =
+        switch (request.getOperation()) {
+          case SET_STATUS ->
+              taskRepository.updateTasksByFilter(criteria, ids, "status", request.getStatus());
+          case SET_CATEGORY ->
+              taskRepository.updateTasksByFilter(
+                  criteria, ids, "category", findOwnCategory(userId, request.getCategoryId()));
+          case SET_DUE_DATE ->
+              taskRepository.updateTasksByFilter(criteria, ids, "dueDate", request.getDueDate());
+          case DELETE -> taskRepository.deleteTasksByFilter(criteria, ids);
+        };
+    if (affected > 0 && request.getOperation() != BulkTaskOperation.SET_DUE_DATE) {
+      taskStatsService.rebuild(userId);
+    }
+    if (affected > 0 && request.getOperation() == BulkTaskOperation.DELETE) {
+      taskSyncService.pruneDeletions(userId);
+    }
+    if (affected > 0) {
+      dataVersionService.bump(userId);
+      eventPublisher.publishEvent(new ChangeEvent(userId, ChangeType.TASKS_CHANGED, null));
+    }
+    return affected;
+  }
+
+  private Category findOwnCategory(UUID userId, UUID categoryId) {
+    if (categoryId == null) {
+      return null;
+    }
+    return categoryRepository
+        .findById(categoryId)
+        .filter(category -> category.getUser().getId().equals(userId))
+        .orElseThrow(() -> new CategoryNotFoundException("id", categoryId));
+  }
 
-    return taskRepository.searchTasksByFilter(
-        userId, keyword, status, filter.getCategoryId(), dueAfter, dueBefore, pageRequest);
+  private static UUID userIdOf(Task task) {
+    return task.getUser() != null ? task.getUser().getId() : null;
   }
 
   @Transactional(readOnly = true)
@@ -111,6 +337,10 @@ public class TaskService {
   public Task updateTask(UUID taskId, UpdateTaskRequest dto) {
     Task task =
         taskRepository.findById(taskId).orElseThrow(() -> new TaskNotFoundException("id", taskId));
+    UUID previousCategoryId = task.getCategory() != null ? task.getCategory().getId() : null;
+    Status previousStatus = task.getStatus();
+    String previousTitle = task.getTitle();
+    String previousDescription = task.getDescription();
 
     task.setTitle(dto.getTitle());
     if (dto.getDescription() != null) {
@@ -130,7 +360,16 @@ public class TaskService {
       task.setCategory(category);
     }
 
-    return taskRepository.save(task);
+    Task saved = taskRepository.save(task);
+    taskStatsService.recordChanged(previousCategoryId, previousStatus, saved);
+    if (!Objects.equals(previousTitle, saved.getTitle())
+        || !Objects.equals(previousDescription, saved.getDescription())) {
+      taskSearchIndex.index(saved);
+    }
+    dataVersionService.bump(userIdOf(saved));
+    eventPublisher.publishEvent(
+        new ChangeEvent(userIdOf(saved), ChangeType.TASK_UPDATED, saved.getId()));
+    return saved;
   }
 
   @Transactional
@@ -148,35 +387,52 @@ public class TaskService {
             .orElseThrow(() -> new CategoryNotFoundException("id", dto.getCategoryId()));
     task.setCategory(category);
 
-    String email = SecurityContextHolder.getContext().getAuthentication().getName();
-    User user =
-        userRepository
-            .findByEmail(email)
-            .orElseThrow(() -> new IllegalArgumentException("User not found"));
-    task.setUser(user);
+    task.setUser(userService.getCurrentUser());
 
-    return taskRepository.save(task);
+    Task saved = taskRepository.save(task);
+    taskStatsService.recordAdded(saved);
+    taskSearchIndex.index(saved);
+    dataVersionService.bump(userIdOf(saved));
+    eventPublisher.publishEvent(
+        new ChangeEvent(userIdOf(saved), ChangeType.TASK_CREATED, saved.getId()));
+    return saved;
   }
 
   @Transactional(readOnly = true)
-  public Map<String, Object> getStats() {
+  public TaskStatsResponse getStats() {
     UUID userId = userService.getCurrentUser().getId();
-    Map<String, Object> stats = new HashMap<>();
-
-    long total = taskRepository.countByUserId(userId);
-    long todo = taskRepository.countByUserIdAndStatus(userId, Status.TODO);
-    long inProgress = taskRepository.countByUserIdAndStatus(userId, Status.IN_PROGRESS);
-    long done = taskRepository.countByUserIdAndStatus(userId, Status.DONE);
+    List<UserTaskStats> counters = taskStatsService.getCounters(userId);
+    Map<UUID, String> categoryNames = new HashMap<>();
+    categoryRepository
+        .findAllByUserId(userId)
+        .forEach(category -> categoryNames.put(category.getId(), category.getName()));
+
+    long total = 0;
+    long todo = 0;
+    long inProgress = 0;
+    long done = 0;
+    List<CategoryTaskCountResponse> categories = new ArrayList<>();
+    for (UserTaskStats row : counters) {
+      total += row.getTotal();
+      todo += row.getTodo();
+      inProgress += row.getInProgress();
+      done += row.getDone();
+      if (row.hasCategory() && row.getTotal() > 0) {
+        categories.add(
+            new CategoryTaskCountResponse(
+                row.getCategoryId(),
+                categoryNames.get(row.getCategoryId()),
+                row.getTotal(),
+                row.getDone()));
+      }
+    }
+    long overdue =
+        taskRepository.countByUserIdAndStatusNotAndDueDateBefore(
+            userId, Status.DONE, LocalDateTime.now());
 
     int percentDone = (total == 0) ? 0 : (int) Math.round(100.0 * done / total);
 
-    stats.put("totalTasks", total);
-    stats.put("todoTasks", todo);
-    stats.put("inProgressTasks", inProgress);
-    stats.put("doneTasks", done);
-    stats.put("percentDone", percentDone);
-
-    return stats;
+    return new TaskStatsResponse(total, todo, inProgress, done, overdue, percentDone, categories);
   }
 
   @Transactional(readOnly = true)
@@ -185,13 +441,12 @@ public class TaskService {
         userService.getCurrentUser().getId(), PageRequest.of(0, 5));
   }
 
-  @Transactional
+  @Transactional(readOnly = true)
   public void exportTasksToCSV(HttpServletResponse response) {
     response.setContentType("text/csv; charset=UTF-8");
     response.setHeader("Content-Disposition", "attachment; filename=\"tasks.csv\"");
 
-    User user = userService.getCurrentUser();
-    List<Task> tasks = taskRepository.findAllByUserId(user.getId());
+    UUID userId = userService.getCurrentUser().getId();
 
     try (OutputStreamWriter osw =
             new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
@@ -203,99 +458,21 @@ public class TaskService {
                 CSVWriter.DEFAULT_ESCAPE_CHARACTER,
                 CSVWriter.DEFAULT_LINE_END)) {
       writer.writeNext(new String[] {"title", "description", "status", "dueDate", "categoryName"});
-      for (Task t : tasks) {
-        writer.writeNext(
-            new String[] {
-              t.getTitle() != null ? t.getTitle() : "",
-              t.getDescription() != null ? t.getDescription() : "",
-              t.getStatus() != null ? t.getStatus().name() : "",
-              t.getDueDate() != null ? t.getDueDate().toString() : "",
-              t.getCategory() != null ? t.getCategory().getName() : ""
-            });
-      }
+      taskJdbcDao.streamExportRows(
+          userId,
+          EXPORT_FETCH_SIZE,
+          row ->
+              writer.writeNext(
+                  new String[] {
+                    row.title() != null ? row.title() : "",
+                    row.description() != null ? row.description() : "",
+                    row.status() != null ? row.status() : "",
+                    row.dueDate() != null ? row.dueDate().toString() : "",
+                    row.categoryName() != null ? row.categoryName() : ""
+                  }));
       writer.flush();
     } catch (Exception ex) {
-      throw new RuntimeException("CSV export failed", ex);
-    }
-  }
-
-  @Transactional
-  public void importTasksFromCsv(MultipartFile file) {
-    User user = userService.getCurrentUser();
-    List<String> validationErrors = new ArrayList<>();
-    int rowNum = 1;
-    try (InputStreamReader isr =
-            new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
-        CSVReader reader =
-            new CSVReaderBuilder(isr)
-                .withCSVParser(new com.opencsv.CSVParserBuilder().withSeparator(';').build())
-                .build()) {
-      String[] header = reader.readNext();
-      String[] row;
-      while ((row = reader.readNext()) != null) {
-        rowNum++;
-
-        CreateTaskRequest dto = new CreateTaskRequest();
-        dto.setTitle(row.length > 0 && row[0] != null && !row[0].isBlank() ? row[0] : null);
-        dto.setDescription(row.length > 1 && row[1] != null && !row[1].isBlank() ? row[1] : null);
-        dto.setStatus(
-            row.length > 2 && row[2] != null && !row[2].isBlank()
-                ? Status.valueOf(row[2])
-                : Status.TODO);
-        dto.setDueDate(
-            row.length > 3 && row[3] != null && !row[3].isBlank()
-                ? LocalDateTime.parse(row[3])
-                : null);
-
-        UUID categoryId = null;
-        if (row.length > 4 && row[4] != null && !row[4].isBlank()) {
-          Category category =
-              categoryRepository.findByNameAndUserId(row[4], user.getId()).orElse(null);
-          if (category != null) {
-            categoryId = category.getId();
-          }
-        }
-        dto.setCategoryId(categoryId);
-
-        Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(dto);
-        if (!violations.isEmpty()) {
-          String err =
-              "Row "
-                  + rowNum
-                  + " ["
-                  + Arrays.toString(row)
-                  + "]: "
-                  + violations.stream()
-                      .map(ConstraintViolation::getMessage)
-                      .reduce((a, b) -> a + "; " + b)
-                      .orElse("");
-          validationErrors.add(err);
-          continue;
-        }
-
-        Task task = new Task();
-        task.setTitle(dto.getTitle());
-        task.setDescription(dto.getDescription());
-        task.setStatus(dto.getStatus());
-        task.setDueDate(dto.getDueDate());
-
-        if (categoryId != null) {
-          Category category = categoryRepository.findById(categoryId).orElse(null);
-          task.setCategory(category);
-        }
-        task.setUser(user);
-        taskRepository.save(task);
-      }
-
-      if (!validationErrors.isEmpty()) {
-        throw new RuntimeException(
-            "CSV import failed due to validation errors:\n" + String.join("\n", validationErrors));
-      }
-
-    } catch (CsvValidationException e) {
-      throw new RuntimeException("CSV validation failed: ", e);
-    } catch (Exception e) {
-      throw new RuntimeException("CSV import failed: " + e.getMessage(), e);
+      throw new RuntimeException("CSV export failed: " + ex.getMessage(), ex);
     }
   }
 }
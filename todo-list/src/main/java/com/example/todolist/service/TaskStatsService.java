@@ -0,0 +1,233 @@
+package com.example.todolist.service;
+
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Status;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.entity.UserTaskStats;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.repository.TaskStatsRow;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.repository.UserTaskStatsRepository;
+import java.time.LocalDateTime;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the {@code user_task_stats} counters in step with task writes. There is one row per user
+ * and category (plus one row keyed {@link UserTaskStats#NO_CATEGORY} for uncategorized tasks), so
+ * dashboard reads are bounded by the number of categories rather than the number of tasks. Every
+ * method joins the caller's transaction and must run after the task write it records. Counters are
+ * seeded when a user registers; users without any rows are skipped on write and aggregated from
+ * {@code tasks} on read. Rebuilds and inserts of missing rows lock the user's row first, so
+ * concurrent requests never create duplicate rows; {@link #rebuild(UUID)} also serves as the repair
+ * path if counters ever drift.
+ */
+@Service
+public class TaskStatsService {
+
+  private final UserTaskStatsRepository statsRepository;
+  private final TaskRepository taskRepository;
+  private final UserRepository userRepository;
+  private final TransactionTemplate transactionTemplate;
+  private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+  public TaskStatsService(
+      UserTaskStatsRepository statsRepository,
+      TaskRepository taskRepository,
+      UserRepository userRepository,
+      PlatformTransactionManager transactionManager) {
+    this.statsRepository = statsRepository;
+    this.taskRepository = taskRepository;
+    this.userRepository = userRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Transactional
+  public void recordAdded(Task task) {
+    apply(userIdOf(task), categoryIdOf(task), task.getStatus(), 1);
+  }
+
+  @Transactional
+  public void recordAdded(Collection<Task> tasks) {
+    Map<List<Object>, Long> counts = new LinkedHashMap<>();
+    for (Task task : tasks) {
+      counts.merge(
+          Arrays.asList(userIdOf(task), categoryIdOf(task), task.getStatus()), 1L, Long::sum);
+    }
+    counts.forEach(
+        (key, count) -> apply((UUID) key.get(0), (UUID) key.get(1), (Status) key.get(2), count));
+  }
+
+  @Transactional
+  public void recordRemoved(Task task) {
+    apply(userIdOf(task), categoryIdOf(task), task.getStatus(), -1);
+  }
+
+  @Transactional
+  public void recordChanged(UUID previousCategoryId, Status previousStatus, Task task) {
+    if (Objects.equals(previousCategoryId, categoryIdOf(task))
+        && previousStatus == task.getStatus()) {
+      return;
+    }
+    apply(userIdOf(task), previousCategoryId, previousStatus, -1);
+    apply(userIdOf(task), categoryIdOf(task), task.getStatus(), 1);
+  }
+
+  /**
+   * Folds the category's counters into the uncategorized row and deletes them. The user's row is
+   * locked first, so no concurrent increment can land on the category row between the read and the
+   * delete.
+   */
+  @Transactional
+  public void moveToUncategorized(Category category) {
+    if (category.getUser() == null) {
+      return;
+    }
+    UUID userId = category.getUser().getId();
+    userRepository.lockById(userId);
+    statsRepository
+        .findByUserIdAndCategoryId(userId, category.getId())
+        .ifPresent(
+            stats -> {
+              increment(
+                  userId,
+                  null,
+                  stats.getTotal(),
+                  stats.getTodo(),
+                  stats.getInProgress(),
+                  stats.getDone());
+              statsRepository.delete(stats);
+            });
+  }
+
+  /** Creates the empty uncategorized row that marks a new user's counters as maintained. */
+  @Transactional
+  public void seed(UUID userId) {
+    statsRepository.save(newCounters(userId, null));
+  }
+
+  @Transactional(readOnly = true)
+  public List<UserTaskStats> getCounters(UUID userId) {
+    List<UserTaskStats> counters = statsRepository.findAllByUserId(userId);
+    return counters.isEmpty() ? aggregate(userId) : counters;
+  }
+
+  /**
+   * Number of the user's tasks with {@code status} in {@code categoryId}, either of which may be
+   * null to count them all, read from the counters. Empty when the user has no counters yet.
+   */
+  @Transactional(readOnly = true)
+  public OptionalLong countTasks(UUID userId, Status status, UUID categoryId) {
+    List<UserTaskStats> counters = statsRepository.findAllByUserId(userId);
+    if (counters.isEmpty()) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(
+        counters.stream()
+            .filter(stats -> categoryId == null || categoryId.equals(stats.getCategoryId()))
+            .mapToLong(
+                stats ->
+                    status == null
+                        ? stats.getTotal()
+                        : switch (status) {
+                          case TODO -> stats.getTodo();
+                          case IN_PROGRESS -> stats.getInProgress();
+                          case DONE -> stats.getDone();
+                        })
+            .sum());
+  }
+
+  @Transactional
+  public List<UserTaskStats> rebuild(UUID userId) {
+    userRepository.lockById(userId);
+    statsRepository.deleteAllByUserId(userId);
+    return statsRepository.saveAll(aggregate(userId));
+  }
+
+  private List<UserTaskStats> aggregate(UUID userId) {
+    Map<UUID, UserTaskStats> byCategory = new LinkedHashMap<>();
+    byCategory.put(UserTaskStats.NO_CATEGORY, newCounters(userId, null));
+    for (TaskStatsRow row : taskRepository.aggregateStatsByUserId(userId, LocalDateTime.now())) {
+      UserTaskStats stats =
+          byCategory.computeIfAbsent(
+              categoryKey(row.getCategoryId()), id -> newCounters(userId, id));
+      long count = row.getTotal() != null ? row.getTotal() : 0;
+      stats.setTotal(stats.getTotal() + count);
+      switch (row.getStatus()) {
+        case TODO -> stats.setTodo(stats.getTodo() + count);
+        case IN_PROGRESS -> stats.setInProgress(stats.getInProgress() + count);
+        case DONE -> stats.setDone(stats.getDone() + count);
+      }
+    }
+    return new ArrayList<>(byCategory.values());
+  }
+
+  /**
+   * Rebuilds every user's counters, each in its own transaction, so a user's row is locked only
+   * while their own counters are rebuilt and a failure keeps the rebuilds committed before it.
+   */
+  public int rebuildAll() {
+    List<UUID> userIds = userRepository.findAll().stream().map(User::getId).toList();
+    for (UUID userId : userIds) {
+      transactionTemplate.executeWithoutResult(status -> rebuild(userId));
+    }
+    log.info("Rebuilt task counters for {} users", userIds.size());
+    return userIds.size();
+  }
+
+  private void apply(UUID userId, UUID categoryId, Status status, long delta) {
+    if (userId == null || status == null) {
+      return;
+    }
+    increment(
+        userId,
+        categoryId,
+        delta,
+        status == Status.TODO ? delta : 0,
+        status == Status.IN_PROGRESS ? delta : 0,
+        status == Status.DONE ? delta : 0);
+  }
+
+  private void increment(
+      UUID userId, UUID categoryId, long total, long todo, long inProgress, long done) {
+    UUID key = categoryKey(categoryId);
+    if (statsRepository.increment(userId, key, total, todo, inProgress, done) > 0
+        || !statsRepository.existsByUserId(userId)) {
+      return;
+    }
+    userRepository.lockById(userId);
+    if (statsRepository.increment(userId, key, total, todo, inProgress, done) == 0) {
+      UserTaskStats stats = newCounters(userId, key);
+      stats.setTotal(total);
+      stats.setTodo(todo);
+      stats.setInProgress(inProgress);
+      stats.setDone(done);
+      statsRepository.saveAndFlush(stats);
+    }
+  }
+
+  private static UserTaskStats newCounters(UUID userId, UUID categoryId) {
+    UserTaskStats stats = new UserTaskStats();
+    stats.setUserId(userId);
+    stats.setCategoryId(categoryKey(categoryId));
+    return stats;
+  }
+
+  private static UUID categoryKey(UUID categoryId) {
+    return categoryId != null ? categoryId : UserTaskStats.NO_CATEGORY;
+  }
+
+  private static UUID userIdOf(Task task) {
+    return task.getUser() != null ? task.getUser().getId() : null;
+  }
+
+  private static UUID categoryIdOf(Task task) {
+    return task.getCategory() != null ? task.getCategory().getId() : null;
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.todolist.service;
+
+import com.example.todolist.config.TaskListProperties;
+import com.example.todolist.exception.TooManyTaskStreamsException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the streamed task lists open at the same time at {@link
+ * TaskListProperties#maxConcurrentStreams()}. A stream holds its database connection, and so a
+ * bulkhead permit, for as long as the client takes to read it; without the cap a few slow readers
+ * could take every connection. Streams beyond the cap are refused at once rather than queued.
+ */
+@Component
+public class TaskStreamLimiter {
+
+  private final Semaphore permits;
+  private final int limit;
+
+  public TaskStreamLimiter(TaskListProperties properties) {
+    this.limit = Math.max(properties.maxConcurrentStreams(), 1);
+    this.permits = new Semaphore(limit);
+  }
+
+  /**
+   * Takes a permit that the caller must close once the stream ends, whichever way it ends. Closing
+   * it again is a no-op, so every path that can end a stream may close it.
+   */
+  public Permit acquire() {
+    if (!permits.tryAcquire()) {
+      throw new TooManyTaskStreamsException(limit);
+    }
+    return new Permit();
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  /** One open stream's share of the limit. */
+  public final class Permit implements AutoCloseable {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit() {}
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        permits.release();
+      }
+    }
+  }
+}
@@ -4,6 +4,7 @@ import com.example.todolist.dto.request.RegisterRequest;
 import com.example.todolist.entity.User;
 import com.example.todolist.exception.UserAlreadyExistsException;
 import com.example.todolist.repository.UserRepository;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -14,10 +15,13 @@ public class UserService {
 
   private final UserRepository userRepository;
   private final PasswordEncoder encoder;
+  private final TaskStatsService taskStatsService;
 
-  public UserService(UserRepository userRepository, PasswordEncoder encoder) {
+  public UserService(
+      UserRepository userRepository, PasswordEncoder encoder, TaskStatsService taskStatsService) {
     this.userRepository = userRepository;
     this.encoder = encoder;
+    this.taskStatsService = taskStatsService;
   }
 
   @Transactional
@@ -34,14 +38,23 @@ public class UserService {
     user.setPassword(encoder.encode(registerDTO.getPassword()));
     user.setRole("USER");
 
-    userRepository.save(user);
+    User saved = userRepository.save(user);
+    taskStatsService.seed(saved.getId());
   }
 
+  /**
+   * Returns the logged-in user. When the principal is an {@link AuthenticatedUser} this is an
+   * uninitialized reference built from the id it carries, so no query is issued unless a field
+   * other than the id is read.
+   */
   @Transactional(readOnly = true)
   public User getCurrentUser() {
-    String email = SecurityContextHolder.getContext().getAuthentication().getName();
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+      return userRepository.getReferenceById(principal.getId());
+    }
     return userRepository
-        .findByEmail(email)
+        .findByEmail(authentication.getName())
         .orElseThrow(() -> new IllegalArgumentException("User not found"));
   }
 }
@@ -0,0 +1,11 @@
+package com.example.todolist.service.events;
+
+import java.util.UUID;
+
+/**
+ * A committed change to a user's tasks or categories, published with Spring's {@code
+ * ApplicationEventPublisher} by the write paths and pushed to the user's open feeds by {@link
+ * ChangeFeed}. {@code id} is the changed task or category, or null for {@link
+ * ChangeType#TASKS_CHANGED}.
+ */
+public record ChangeEvent(UUID userId, ChangeType type, UUID id) {}
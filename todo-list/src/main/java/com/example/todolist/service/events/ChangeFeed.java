@@ -0,0 +1,234 @@
+package com.example.todolist.service.events;
+
+import com.example.todolist.config.ChangeFeedProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes {@link ChangeEvent}s to the open server-sent event streams of their user. Events arrive
+ * after the publishing transaction commits and are only queued on the publishing thread; each
+ * subscriber has its own queue of {@code todo.change-feed.buffer-size} events, drained by a sender
+ * thread while it is non-empty, so a slow client never blocks a write. A subscriber whose queue is
+ * full is disconnected instead of buffering without bound.
+ *
+ * <p>Every event carries an id from one sequence, and the last id published to each user is kept
+ * for {@code todo.change-feed.tracked-users} users. A browser reconnecting with a {@code
+ * Last-Event-ID} other than its user's last id has missed events, because it was dropped or the
+ * server restarted, and is sent a {@code resync} event first; a reconnect after a plain timeout is
+ * not. Beyond {@code todo.change-feed.max-subscriptions-per-user} the oldest feed is sent a {@code
+ * stop} event, which tells the browser not to reconnect. Open subscribers and dropped ones are
+ * published as the {@code todo.change-feed.subscribers} and {@code todo.change-feed.dropped}
+ * meters.
+ */
+@Component
+public class ChangeFeed {
+
+  private final ChangeFeedProperties properties;
+  private final ExecutorService senders;
+  private final Map<UUID, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  private final AtomicInteger open = new AtomicInteger();
+  private final AtomicLong sequence = new AtomicLong();
+  private final Cache<UUID, Long> lastEventIds;
+  private final Counter dropped;
+  private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+  @Autowired
+  public ChangeFeed(
+      ChangeFeedProperties properties,
+      MeterRegistry meterRegistry,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    this(properties, meterRegistry, newSenders(virtualThreads));
+  }
+
+  ChangeFeed(
+      ChangeFeedProperties properties, MeterRegistry meterRegistry, ExecutorService senders) {
+    this.properties = properties;
+    this.senders = senders;
+    meterRegistry.gauge("todo.change-feed.subscribers", open);
+    this.dropped = meterRegistry.counter("todo.change-feed.dropped");
+    this.lastEventIds =
+        Caffeine.newBuilder().maximumSize(Math.max(properties.trackedUsers(), 1)).build();
+  }
+
+  /** A sender thread per subscriber with queued events; senders block on slow sockets. */
+  private static ExecutorService newSenders(boolean virtualThreads) {
+    ThreadFactory threadFactory =
+        virtualThreads
+            ? Thread.ofVirtual().name("change-feed-", 1).factory()
+            : Thread.ofPlatform().name("change-feed-", 1).daemon().factory();
+    return Executors.newThreadPerTaskExecutor(threadFactory);
+  }
+
+  /**
+   * Opens a feed of the user's changes, stopping their oldest feed beyond the configured limit.
+   * {@code lastEventId} is the {@code Last-Event-ID} header of a reconnecting browser, or null.
+   */
+  public SseEmitter subscribe(UUID userId, String lastEventId) {
+    Subscriber subscriber = new Subscriber(userId, new SseEmitter(properties.timeout().toMillis()));
+    subscriber.emitter.onCompletion(() -> remove(subscriber));
+    subscriber.emitter.onTimeout(() -> remove(subscriber));
+    subscriber.emitter.onError(error -> remove(subscriber));
+
+    Deque<Subscriber> own =
+        subscribers.compute(
+            userId,
+            (id, existing) -> {
+              Deque<Subscriber> feeds = existing != null ? existing : new ConcurrentLinkedDeque<>();
+              feeds.addLast(subscriber);
+              return feeds;
+            });
+    open.incrementAndGet();
+    long current = lastEventIds.get(userId, id -> sequence.get());
+    subscriber.start(current, lastEventId != null && !lastEventId.equals(Long.toString(current)));
+    Subscriber oldest;
+    while (own.size() > Math.max(properties.maxSubscriptionsPerUser(), 1)
+        && (oldest = own.peekFirst()) != null) {
+      oldest.stop();
+    }
+    return subscriber.emitter;
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void publish(ChangeEvent event) {
+    long id = sequence.incrementAndGet();
+    lastEventIds.asMap().merge(event.userId(), id, Math::max);
+    Deque<Subscriber> own = subscribers.get(event.userId());
+    if (own != null) {
+      own.forEach(subscriber -> subscriber.offer(new QueuedEvent(id, event)));
+    }
+  }
+
+  public int subscriberCount(UUID userId) {
+    Deque<Subscriber> own = subscribers.get(userId);
+    return own != null ? own.size() : 0;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    subscribers.values().forEach(own -> own.forEach(Subscriber::close));
+    senders.shutdownNow();
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscribers.computeIfPresent(
+        subscriber.userId,
+        (id, own) -> {
+          if (own.remove(subscriber)) {
+            open.decrementAndGet();
+          }
+          return own.isEmpty() ? null : own;
+        });
+  }
+
+  private record QueuedEvent(long id, ChangeEvent event) {}
+
+  private final class Subscriber {
+    private final UUID userId;
+    private final SseEmitter emitter;
+    private final Queue<QueuedEvent> queue;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean closed;
+
+    Subscriber(UUID userId, SseEmitter emitter) {
+      this.userId = userId;
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(Math.max(properties.bufferSize(), 1));
+    }
+
+    /** Tells the browser the id it is up to date with, and to reload first if it missed events. */
+    void start(long current, boolean resync) {
+      try {
+        if (resync) {
+          emitter.send(SseEmitter.event().id(Long.toString(current)).name("resync").data(""));
+        } else {
+          emitter.send(SseEmitter.event().id(Long.toString(current)).comment("subscribed"));
+        }
+      } catch (IOException | IllegalStateException ex) {
+        close();
+      }
+    }
+
+    void offer(QueuedEvent event) {
+      if (closed) {
+        return;
+      }
+      if (!queue.offer(event)) {
+        dropped.increment();
+        log.debug("Dropping slow change feed subscriber of user {}", userId);
+        close();
+        return;
+      }
+      if (sending.compareAndSet(false, true)) {
+        try {
+          senders.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+          sending.set(false);
+        }
+      }
+    }
+
+    private void drain() {
+      do {
+        QueuedEvent queued;
+        while (!closed && (queued = queue.poll()) != null) {
+          ChangeEvent event = queued.event();
+          try {
+            emitter.send(
+                SseEmitter.event()
+                    .id(Long.toString(queued.id()))
+                    .name(event.type().name())
+                    .data(event.id() != null ? event.id().toString() : "", MediaType.TEXT_PLAIN));
+          } catch (IOException | IllegalStateException ex) {
+            close();
+          }
+        }
+        sending.set(false);
+      } while (!closed && !queue.isEmpty() && sending.compareAndSet(false, true));
+    }
+
+    /** Closes the feed and tells the browser not to reconnect. */
+    void stop() {
+      if (!closed) {
+        try {
+          emitter.send(SseEmitter.event().name("stop").data(""));
+        } catch (IOException | IllegalStateException ex) {
+          // the feed is closed below either way
+        }
+      }
+      close();
+    }
+
+    void close() {
+      closed = true;
+      queue.clear();
+      remove(this);
+      emitter.complete();
+    }
+  }
+}
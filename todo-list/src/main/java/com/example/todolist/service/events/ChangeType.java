@@ -0,0 +1,12 @@
+package com.example.todolist.service.events;
+
+public enum ChangeType {
+  TASK_CREATED,
+  TASK_UPDATED,
+  TASK_DELETED,
+  /** Any number of tasks changed at once by a bulk operation or an import; there is no id. */
+  TASKS_CHANGED,
+  CATEGORY_CREATED,
+  CATEGORY_UPDATED,
+  CATEGORY_DELETED
+}
@@ -17,4 +17,10 @@ public class TaskFilter {
   private LocalDate dueBefore;
   private int page = 0;
   private int size = 10;
+  private String paging;
+  private String cursor;
+
+  public boolean isKeysetPaging() {
+    return "keyset".equalsIgnoreCase(paging);
+  }
 }
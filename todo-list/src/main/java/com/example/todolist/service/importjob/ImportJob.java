@@ -0,0 +1,111 @@
+package com.example.todolist.service.importjob;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one CSV import job. Written by the worker thread and read by progress requests, so
+ * every field is either final, volatile or atomic.
+ */
+public class ImportJob {
+
+  private final UUID id;
+  private final UUID userId;
+  private final String fileName;
+  private final Instant createdAt = Instant.now();
+  private final int maxErrors;
+  private final AtomicInteger acceptedRows = new AtomicInteger();
+  private final AtomicInteger rejectedRows = new AtomicInteger();
+  private final List<String> errors = new ArrayList<>();
+  private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+  private volatile String message;
+  private volatile Instant finishedAt;
+
+  public ImportJob(UUID id, UUID userId, String fileName, int maxErrors) {
+    this.id = id;
+    this.userId = userId;
+    this.fileName = fileName;
+    this.maxErrors = maxErrors;
+  }
+
+  void start() {
+    status = ImportJobStatus.RUNNING;
+  }
+
+  void accept(int rows) {
+    acceptedRows.addAndGet(rows);
+  }
+
+  void reject(String error) {
+    rejectedRows.incrementAndGet();
+    synchronized (errors) {
+      if (errors.size() < maxErrors) {
+        errors.add(error);
+      }
+    }
+  }
+
+  void complete() {
+    finishedAt = Instant.now();
+    status = ImportJobStatus.COMPLETED;
+  }
+
+  void fail(String message) {
+    this.message = message;
+    finishedAt = Instant.now();
+    status = ImportJobStatus.FAILED;
+  }
+
+  public boolean isFinished() {
+    return finishedAt != null;
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Instant getFinishedAt() {
+    return finishedAt;
+  }
+
+  public ImportJobStatus getStatus() {
+    return status;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public int getAcceptedRows() {
+    return acceptedRows.get();
+  }
+
+  public int getRejectedRows() {
+    return rejectedRows.get();
+  }
+
+  public int getProcessedRows() {
+    return getAcceptedRows() + getRejectedRows();
+  }
+
+  public List<String> getErrors() {
+    synchronized (errors) {
+      return List.copyOf(errors);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package com.example.todolist.service.importjob;
+
+import com.example.todolist.config.TaskImportProperties;
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.exception.ImportJobNotFoundException;
+import com.example.todolist.exception.ImportQueueFullException;
+import com.example.todolist.service.TaskImportService;
+import com.example.todolist.service.UserService;
+import com.opencsv.CSVReader;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Runs CSV imports in the background. An upload is copied to a temporary file and queued on a fixed
+ * pool of {@code todo.import.workers} threads with room for {@code todo.import.queue-capacity}
+ * waiting jobs; further uploads are refused. Each job commits every {@code todo.import.batch-size}
+ * rows in its own transaction and skips invalid rows, recording them as rejected. Jobs live in
+ * memory and are dropped {@code todo.import.job-retention} after they finish.
+ */
+@Service
+public class ImportJobService {
+
+  private final TaskImportService taskImportService;
+  private final UserService userService;
+  private final TaskImportProperties properties;
+  private final ExecutorService executor;
+  private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+  private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+  @Autowired
+  public ImportJobService(
+      TaskImportService taskImportService,
+      UserService userService,
+      TaskImportProperties properties,
+      @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+    this(taskImportService, userService, properties, newWorkerPool(properties, virtualThreads));
+  }
+
+  ImportJobService(
+      TaskImportService taskImportService,
+      UserService userService,
+      TaskImportProperties properties,
+      ExecutorService executor) {
+    this.taskImportService = taskImportService;
+    this.userService = userService;
+    this.properties = properties;
+    this.executor = executor;
+  }
+
+  /**
+   * Worker pool of {@code todo.import.workers} threads. With virtual threads enabled the workers
+   * are virtual, but their number and the queue stay bounded so imports cannot crowd out requests.
+   */
+  private static ExecutorService newWorkerPool(
+      TaskImportProperties properties, boolean virtualThreads) {
+    int workers = Math.max(properties.workers(), 1);
+    ThreadFactory threadFactory =
+        virtualThreads
+            ? Thread.ofVirtual().name("task-import-", 1).factory()
+            : Thread.ofPlatform().name("task-import-", 1).factory();
+    return new ThreadPoolExecutor(
+        workers,
+        workers,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(properties.queueCapacity(), 1)),
+        threadFactory);
+  }
+
+  public ImportJob submit(MultipartFile file) {
+    UUID userId = userService.getCurrentUser().getId();
+    evictFinishedJobs();
+
+    Path upload;
+    try {
+      upload = Files.createTempFile("task-import-", ".csv");
+      file.transferTo(upload);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not store the uploaded file", ex);
+    }
+
+    ImportJob job =
+        new ImportJob(
+            UUID.randomUUID(), userId, file.getOriginalFilename(), properties.maxErrors());
+    jobs.put(job.getId(), job);
+    try {
+      executor.execute(() -> run(job, upload));
+    } catch (RejectedExecutionException ex) {
+      jobs.remove(job.getId());
+      deleteQuietly(upload);
+      throw new ImportQueueFullException();
+    }
+    return job;
+  }
+
+  public ImportJob getJob(UUID jobId) {
+    return findJob(jobId).orElseThrow(() -> new ImportJobNotFoundException(jobId));
+  }
+
+  /** The current user's job, or empty once it has been dropped after {@code job-retention}. */
+  public Optional<ImportJob> findJob(UUID jobId) {
+    UUID userId = userService.getCurrentUser().getId();
+    return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.getUserId().equals(userId));
+  }
+
+  void run(ImportJob job, Path upload) {
+    job.start();
+    User user = new User();
+    user.setId(job.getUserId());
+    int batchSize = taskImportService.batchSize();
+    try (CSVReader reader = TaskImportService.openCsv(Files.newInputStream(upload))) {
+      Map<String, Category> categoriesByName = taskImportService.categoriesByName(user.getId());
+      List<Task> chunk = new ArrayList<>(batchSize);
+      reader.readNext();
+      String[] row;
+      int rowNum = 1;
+      while ((row = reader.readNext()) != null) {
+        rowNum++;
+        TaskImportService.ParsedRow parsed =
+            taskImportService.parseRow(row, rowNum, user, categoriesByName);
+        if (parsed.error() != null) {
+          job.reject(parsed.error());
+          continue;
+        }
+        chunk.add(parsed.task());
+        if (chunk.size() == batchSize) {
+          job.accept(taskImportService.importChunk(chunk));
+          chunk.clear();
+        }
+      }
+      job.accept(taskImportService.importChunk(chunk));
+      job.complete();
+      log.info(
+          "Import job {} finished: {} rows accepted, {} rejected",
+          job.getId(),
+          job.getAcceptedRows(),
+          job.getRejectedRows());
+    } catch (Exception ex) {
+      log.warn("Import job {} failed after {} rows", job.getId(), job.getProcessedRows(), ex);
+      job.fail(ex.getMessage());
+    } finally {
+      deleteQuietly(upload);
+    }
+  }
+
+  private void evictFinishedJobs() {
+    Instant cutoff = Instant.now().minus(properties.jobRetention());
+    jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException ex) {
+      log.debug("Could not delete {}: {}", path, ex.getMessage());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,8 @@
+package com.example.todolist.service.importjob;
+
+public enum ImportJobStatus {
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
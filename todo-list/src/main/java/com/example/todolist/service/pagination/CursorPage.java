@@ -0,0 +1,20 @@
+package com.example.todolist.service.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(List<T> content, int size, String nextCursor, String prevCursor) {
+
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+
+  public boolean hasPrevious() {
+    return prevCursor != null;
+  }
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    List<R> mapped = content.stream().<R>map(mapper).toList();
+    return new CursorPage<>(mapped, size, nextCursor, prevCursor);
+  }
+}
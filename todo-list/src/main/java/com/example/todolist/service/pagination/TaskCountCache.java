@@ -0,0 +1,36 @@
+package com.example.todolist.service.pagination;
+
+import com.example.todolist.config.TaskCountCacheProperties;
+import com.example.todolist.repository.TaskSearchCriteria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.ToLongFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * Task counts by search criteria, bounded by {@link TaskCountCacheProperties}, so paging through
+ * one filtered list runs its COUNT query once rather than once per page. Published as the {@code
+ * cache.*} meters tagged {@code cache=task-counts}.
+ */
+@Component
+public class TaskCountCache {
+  static final String NAME = "task-counts";
+
+  private final Cache<TaskSearchCriteria, Long> cache;
+
+  public TaskCountCache(TaskCountCacheProperties properties, MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.timeToLive())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+  }
+
+  public long get(TaskSearchCriteria criteria, ToLongFunction<TaskSearchCriteria> counter) {
+    return cache.get(criteria, counter::applyAsLong);
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.todolist.service.pagination;
+
+import com.example.todolist.exception.InvalidCursorException;
+import com.example.todolist.repository.TaskListItem;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque keyset position: the sort key and id of the task a page starts or ends at, together with
+ * the ordering it was produced for, so a cursor cannot be replayed against a different sort.
+ */
+public record TaskCursor(
+    TaskSortKey sortKey, Sort.Direction direction, Object value, UUID id, boolean backward) {
+
+  private static final String SEPARATOR = "|";
+  private static final String NULL_VALUE = "N";
+  private static final String PRESENT_VALUE = "V";
+
+  public static TaskCursor at(
+      TaskListItem task, TaskSortKey sortKey, Sort.Direction direction, boolean backward) {
+    return new TaskCursor(sortKey, direction, sortKey.valueOf(task), task.id(), backward);
+  }
+
+  public String encode() {
+    String raw =
+        String.join(
+            SEPARATOR,
+            sortKey.name(),
+            direction.name(),
+            backward ? "B" : "F",
+            id.toString(),
+            value == null ? NULL_VALUE : PRESENT_VALUE + sortKey.format(value));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static TaskCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\" + SEPARATOR, 5);
+      TaskSortKey sortKey = TaskSortKey.valueOf(parts[0]);
+      Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+      boolean backward = "B".equals(parts[2]);
+      UUID id = UUID.fromString(parts[3]);
+      Object value =
+          parts[4].startsWith(PRESENT_VALUE) ? sortKey.parse(parts[4].substring(1)) : null;
+      return new TaskCursor(sortKey, direction, value, id, backward);
+    } catch (RuntimeException ex) {
+      throw new InvalidCursorException("Invalid cursor", ex);
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.todolist.service.pagination;
+
+import com.example.todolist.entity.Status;
+import com.example.todolist.repository.TaskListItem;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public enum TaskSortKey {
+  TITLE("title", TaskListItem::title, value -> value),
+  DESCRIPTION("description", TaskListItem::description, value -> value),
+  STATUS("status", TaskListItem::status, Status::valueOf),
+  DUE_DATE("dueDate", TaskListItem::dueDate, LocalDateTime::parse),
+  CATEGORY_NAME("category.name", TaskListItem::categoryName, value -> value);
+
+  private final String property;
+  private final Function<TaskListItem, Object> extractor;
+  private final Function<String, Object> parser;
+
+  TaskSortKey(
+      String property, Function<TaskListItem, Object> extractor, Function<String, Object> parser) {
+    this.property = property;
+    this.extractor = extractor;
+    this.parser = parser;
+  }
+
+  public String getProperty() {
+    return property;
+  }
+
+  public Object valueOf(TaskListItem task) {
+    return extractor.apply(task);
+  }
+
+  Object parse(String value) {
+    return parser.apply(value);
+  }
+
+  String format(Object value) {
+    return value instanceof Status status ? status.name() : value.toString();
+  }
+
+  public static TaskSortKey fromProperty(String property) {
+    return Arrays.stream(values())
+        .filter(key -> key.property.equals(property))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unsupported sort property: " + property));
+  }
+}
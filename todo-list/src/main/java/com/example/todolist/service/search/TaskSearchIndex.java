@@ -0,0 +1,105 @@
+package com.example.todolist.service.search;
+
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskSearchTerm;
+import com.example.todolist.repository.TaskSearchTermRepository;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the trigram index in {@code task_search_terms} in step with task writes. Each task has one
+ * row per distinct trigram of its title and description; the row weight is 2 for a title trigram, 1
+ * for a description trigram and 3 for both, and is what keyword results are ranked by. Like {@code
+ * TaskStatsService}, every method joins the caller's transaction and must run after the task write
+ * it records. Tasks written before the index existed are picked up once the application is ready,
+ * {@value #MISSING_BATCH_SIZE} per transaction.
+ */
+@Service
+public class TaskSearchIndex {
+
+  static final int TITLE_WEIGHT = 2;
+  static final int DESCRIPTION_WEIGHT = 1;
+  static final int MISSING_BATCH_SIZE = 500;
+
+  private final TaskSearchTermRepository termRepository;
+  private final TransactionTemplate transactionTemplate;
+  private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+  public TaskSearchIndex(
+      TaskSearchTermRepository termRepository, PlatformTransactionManager transactionManager) {
+    this.termRepository = termRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Transactional
+  public void index(Task task) {
+    index(List.of(task));
+  }
+
+  @Transactional
+  public void index(Collection<Task> tasks) {
+    List<UUID> ids = tasks.stream().map(Task::getId).filter(Objects::nonNull).toList();
+    if (ids.isEmpty()) {
+      return;
+    }
+    termRepository.deleteAllByTaskIdIn(ids);
+    List<TaskSearchTerm> terms = new ArrayList<>();
+    for (Task task : tasks) {
+      if (task.getId() != null && task.getUser() != null) {
+        terms.addAll(termsOf(task));
+      }
+    }
+    termRepository.saveAll(terms);
+  }
+
+  @Transactional
+  public void remove(UUID taskId) {
+    termRepository.deleteAllByTaskIdIn(List.of(taskId));
+  }
+
+  /**
+   * Indexes the tasks that have no search terms yet, walking them in id order so a task whose text
+   * yields no trigrams is not picked up again.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void indexMissing() {
+    int indexed = 0;
+    UUID after = new UUID(0, 0);
+    while (after != null) {
+      UUID from = after;
+      List<UUID> ids =
+          transactionTemplate.execute(
+              status -> {
+                List<Task> tasks =
+                    termRepository.findUnindexedTasks(from, Limit.of(MISSING_BATCH_SIZE));
+                index(tasks);
+                return tasks.stream().map(Task::getId).toList();
+              });
+      indexed += ids.size();
+      after = ids.size() < MISSING_BATCH_SIZE ? null : ids.get(ids.size() - 1);
+    }
+    if (indexed > 0) {
+      log.info("Indexed {} tasks for keyword search", indexed);
+    }
+  }
+
+  static List<TaskSearchTerm> termsOf(Task task) {
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    Trigrams.ofDocument(task.getTitle())
+        .forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+    Trigrams.ofDocument(task.getDescription())
+        .forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+    UUID userId = task.getUser().getId();
+    return weights.entrySet().stream()
+        .map(e -> new TaskSearchTerm(task.getId(), userId, e.getKey(), e.getValue()))
+        .toList();
+  }
+}
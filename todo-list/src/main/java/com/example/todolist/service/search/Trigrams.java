@@ -0,0 +1,96 @@
+package com.example.todolist.service.search;
+
+import com.example.todolist.repository.KeywordTerms;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into the trigrams stored in {@code task_search_terms}. Each word is lower-cased,
+ * stripped of diacritics and padded with two leading spaces and one trailing space, so {@code
+ * "Zakupy"} yields {@code " z", " za", "zak", "aku", "kup", "upy", "py "}. Query words are padded
+ * on the left only: the trigrams of a prefix are then a subset of the trigrams of every word it
+ * starts, which gives prefix matching, and a misspelled word still shares most of its trigrams with
+ * the intended one, which gives fuzzy matching. A longer word found inside another one misses only
+ * its two padded trigrams, which {@link #requiredMatches(int)} tolerates; words of three or four
+ * letters are not padded at all, so {@code "ask"} finds {@code "Task"} like a substring search.
+ * Words of one or two letters have no inner trigram and only match word prefixes.
+ */
+public final class Trigrams {
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private Trigrams() {}
+
+  public static Set<String> ofDocument(String text) {
+    return extract(text, true);
+  }
+
+  public static Set<String> ofQuery(String text) {
+    return extract(text, false);
+  }
+
+  /**
+   * Number of query trigrams a task has to contain to count as a match. Queries of up to four
+   * trigrams (a single word of up to four letters) must match exactly; longer ones tolerate about
+   * half of their trigrams being wrong, which covers a typo or transposition.
+   */
+  public static int requiredMatches(int queryTrigrams) {
+    return queryTrigrams <= 4 ? queryTrigrams : (queryTrigrams + 1) / 2;
+  }
+
+  /**
+   * The query trigrams of each word of {@code query} with {@link #requiredMatches(int)} applied per
+   * word, so every word has to match on its own and one word cannot stand in for another. A query
+   * with text but no words, such as {@code "--"}, yields one word without trigrams, which matches
+   * nothing instead of everything. Null or blank queries yield no words.
+   */
+  public static List<KeywordTerms> keywords(String query) {
+    if (query == null || query.isBlank()) {
+      return List.of();
+    }
+    List<KeywordTerms> keywords = new ArrayList<>();
+    for (String word : words(query)) {
+      Set<String> terms = new LinkedHashSet<>();
+      addWord(terms, word, false);
+      keywords.add(new KeywordTerms(terms, requiredMatches(terms.size())));
+    }
+    return keywords.isEmpty() ? List.of(new KeywordTerms(Set.of(), 1)) : keywords;
+  }
+
+  private static final int MAX_INFIX_WORD = 4;
+
+  private static Set<String> extract(String text, boolean document) {
+    Set<String> trigrams = new LinkedHashSet<>();
+    if (text == null) {
+      return trigrams;
+    }
+    for (String word : words(text)) {
+      addWord(trigrams, word, document);
+    }
+    return trigrams;
+  }
+
+  private static List<String> words(String text) {
+    return Arrays.stream(SEPARATORS.split(normalize(text))).filter(w -> !w.isEmpty()).toList();
+  }
+
+  private static void addWord(Set<String> trigrams, String word, boolean document) {
+    boolean infix = !document && word.length() >= 3 && word.length() <= MAX_INFIX_WORD;
+    String padded = infix ? word : "  " + word + (document ? " " : "");
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      trigrams.add(padded.substring(i, i + 3));
+    }
+  }
+
+  static String normalize(String text) {
+    String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+    return MARKS.matcher(decomposed).replaceAll("").replace('ł', 'l');
+  }
+}
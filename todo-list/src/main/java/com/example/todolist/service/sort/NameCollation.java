@@ -0,0 +1,78 @@
+package com.example.todolist.service.sort;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.text.RuleBasedCollator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Locale-aware ordering of names at primary strength, so case and accents only matter where the
+ * language treats them as different letters ({@code "ł"} sorts after {@code "l"} in Polish). One
+ * collator is built per locale and cloned for each use, since {@link Collator} instances are not
+ * thread-safe. Names are compared through their {@link CollationKey}s, computed once per name
+ * instead of on every comparison; {@link #sortKey} persists the same key as bytes whose unsigned
+ * order matches the collation order.
+ *
+ * <p>Stored keys are only comparable with keys from the same collator, and the JDK's collation
+ * rules and key encoding may change between releases. {@link #SORT_KEY_VERSION} identifies the
+ * collator that produced {@link #sortKey}; it is stored next to every key, and keys written under
+ * another version are recomputed.
+ */
+public final class NameCollation {
+
+  public static final Locale POLISH = Locale.forLanguageTag("pl-PL");
+
+  private static final Map<Locale, Collator> COLLATORS = new ConcurrentHashMap<>();
+
+  /** Java feature release plus a hash of the Polish collation rules, e.g. {@code "21:1a2b3c4d"}. */
+  public static final String SORT_KEY_VERSION = sortKeyVersion();
+
+  private NameCollation() {}
+
+  public static Collator collator(Locale locale) {
+    return (Collator)
+        COLLATORS
+            .computeIfAbsent(
+                locale,
+                l -> {
+                  Collator collator = Collator.getInstance(l);
+                  collator.setStrength(Collator.PRIMARY);
+                  return collator;
+                })
+            .clone();
+  }
+
+  public static byte[] sortKey(String name) {
+    return name == null ? null : collator(POLISH).getCollationKey(name).toByteArray();
+  }
+
+  private static String sortKeyVersion() {
+    Collator collator = collator(POLISH);
+    int rules =
+        collator instanceof RuleBasedCollator ruleBased ? ruleBased.getRules().hashCode() : 0;
+    return Runtime.version().feature() + ":" + Integer.toHexString(rules);
+  }
+
+  /** Sorts {@code items} by name, nulls last, or the whole order reversed when descending. */
+  public static <T> List<T> sort(
+      List<T> items, Function<T, String> name, Locale locale, boolean descending) {
+    Collator collator = collator(locale);
+    List<Keyed<T>> keyed = new ArrayList<>(items.size());
+    for (T item : items) {
+      String value = name.apply(item);
+      keyed.add(new Keyed<>(value != null ? collator.getCollationKey(value) : null, item));
+    }
+    Comparator<Keyed<T>> comparator =
+        Comparator.comparing(Keyed::key, Comparator.nullsLast(Comparator.naturalOrder()));
+    keyed.sort(descending ? comparator.reversed() : comparator);
+    return keyed.stream().map(Keyed::item).toList();
+  }
+
+  private record Keyed<T>(CollationKey key, T item) {}
+}
@@ -0,0 +1,64 @@
+package com.example.todolist.service.sync;
+
+import com.example.todolist.exception.InvalidCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Opaque position in a user's changes feed: the change time and task id of the last change a client
+ * has seen. Ids are compared unsigned, the way the database orders UUID columns.
+ */
+public record SyncToken(LocalDateTime time, UUID id) implements Comparable<SyncToken> {
+
+  static final UUID FIRST_ID = new UUID(0, 0);
+
+  private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+  private static final Comparator<SyncToken> ORDER =
+      Comparator.comparing(SyncToken::time)
+          .thenComparing(SyncToken::id, SyncToken::compareUnsigned);
+
+  public SyncToken {
+    time = time.truncatedTo(ChronoUnit.MICROS);
+  }
+
+  /** Position before every change made at or after {@code time}. */
+  public static SyncToken startingAt(LocalDateTime time) {
+    return new SyncToken(time, FIRST_ID);
+  }
+
+  @Override
+  public int compareTo(SyncToken other) {
+    return ORDER.compare(this, other);
+  }
+
+  public String encode() {
+    String raw = ChronoUnit.MICROS.between(EPOCH, time) + "|" + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static SyncToken decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", 2);
+      LocalDateTime time = EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS);
+      return new SyncToken(time, UUID.fromString(parts[1]));
+    } catch (RuntimeException ex) {
+      throw new InvalidCursorException("Invalid sync token", ex);
+    }
+  }
+
+  private static int compareUnsigned(UUID a, UUID b) {
+    int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    return high != 0
+        ? high
+        : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.todolist.service.sync;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of the changes feed: tasks created or updated and ids of tasks deleted after the
+ * request's token. {@code nextToken} continues from here; while {@code hasMore} is set the client
+ * should ask again straight away.
+ */
+public record TaskChanges<T>(
+    List<T> changed, List<UUID> deleted, String nextToken, boolean hasMore) {
+
+  public <R> TaskChanges<R> map(Function<? super T, ? extends R> mapper) {
+    List<R> mapped = changed.stream().<R>map(mapper).toList();
+    return new TaskChanges<>(mapped, deleted, nextToken, hasMore);
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.todolist.service.sync;
+
+import com.example.todolist.config.TaskSyncProperties;
+import com.example.todolist.entity.TaskDeletion;
+import com.example.todolist.exception.SyncTokenExpiredException;
+import com.example.todolist.repository.ChangedTask;
+import com.example.todolist.repository.TaskDeletionRepository;
+import com.example.todolist.repository.TaskListItem;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.UserService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Delta sync for offline clients. A request without a token only starts tracking: the client then
+ * downloads its tasks once and afterwards asks for the changes since the token it got, which are
+ * the tasks whose {@code updated_at} is later plus the {@code task_deletions} tombstones, merged in
+ * (time, id) order. The next token never moves past now minus the configured overlap, on full pages
+ * as well as once caught up, so that a write stamped before the read but committed after it is
+ * still delivered; clients therefore apply changes idempotently and may see the same task twice.
+ * When a full page holds only changes from within the overlap the token cannot advance, so the page
+ * is reported as the last one and the client picks up the rest on its next poll. Tombstones are
+ * pruned on delete after the retention period, and tokens older than that are rejected.
+ */
+@Service
+public class TaskSyncService {
+
+  private final TaskRepository taskRepository;
+  private final TaskDeletionRepository deletionRepository;
+  private final UserService userService;
+  private final TaskSyncProperties properties;
+
+  public TaskSyncService(
+      TaskRepository taskRepository,
+      TaskDeletionRepository deletionRepository,
+      UserService userService,
+      TaskSyncProperties properties) {
+    this.taskRepository = taskRepository;
+    this.deletionRepository = deletionRepository;
+    this.userService = userService;
+    this.properties = properties;
+  }
+
+  /** Writes the tombstone of a task deleted in the caller's transaction. */
+  @Transactional
+  public void recordDeleted(UUID taskId, UUID userId) {
+    if (userId == null) {
+      return;
+    }
+    deletionRepository.save(new TaskDeletion(taskId, userId, LocalDateTime.now()));
+    pruneDeletions(userId);
+  }
+
+  @Transactional
+  public int pruneDeletions(UUID userId) {
+    return deletionRepository.deleteByUserIdAndDeletedAtBefore(
+        userId, LocalDateTime.now().minus(properties.tombstoneRetention()));
+  }
+
+  @Transactional(readOnly = true)
+  public TaskChanges<TaskListItem> getChanges(String since) {
+    UUID userId = userService.getCurrentUser().getId();
+    LocalDateTime now = LocalDateTime.now();
+    SyncToken settled = SyncToken.startingAt(now.minus(properties.overlap()));
+    if (since == null || since.isBlank()) {
+      return new TaskChanges<>(List.of(), List.of(), settled.encode(), false);
+    }
+    SyncToken from = SyncToken.decode(since);
+    if (from.time().isBefore(now.minus(properties.tombstoneRetention()))) {
+      throw new SyncTokenExpiredException();
+    }
+
+    int max = Math.max(properties.maxChanges(), 1);
+    List<ChangedTask> tasks =
+        taskRepository.findChangedAfter(userId, from.time(), from.id(), Limit.of(max + 1));
+    List<TaskDeletion> deletions =
+        deletionRepository.findDeletedAfter(userId, from.time(), from.id(), Limit.of(max + 1));
+
+    List<TaskListItem> changed = new ArrayList<>();
+    List<UUID> deleted = new ArrayList<>();
+    SyncToken last = from;
+    int t = 0;
+    int d = 0;
+    while (changed.size() + deleted.size() < max && (t < tasks.size() || d < deletions.size())) {
+      SyncToken taskAt = t < tasks.size() ? positionOf(tasks.get(t)) : null;
+      SyncToken deletionAt = d < deletions.size() ? positionOf(deletions.get(d)) : null;
+      if (deletionAt == null || (taskAt != null && taskAt.compareTo(deletionAt) < 0)) {
+        changed.add(tasks.get(t++).task());
+        last = taskAt;
+      } else {
+        deleted.add(deletions.get(d++).getTaskId());
+        last = deletionAt;
+      }
+    }
+    SyncToken next = max(from, min(last, settled));
+    boolean hasMore = (t < tasks.size() || d < deletions.size()) && next.compareTo(from) > 0;
+    return new TaskChanges<>(changed, deleted, next.encode(), hasMore);
+  }
+
+  private static SyncToken positionOf(ChangedTask task) {
+    return new SyncToken(task.updatedAt(), task.task().id());
+  }
+
+  private static SyncToken positionOf(TaskDeletion deletion) {
+    return new SyncToken(deletion.getDeletedAt(), deletion.getTaskId());
+  }
+
+  private static SyncToken min(SyncToken a, SyncToken b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+
+  private static SyncToken max(SyncToken a, SyncToken b) {
+    return a.compareTo(b) >= 0 ? a : b;
+  }
+}
@@ -0,0 +1,46 @@
+CREATE TABLE users (
+    id UUID NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    color VARCHAR(255),
+    user_id UUID NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT fk_categories_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE tasks (
+    id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    status ENUM ('DONE', 'IN_PROGRESS', 'TODO') NOT NULL,
+    due_date TIMESTAMP(6),
+    category_id UUID,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    user_id UUID,
+    CONSTRAINT pk_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_category FOREIGN KEY (category_id) REFERENCES categories (id),
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- uncategorized tasks are counted under category_id 00000000-0000-0000-0000-000000000000
+-- (UserTaskStats.NO_CATEGORY), so the unique key covers that row too
+CREATE TABLE user_task_stats (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    category_id UUID NOT NULL,
+    total BIGINT NOT NULL,
+    todo BIGINT NOT NULL,
+    in_progress BIGINT NOT NULL,
+    done BIGINT NOT NULL,
+    CONSTRAINT pk_user_task_stats PRIMARY KEY (id),
+    CONSTRAINT uk_user_task_stats_user_category UNIQUE (user_id, category_id)
+);
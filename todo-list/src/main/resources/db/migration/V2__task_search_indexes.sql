@@ -0,0 +1,17 @@
+-- task list default sort by title and the keyset seek on it
+CREATE INDEX idx_tasks_user_title ON tasks (user_id, title, id);
+
+-- status filter and the overdue count of countByUserIdAndStatusNotAndDueDateBefore
+CREATE INDEX idx_tasks_user_status_due ON tasks (user_id, status, due_date);
+
+-- due date range filters, upcoming tasks and overdue count
+CREATE INDEX idx_tasks_user_due ON tasks (user_id, due_date, id);
+
+-- category filter
+CREATE INDEX idx_tasks_user_category ON tasks (user_id, category_id);
+
+-- clearCategory and touchByCategoryId when a category is deleted or changed
+CREATE INDEX idx_tasks_category ON tasks (category_id);
+
+-- findAllByUserId and name lookups on categories
+CREATE INDEX idx_categories_user_name ON categories (user_id, name);
@@ -0,0 +1,15 @@
+-- trigram inverted index over task title and description, maintained by TaskSearchIndex
+CREATE TABLE task_search_terms (
+    id UUID NOT NULL,
+    task_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    term VARCHAR(12) NOT NULL,
+    weight INTEGER NOT NULL,
+    CONSTRAINT pk_task_search_terms PRIMARY KEY (id)
+);
+
+-- keyword lookup: all tasks of a user containing any of the query trigrams
+CREATE INDEX idx_task_search_terms_user_term ON task_search_terms (user_id, term, task_id);
+
+-- reindexing and removal of a single task
+CREATE INDEX idx_task_search_terms_task ON task_search_terms (task_id);
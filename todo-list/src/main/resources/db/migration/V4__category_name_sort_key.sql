@@ -0,0 +1,9 @@
+-- Polish collation key of the category name (NameCollation.sortKey), filled in by CategoryService
+ALTER TABLE categories ADD COLUMN name_sort_key VARBINARY(2048);
+
+-- NameCollation.SORT_KEY_VERSION of the collator that computed name_sort_key; keys of another
+-- version are recomputed at startup
+ALTER TABLE categories ADD COLUMN name_sort_key_version VARCHAR(32);
+
+-- categories of a user in collation order
+CREATE INDEX idx_categories_user_sort_key ON categories (user_id, name_sort_key, id);
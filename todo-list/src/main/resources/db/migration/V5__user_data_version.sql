@@ -0,0 +1,3 @@
+-- per-user change counter behind the ETags of task and category reads, bumped by DataVersionService
+ALTER TABLE users ADD COLUMN data_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN data_modified_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP NOT NULL;
@@ -0,0 +1,16 @@
+-- rows written before updated_at was maintained start out as changed at creation
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- changes feed: tasks of a user in (updated_at, id) order
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_at, id);
+
+-- tombstones of deleted tasks for the changes feed, pruned after todo.task-sync.tombstone-retention
+CREATE TABLE task_deletions (
+    task_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_task_deletions PRIMARY KEY (task_id),
+    CONSTRAINT fk_task_deletions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_task_deletions_user_deleted ON task_deletions (user_id, deleted_at, task_id);
@@ -109,4 +109,24 @@ INSERT INTO tasks (id, title, description, status, due_date, category_id, user_i
 INSERT INTO tasks (id, title, description, status, due_date, category_id, user_id, created_at, updated_at) VALUES (CAST('b2222231-2222-2222-2222-222222222237' AS UUID), 'Jazda na rowerze', 'Wycieczka rowerowa 20 km', 'TODO', TIMESTAMP '2025-12-14 10:00:00', CAST('a2222222-2222-2222-2222-222222222223' AS UUID), CAST('22222222-2222-2222-2222-222222222222' AS UUID), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 INSERT INTO tasks (id, title, description, status, due_date, category_id, user_id, created_at, updated_at) VALUES (CAST('b2222232-2222-2222-2222-222222222238' AS UUID), 'Rozciąganie', 'Stretching po treningu', 'DONE', TIMESTAMP '2025-12-10 19:00:00', CAST('a2222222-2222-2222-2222-222222222223' AS UUID), CAST('22222222-2222-2222-2222-222222222222' AS UUID), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 INSERT INTO tasks (id, title, description, status, due_date, category_id, user_id, created_at, updated_at) VALUES (CAST('b2222233-2222-2222-2222-222222222239' AS UUID), 'Kupić nowe buty sportowe', 'Buty do biegania', 'TODO', TIMESTAMP '2025-12-15 13:00:00', CAST('a2222222-2222-2222-2222-222222222221' AS UUID), CAST('22222222-2222-2222-2222-222222222222' AS UUID), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
-INSERT INTO tasks (id, title, description, status, due_date, category_id, user_id, created_at, updated_at) VALUES (CAST('b2222234-2222-2222-2222-222222222240' AS UUID), 'Zapisać się na kurs', 'Kurs tańca salsa', 'IN_PROGRESS', TIMESTAMP '2025-12-17 12:00:00', CAST('a2222222-2222-2222-2222-222222222223' AS UUID), CAST('22222222-2222-2222-2222-222222222222' AS UUID), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
\ No newline at end of file
+INSERT INTO tasks (id, title, description, status, due_date, category_id, user_id, created_at, updated_at) VALUES (CAST('b2222234-2222-2222-2222-222222222240' AS UUID), 'Zapisać się na kurs', 'Kurs tańca salsa', 'IN_PROGRESS', TIMESTAMP '2025-12-17 12:00:00', CAST('a2222222-2222-2222-2222-222222222223' AS UUID), CAST('22222222-2222-2222-2222-222222222222' AS UUID), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+
+-- task counters of the seeded users, built like TaskStatsService.rebuild: one row per category
+-- with tasks plus the uncategorized row every user has
+INSERT INTO user_task_stats (id, user_id, category_id, total, todo, in_progress, done)
+SELECT RANDOM_UUID(), t.user_id,
+       COALESCE(t.category_id, CAST('00000000-0000-0000-0000-000000000000' AS UUID)),
+       COUNT(*),
+       SUM(CASE WHEN t.status = 'TODO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN t.status = 'DONE' THEN 1 ELSE 0 END)
+FROM tasks t
+WHERE t.user_id IS NOT NULL
+GROUP BY t.user_id, COALESCE(t.category_id, CAST('00000000-0000-0000-0000-000000000000' AS UUID));
+
+INSERT INTO user_task_stats (id, user_id, category_id, total, todo, in_progress, done)
+SELECT RANDOM_UUID(), u.id, CAST('00000000-0000-0000-0000-000000000000' AS UUID), 0, 0, 0, 0
+FROM users u
+WHERE NOT EXISTS (
+    SELECT 1 FROM user_task_stats s
+    WHERE s.user_id = u.id AND s.category_id = CAST('00000000-0000-0000-0000-000000000000' AS UUID));
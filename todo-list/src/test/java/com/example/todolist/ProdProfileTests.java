@@ -0,0 +1,57 @@
+package com.example.todolist;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.todolist.config.BulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileTests {
+
+  @Autowired DataSource dataSource;
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void dataDir(DynamicPropertyRegistry registry) throws IOException {
+    String dir = Files.createTempDirectory("todo-prod").toString();
+    registry.add("todo.data-dir", () -> dir);
+  }
+
+  @Test
+  void usesFileDatabaseWithFixedPool() throws SQLException {
+    assertInstanceOf(BulkheadDataSource.class, dataSource);
+    HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+    assertTrue(hikari.getJdbcUrl().startsWith("jdbc:h2:file:"));
+    assertEquals(10, hikari.getMaximumPoolSize());
+    assertEquals(10, hikari.getMinimumIdle());
+  }
+
+  @Test
+  void runsOnVirtualThreads(@Autowired Environment environment) {
+    assertTrue(Threading.VIRTUAL.isActive(environment));
+  }
+
+  @Test
+  void appliesMigrationsWithoutSeedData() {
+    assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+    assertEquals(
+        0,
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM \"flyway_schema_history\" WHERE \"script\" LIKE 'R__%'",
+            Long.class));
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.todolist.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.todolist.exception.DatabaseBusyException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BulkheadDataSource")
+class BulkheadDataSourceTest {
+
+  private DataSource target;
+  private Connection connection;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    target = mock(DataSource.class);
+    connection = mock(Connection.class);
+    when(target.getConnection()).thenReturn(connection);
+  }
+
+  @Test
+  @DisplayName("returns the permit when the connection is closed, once")
+  void releasesOnClose() throws SQLException {
+    BulkheadDataSource dataSource =
+        new BulkheadDataSource(target, new DatabaseBulkheadProperties(2, 0, Duration.ofMillis(10)));
+
+    Connection first = dataSource.getConnection();
+    assertEquals(1, dataSource.availablePermits());
+
+    first.close();
+    first.close();
+
+    assertEquals(2, dataSource.availablePermits());
+    verify(connection, atLeastOnce()).close();
+  }
+
+  @Test
+  @DisplayName("refuses callers beyond the cap once the wait runs out")
+  void refusesAfterMaxWait() throws SQLException {
+    BulkheadDataSource dataSource =
+        new BulkheadDataSource(target, new DatabaseBulkheadProperties(1, 5, Duration.ofMillis(20)));
+    dataSource.getConnection();
+
+    assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+  }
+
+  @Test
+  @DisplayName("refuses at once when too many callers are already waiting")
+  void refusesWhenQueueIsFull() throws Exception {
+    BulkheadDataSource dataSource =
+        new BulkheadDataSource(target, new DatabaseBulkheadProperties(1, 1, Duration.ofSeconds(5)));
+    Connection held = dataSource.getConnection();
+
+    CountDownLatch waiterStarted = new CountDownLatch(1);
+    CompletableFuture<Connection> waiter =
+        CompletableFuture.supplyAsync(
+            () -> {
+              waiterStarted.countDown();
+              try {
+                return dataSource.getConnection();
+              } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+              }
+            });
+    waiterStarted.await();
+    Thread.sleep(100);
+
+    long start = System.nanoTime();
+    assertThrows(DatabaseBusyException.class, dataSource::getConnection);
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+    held.close();
+    assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @DisplayName("returns the permit when the pool fails to hand out a connection")
+  void releasesOnFailure() throws SQLException {
+    when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+    BulkheadDataSource dataSource =
+        new BulkheadDataSource(target, new DatabaseBulkheadProperties(1, 0, Duration.ofMillis(10)));
+
+    assertThrows(SQLException.class, dataSource::getConnection);
+    assertEquals(1, dataSource.availablePermits());
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.todolist.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+@DataJpaTest
+@Import(IndexCheck.class)
+@DisplayName("IndexCheck")
+class IndexCheckTest {
+
+  private static final Pattern CREATE_INDEX =
+      Pattern.compile(
+          "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+  @Autowired private IndexCheck indexCheck;
+
+  @Test
+  @DisplayName("expects every index created by the migrations")
+  void expectsEveryMigrationIndex() throws IOException {
+    List<String> created = new ArrayList<>();
+    List<String> unchecked = new ArrayList<>();
+    for (Resource migration :
+        new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql")) {
+      Matcher matcher = CREATE_INDEX.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+      while (matcher.find()) {
+        String index = matcher.group(1).toLowerCase(Locale.ROOT);
+        String table = matcher.group(2).toLowerCase(Locale.ROOT);
+        created.add(index);
+        if (!IndexCheck.EXPECTED_INDEXES.getOrDefault(table, List.of()).contains(index)) {
+          unchecked.add(table + "." + index);
+        }
+      }
+    }
+
+    assertFalse(created.isEmpty());
+    assertEquals(List.of(), unchecked);
+  }
+
+  @Test
+  @DisplayName("finds all expected indexes in the migrated schema")
+  void findsAllIndexesAfterMigration() throws SQLException {
+    assertEquals(Map.of(), indexCheck.missingIndexes());
+  }
+}
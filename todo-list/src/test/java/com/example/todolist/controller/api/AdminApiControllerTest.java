@@ -0,0 +1,38 @@
+package com.example.todolist.controller.api;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.todolist.service.TaskStatsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(AdminApiController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AdminApiControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockitoBean private TaskStatsService taskStatsService;
+
+  @Test
+  @DisplayName("POST /api/v1/admin/task-stats/rebuild should rebuild counters for all users")
+  void shouldRebuildTaskStats() throws Exception {
+    when(taskStatsService.rebuildAll()).thenReturn(3);
+
+    mockMvc
+        .perform(post("/api/v1/admin/task-stats/rebuild"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rebuiltUsers", is(3)));
+
+    verify(taskStatsService).rebuildAll();
+  }
+}
@@ -4,6 +4,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -18,7 +20,10 @@ import com.example.todolist.dto.response.CreateCategoryResponse;
 import com.example.todolist.dto.response.GetCategoryResponse;
 import com.example.todolist.entity.Category;
 import com.example.todolist.exception.CategoryNotFoundException;
+import com.example.todolist.repository.CategoryListItem;
 import com.example.todolist.service.CategoryService;
+import com.example.todolist.service.DataVersionService;
+import com.example.todolist.service.ResourceVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import java.util.UUID;
@@ -45,6 +50,8 @@ class CategoryApiControllerTest {
 
   @MockitoBean private CategoryMapper categoryMapper;
 
+  @MockitoBean private DataVersionService dataVersionService;
+
   private ObjectMapper objectMapper;
 
   private UUID categoryId;
@@ -81,13 +88,19 @@ class CategoryApiControllerTest {
     createResponse =
         new CreateCategoryResponse(
             categoryWork.getId(), categoryWork.getName(), categoryWork.getColor(), null);
+
+    when(dataVersionService.current()).thenReturn(new ResourceVersion("\"3-1\"", -1));
   }
 
   @Test
   @DisplayName("GET /api/v1/categories should return list of categories")
   void shouldReturnAllCategories() throws Exception {
-    when(categoryService.findAllCategories()).thenReturn(List.of(categoryWork, categoryHome));
-    when(categoryMapper.mapToGetCategoryResponse(List.of(categoryWork, categoryHome)))
+    List<CategoryListItem> items =
+        List.of(
+            new CategoryListItem(categoryWork.getId(), "Work", "#FFFFFF", null),
+            new CategoryListItem(categoryHome.getId(), "Home", "#BBBBBB", null));
+    when(categoryService.findAllCategories()).thenReturn(items);
+    when(categoryMapper.mapToGetCategoryResponse(items))
         .thenReturn(List.of(getResponseWork, getResponseHome));
 
     mockMvc
@@ -103,6 +116,16 @@ class CategoryApiControllerTest {
         .andExpect(jsonPath("$[1].color", is("#BBBBBB")));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/categories should answer 304 without loading categories")
+  void shouldReturnNotModified_WhenETagMatches() throws Exception {
+    mockMvc
+        .perform(get(BASE_URL).header("If-None-Match", "\"3-1\""))
+        .andExpect(status().isNotModified());
+
+    verify(categoryService, never()).findAllCategories();
+  }
+
   @Test
   @DisplayName("GET /api/v1/categories/{id} should return single category")
   void shouldReturnCategoryById() throws Exception {
@@ -0,0 +1,142 @@
+package com.example.todolist.controller.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.example.todolist.config.ChangeFeedProperties;
+import com.example.todolist.entity.User;
+import com.example.todolist.service.UserService;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeFeed;
+import com.example.todolist.service.events.ChangeType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(ChangeFeedApiController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({ChangeFeed.class, ChangeFeedApiControllerTest.Config.class})
+class ChangeFeedApiControllerTest {
+
+  @TestConfiguration
+  @EnableConfigurationProperties(ChangeFeedProperties.class)
+  static class Config {
+    @Bean
+    MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ChangeFeed changeFeed;
+
+  @MockitoBean private UserService userService;
+
+  private UUID userId;
+
+  @BeforeEach
+  void setUp() {
+    User user = new User();
+    userId = UUID.randomUUID();
+    user.setId(userId);
+    when(userService.getCurrentUser()).thenReturn(user);
+  }
+
+  private static String awaitContent(MvcResult result, String expected) throws Exception {
+    long deadline = System.currentTimeMillis() + 5_000;
+    String content = result.getResponse().getContentAsString();
+    while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      content = result.getResponse().getContentAsString();
+    }
+    return content;
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/events should stream the current user's changes as server-sent events")
+  void shouldStreamOwnChanges() throws Exception {
+    UUID taskId = UUID.randomUUID();
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/events").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    changeFeed.publish(new ChangeEvent(UUID.randomUUID(), ChangeType.TASK_DELETED, taskId));
+    changeFeed.publish(new ChangeEvent(userId, ChangeType.TASK_CREATED, taskId));
+
+    String content = awaitContent(result, "event:TASK_CREATED");
+    assertTrue(content.contains("event:TASK_CREATED\ndata:" + taskId), content);
+    assertFalse(content.contains("TASK_DELETED"), content);
+    assertEquals(1, changeFeed.subscriberCount(userId));
+  }
+
+  private MvcResult subscribe(String lastEventId) throws Exception {
+    var request = get("/api/v1/events").accept(MediaType.TEXT_EVENT_STREAM);
+    if (lastEventId != null) {
+      request.header("Last-Event-ID", lastEventId);
+    }
+    return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+  }
+
+  private static String eventId(String content) {
+    Matcher matcher = Pattern.compile("id:(\\d+)").matcher(content);
+    assertTrue(matcher.find(), content);
+    return matcher.group(1);
+  }
+
+  @Test
+  @DisplayName("A reconnect that missed events should be told to resync")
+  void shouldResyncAfterMissedEvents() throws Exception {
+    String lastEventId = eventId(awaitContent(subscribe(null), "id:"));
+    changeFeed.publish(new ChangeEvent(userId, ChangeType.TASK_CREATED, UUID.randomUUID()));
+
+    String content = awaitContent(subscribe(lastEventId), "event:resync");
+
+    assertTrue(content.contains("event:resync"), content);
+  }
+
+  @Test
+  @DisplayName("A reconnect after a timeout without missed events should not resync")
+  void shouldNotResyncWhenUpToDate() throws Exception {
+    String lastEventId = eventId(awaitContent(subscribe(null), "id:"));
+
+    String content = awaitContent(subscribe(lastEventId), "id:");
+
+    assertTrue(content.contains("id:" + lastEventId), content);
+    assertFalse(content.contains("resync"), content);
+  }
+
+  @Test
+  @DisplayName("Opening more feeds than allowed should stop the oldest instead of reconnecting it")
+  void shouldStopOldestFeedBeyondLimit() throws Exception {
+    MvcResult oldest = subscribe(null);
+    for (int i = 0; i < 5; i++) {
+      subscribe(null);
+    }
+
+    String content = awaitContent(oldest, "event:stop");
+
+    assertTrue(content.contains("event:stop"), content);
+    assertEquals(5, changeFeed.subscriberCount(userId));
+  }
+}
@@ -2,29 +2,63 @@ package com.example.todolist.controller.api;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.example.todolist.config.TaskListProperties;
+import com.example.todolist.dto.mapper.ImportJobMapper;
 import com.example.todolist.dto.mapper.TaskMapper;
 import com.example.todolist.dto.request.CreateTaskRequest;
 import com.example.todolist.dto.request.UpdateTaskRequest;
 import com.example.todolist.dto.response.CreateTaskResponse;
 import com.example.todolist.dto.response.GetTaskResponse;
+import com.example.todolist.dto.response.ImportJobResponse;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
+import com.example.todolist.exception.DatabaseBusyException;
+import com.example.todolist.exception.ImportJobNotFoundException;
+import com.example.todolist.exception.ImportQueueFullException;
+import com.example.todolist.exception.InvalidCursorException;
+import com.example.todolist.exception.SyncTokenExpiredException;
+import com.example.todolist.exception.TaskListTooLargeException;
 import com.example.todolist.exception.TaskNotFoundException;
+import com.example.todolist.exception.TooManyTaskStreamsException;
+import com.example.todolist.repository.TaskListItem;
+import com.example.todolist.service.DataVersionService;
+import com.example.todolist.service.ResourceVersion;
+import com.example.todolist.service.TaskImportService;
 import com.example.todolist.service.TaskService;
+import com.example.todolist.service.TaskStreamLimiter;
+import com.example.todolist.service.filter.TaskFilter;
+import com.example.todolist.service.importjob.ImportJob;
+import com.example.todolist.service.importjob.ImportJobService;
+import com.example.todolist.service.importjob.ImportJobStatus;
+import com.example.todolist.service.pagination.CursorPage;
+import com.example.todolist.service.sync.TaskChanges;
+import com.example.todolist.service.sync.TaskSyncService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -32,24 +66,54 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 @WebMvcTest(TaskApiController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(TaskApiControllerTest.Config.class)
 class TaskApiControllerTest {
 
+  @TestConfiguration
+  static class Config {
+    @Bean
+    TaskStreamLimiter taskStreamLimiter() {
+      return new TaskStreamLimiter(new TaskListProperties(5000, 1));
+    }
+  }
+
   private static final String BASE_URL = "/api/v1/tasks";
 
   @Autowired private MockMvc mockMvc;
 
   @MockitoBean private TaskService taskService;
 
+  @MockitoBean private TaskImportService taskImportService;
+
+  @MockitoBean private ImportJobService importJobService;
+
   @MockitoBean private TaskMapper taskMapper;
 
+  @MockitoBean private ImportJobMapper importJobMapper;
+
+  @MockitoBean private DataVersionService dataVersionService;
+
+  @MockitoBean private TaskSyncService taskSyncService;
+
+  @Autowired private TaskStreamLimiter taskStreamLimiter;
+
   @Autowired private ObjectMapper objectMapper;
 
   private UUID taskId1;
@@ -76,14 +140,21 @@ class TaskApiControllerTest {
     getTaskResponse1 = new GetTaskResponse(taskId1, "Test 1", null, null, null, null, null);
 
     getTaskResponse2 = new GetTaskResponse(taskId2, "Test 2", null, null, null, null, null);
+
+    when(dataVersionService.current()).thenReturn(new ResourceVersion("\"7-1\"", -1));
+  }
+
+  private TaskListItem listItem(UUID id, String title) {
+    return new TaskListItem(id, title, null, null, null, null, null, null, null);
   }
 
   @Test
   @DisplayName("GET /api/v1/tasks should return list of tasks")
   void shouldReturnAllTasks() throws Exception {
     // given
-    when(taskService.getAllTasks()).thenReturn(List.of(task1, task2));
-    when(taskMapper.mapToGetTaskResponse(List.of(task1, task2)))
+    List<TaskListItem> items = List.of(listItem(taskId1, "Test 1"), listItem(taskId2, "Test 2"));
+    when(taskService.getAllTasks()).thenReturn(items);
+    when(taskMapper.mapToGetTaskResponse(items))
         .thenReturn(List.of(getTaskResponse1, getTaskResponse2));
 
     // when / then
@@ -98,6 +169,268 @@ class TaskApiControllerTest {
         .andExpect(jsonPath("$[1].title", is("Test 2")));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/tasks should send the ETag of the user's data version")
+  void shouldReturnETag() throws Exception {
+    when(taskService.getAllTasks()).thenReturn(List.of());
+    when(taskMapper.mapToGetTaskResponse(List.<TaskListItem>of())).thenReturn(List.of());
+
+    mockMvc
+        .perform(get(BASE_URL))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"7-1\""))
+        .andExpect(header().string("Cache-Control", "no-cache, private"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks should answer 304 without loading tasks when ETag matches")
+  void shouldReturnNotModified_WhenETagMatches() throws Exception {
+    mockMvc
+        .perform(get(BASE_URL).header("If-None-Match", "\"7-1\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"7-1\""))
+        .andExpect(content().string(""));
+
+    verify(taskService, never()).getAllTasks();
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/tasks should answer 400 when the user has too many tasks to list unpaged")
+  void shouldReturnBadRequest_WhenTooManyTasks() throws Exception {
+    when(taskService.getAllTasks()).thenThrow(new TaskListTooLargeException(5000));
+
+    mockMvc
+        .perform(get(BASE_URL))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is(new TaskListTooLargeException(5000).getMessage())));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks?stream=json should stream the tasks as a JSON array")
+  void shouldStreamTasksAsJsonArray() throws Exception {
+    givenStreamedTasks();
+
+    MvcResult result =
+        mockMvc
+            .perform(get(BASE_URL).param("stream", "json"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(header().string("ETag", "\"7-1\""))
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].id", is(taskId1.toString())))
+        .andExpect(jsonPath("$[1].title", is("Test 2")));
+    verify(taskService, never()).getAllTasks();
+    assertEquals(1, taskStreamLimiter.availablePermits());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks?stream=ndjson should answer 503 when too many streams are open")
+  void shouldNotStream_WhenTooManyStreams() throws Exception {
+    try (TaskStreamLimiter.Permit ignored = taskStreamLimiter.acquire()) {
+      mockMvc
+          .perform(get(BASE_URL).param("stream", "ndjson"))
+          .andExpect(status().isServiceUnavailable())
+          .andExpect(header().string("Retry-After", "5"))
+          .andExpect(jsonPath("$.message", is(new TooManyTaskStreamsException(1).getMessage())));
+    }
+
+    verify(taskService, never()).streamAllTasks(any());
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/tasks?stream=json should give its permit back when the request is abandoned")
+  void shouldReleaseStreamPermit_WhenRequestAbandoned() throws Exception {
+    CountDownLatch bodyStarted = new CountDownLatch(1);
+    CountDownLatch finishBody = new CountDownLatch(1);
+    doAnswer(
+            inv -> {
+              bodyStarted.countDown();
+              finishBody.await(5, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(taskService)
+        .streamAllTasks(any());
+
+    MvcResult result =
+        mockMvc
+            .perform(get(BASE_URL).param("stream", "json"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    assertTrue(bodyStarted.await(5, TimeUnit.SECONDS));
+    assertEquals(0, taskStreamLimiter.availablePermits());
+
+    // The container times the request out and completes it while the body is still stuck.
+    MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+    for (AsyncListener listener : asyncContext.getListeners()) {
+      listener.onTimeout(new AsyncEvent(asyncContext));
+    }
+    asyncContext.complete();
+
+    assertEquals(1, taskStreamLimiter.availablePermits());
+
+    finishBody.countDown();
+    Thread.sleep(100);
+    assertEquals(1, taskStreamLimiter.availablePermits());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks?stream=ndjson should stream one JSON object per line")
+  void shouldStreamTasksAsNdjson() throws Exception {
+    givenStreamedTasks();
+
+    MvcResult result =
+        mockMvc
+            .perform(get(BASE_URL).param("stream", "ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(
+            content()
+                .string(
+                    objectMapper.writeValueAsString(getTaskResponse1)
+                        + "\n"
+                        + objectMapper.writeValueAsString(getTaskResponse2)
+                        + "\n"));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/tasks?stream=ndjson should answer 304 without streaming when ETag matches")
+  void shouldNotStream_WhenETagMatches() throws Exception {
+    mockMvc
+        .perform(get(BASE_URL).param("stream", "ndjson").header("If-None-Match", "\"7-1\""))
+        .andExpect(status().isNotModified());
+
+    verify(taskService, never()).streamAllTasks(any());
+  }
+
+  private void givenStreamedTasks() {
+    TaskListItem item1 = listItem(taskId1, "Test 1");
+    TaskListItem item2 = listItem(taskId2, "Test 2");
+    when(taskMapper.mapToGetTaskResponse(item1)).thenReturn(getTaskResponse1);
+    when(taskMapper.mapToGetTaskResponse(item2)).thenReturn(getTaskResponse2);
+    doAnswer(
+            inv -> {
+              Consumer<TaskListItem> consumer = inv.getArgument(0);
+              consumer.accept(item1);
+              consumer.accept(item2);
+              return null;
+            })
+        .when(taskService)
+        .streamAllTasks(any());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks should answer 503 with Retry-After when the database is busy")
+  void shouldReturnServiceUnavailable_WhenDatabaseBusy() throws Exception {
+    when(taskService.getAllTasks())
+        .thenThrow(
+            new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction", new DatabaseBusyException()));
+
+    mockMvc
+        .perform(get(BASE_URL))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/all?paging=slice should return a slice without totals")
+  void shouldReturnSlice() throws Exception {
+    TaskListItem item = listItem(taskId1, "Test 1");
+    when(taskService.getTaskSlice(any(TaskFilter.class)))
+        .thenReturn(new SliceImpl<>(List.of(item), PageRequest.of(0, 1), true));
+    when(taskMapper.mapToGetTaskResponse(item)).thenReturn(getTaskResponse1);
+
+    mockMvc
+        .perform(get(BASE_URL + "/all").param("paging", "slice").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(1)))
+        .andExpect(jsonPath("$.content[0].id", is(taskId1.toString())))
+        .andExpect(jsonPath("$.last", is(false)))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    verify(taskService, never()).getAllTasks(any(TaskFilter.class));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/all?paging=keyset should answer 400 for an invalid cursor")
+  void shouldReturnBadRequest_WhenCursorInvalid() throws Exception {
+    when(taskService.getAllTasksByCursor(any(TaskFilter.class)))
+        .thenThrow(new InvalidCursorException("Invalid cursor"));
+
+    mockMvc
+        .perform(get(BASE_URL + "/all").param("paging", "keyset").param("cursor", "garbage"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status", is(400)))
+        .andExpect(jsonPath("$.message", is("Invalid cursor")));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/all?paging=keyset should return cursor page")
+  void shouldReturnCursorPage() throws Exception {
+    TaskListItem item = listItem(taskId1, "Test 1");
+    when(taskService.getAllTasksByCursor(any(TaskFilter.class)))
+        .thenReturn(new CursorPage<>(List.of(item), 1, "next-token", null));
+    when(taskMapper.mapToGetTaskResponse(item)).thenReturn(getTaskResponse1);
+
+    mockMvc
+        .perform(get(BASE_URL + "/all").param("paging", "keyset").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(1)))
+        .andExpect(jsonPath("$.content[0].id", is(taskId1.toString())))
+        .andExpect(jsonPath("$.nextCursor", is("next-token")))
+        .andExpect(jsonPath("$.prevCursor").doesNotExist());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/changes should return changed and deleted tasks")
+  void shouldReturnChanges() throws Exception {
+    TaskListItem item = listItem(taskId1, "Test 1");
+    when(taskSyncService.getChanges("token"))
+        .thenReturn(new TaskChanges<>(List.of(item), List.of(taskId2), "next", false));
+    when(taskMapper.mapToGetTaskResponse(item)).thenReturn(getTaskResponse1);
+
+    mockMvc
+        .perform(get(BASE_URL + "/changes").param("since", "token"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changed[0].id", is(taskId1.toString())))
+        .andExpect(jsonPath("$.deleted[0]", is(taskId2.toString())))
+        .andExpect(jsonPath("$.nextToken", is("next")))
+        .andExpect(jsonPath("$.hasMore", is(false)));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/changes should answer 410 when the token has expired")
+  void shouldReturnGone_WhenSyncTokenExpired() throws Exception {
+    when(taskSyncService.getChanges("old")).thenThrow(new SyncTokenExpiredException());
+
+    mockMvc.perform(get(BASE_URL + "/changes").param("since", "old")).andExpect(status().isGone());
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/changes should answer 400 for a garbled token")
+  void shouldReturnBadRequest_WhenSyncTokenInvalid() throws Exception {
+    when(taskSyncService.getChanges("garbled"))
+        .thenThrow(new InvalidCursorException("Invalid sync token"));
+
+    mockMvc
+        .perform(get(BASE_URL + "/changes").param("since", "garbled"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Invalid sync token")));
+  }
+
   @Test
   @DisplayName("GET /api/v1/tasks/{id} should return single task")
   void shouldReturnTaskById() throws Exception {
@@ -114,6 +447,38 @@ class TaskApiControllerTest {
         .andExpect(jsonPath("$.title", is("Test 1")));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/tasks/{id} should send ETag and Last-Modified of the task")
+  void shouldReturnTaskValidators() throws Exception {
+    long lastModified = 1_700_000_000_000L;
+    when(dataVersionService.ofTask(taskId1))
+        .thenReturn(Optional.of(new ResourceVersion("\"abc\"", lastModified)));
+    when(taskService.findTaskById(taskId1)).thenReturn(task1);
+    when(taskMapper.mapToGetTaskResponse(task1)).thenReturn(getTaskResponse1);
+
+    mockMvc
+        .perform(get(BASE_URL + "/" + taskId1))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"abc\""))
+        .andExpect(header().dateValue("Last-Modified", lastModified));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/tasks/{id} should answer 304 when not modified since")
+  void shouldReturnNotModified_WhenTaskNotModifiedSince() throws Exception {
+    long lastModified = 1_700_000_000_000L;
+    when(dataVersionService.ofTask(taskId1))
+        .thenReturn(Optional.of(new ResourceVersion("\"abc\"", lastModified)));
+
+    mockMvc
+        .perform(
+            get(BASE_URL + "/" + taskId1)
+                .header("If-Modified-Since", "Tue, 14 Nov 2023 22:13:20 GMT"))
+        .andExpect(status().isNotModified());
+
+    verify(taskService, never()).findTaskById(any());
+  }
+
   @Test
   @DisplayName("POST /api/v1/tasks should create task and return 201")
   void shouldCreateTask() throws Exception {
@@ -227,4 +592,112 @@ class TaskApiControllerTest {
         .andExpect(jsonPath("$.message").exists())
         .andExpect(jsonPath("$.timestamp").exists());
   }
+
+  @Test
+  @DisplayName("POST /api/tasks/import/jobs returns 202 with the job id and its location")
+  void submitImportJob_Returns202() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    ImportJob job = new ImportJob(jobId, UUID.randomUUID(), "tasks.csv", 10);
+    ImportJobResponse response = new ImportJobResponse();
+    response.setId(jobId);
+    response.setStatus(ImportJobStatus.QUEUED);
+    when(importJobService.submit(any())).thenReturn(job);
+    when(importJobMapper.mapToImportJobResponse(job)).thenReturn(response);
+
+    mockMvc
+        .perform(
+            multipart(BASE_URL + "/import/jobs")
+                .file(new MockMultipartFile("file", "tasks.csv", "text/csv", "title\n".getBytes())))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", BASE_URL + "/import/jobs/" + jobId))
+        .andExpect(jsonPath("$.id").value(jobId.toString()))
+        .andExpect(jsonPath("$.status").value("QUEUED"));
+  }
+
+  @Test
+  @DisplayName("POST /api/tasks/import/jobs returns 503 when the import queue is full")
+  void submitImportJob_QueueFull_Returns503() throws Exception {
+    when(importJobService.submit(any())).thenThrow(new ImportQueueFullException());
+
+    mockMvc
+        .perform(
+            multipart(BASE_URL + "/import/jobs")
+                .file(new MockMultipartFile("file", "tasks.csv", "text/csv", "title\n".getBytes())))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Test
+  @DisplayName("GET /api/tasks/import/jobs/{id} returns progress or 404 for unknown jobs")
+  void getImportJob_ReturnsProgress() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    ImportJob job = new ImportJob(jobId, UUID.randomUUID(), "tasks.csv", 10);
+    ImportJobResponse response = new ImportJobResponse();
+    response.setId(jobId);
+    response.setStatus(ImportJobStatus.COMPLETED);
+    response.setAcceptedRows(5);
+    response.setRejectedRows(1);
+    response.setErrors(List.of("Row 3 [x]: Title is required"));
+    when(importJobService.getJob(jobId)).thenReturn(job);
+    when(importJobMapper.mapToImportJobResponse(job)).thenReturn(response);
+    UUID missingId = UUID.randomUUID();
+    when(importJobService.getJob(missingId)).thenThrow(new ImportJobNotFoundException(missingId));
+
+    mockMvc
+        .perform(get(BASE_URL + "/import/jobs/" + jobId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.acceptedRows").value(5))
+        .andExpect(jsonPath("$.rejectedRows").value(1))
+        .andExpect(jsonPath("$.errors", hasSize(1)));
+    mockMvc.perform(get(BASE_URL + "/import/jobs/" + missingId)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("POST /api/tasks/bulk runs the operation and returns the affected count")
+  void bulkUpdateTasks_ReturnsAffectedCount() throws Exception {
+    when(taskService.bulkUpdate(any())).thenReturn(3);
+
+    mockMvc
+        .perform(
+            post(BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"filter\":{\"status\":\"TODO\"},\"operation\":\"SET_STATUS\",\"status\":\"DONE\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.operation").value("SET_STATUS"))
+        .andExpect(jsonPath("$.affected").value(3));
+  }
+
+  @Test
+  @DisplayName("POST /api/tasks/bulk returns 400 when both ids and a filter are given")
+  void bulkUpdateTasks_IdsAndFilter_Returns400() throws Exception {
+    mockMvc
+        .perform(
+            post(BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"ids\":[\""
+                        + UUID.randomUUID()
+                        + "\"],\"filter\":{},\"operation\":\"DELETE\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Exactly one of ids or filter must be given"));
+    verify(taskService, never()).bulkUpdate(any());
+  }
+
+  @Test
+  @DisplayName(
+      "POST /api/tasks/bulk returns 400 for an empty filter instead of deleting every task")
+  void bulkUpdateTasks_EmptyFilter_Returns400() throws Exception {
+    mockMvc
+        .perform(
+            post(BASE_URL + "/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"filter\":{},\"operation\":\"DELETE\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(
+            jsonPath("$.message")
+                .value(
+                    "Filter must set at least one of title, status, categoryId, dueAfter or"
+                        + " dueBefore"));
+    verify(taskService, never()).bulkUpdate(any());
+  }
 }
@@ -4,10 +4,12 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.example.todolist.dto.response.CategoryTaskCountResponse;
+import com.example.todolist.dto.response.TaskStatsResponse;
 import com.example.todolist.service.TaskService;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,12 +30,15 @@ class HomepageViewControllerTest {
   @Test
   @DisplayName("GET / should return index view with stats and upcomingTasks in model")
   void home_ReturnsIndexViewWithModelAttributes() throws Exception {
-    Map<String, Object> stats = new HashMap<>();
-    stats.put("totalTasks", 5L);
-    stats.put("doneTasks", 2L);
-    stats.put("todoTasks", 2L);
-    stats.put("inProgressTasks", 1L);
-    stats.put("percentDone", 40);
+    TaskStatsResponse stats =
+        new TaskStatsResponse(
+            5L,
+            2L,
+            1L,
+            2L,
+            1L,
+            40,
+            List.of(new CategoryTaskCountResponse(UUID.randomUUID(), "Praca", 3L, 2L)));
 
     when(taskService.getStats()).thenReturn(stats);
     when(taskService.getUpcomingTasks())
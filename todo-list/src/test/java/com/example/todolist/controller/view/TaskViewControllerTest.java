@@ -1,5 +1,6 @@
 package com.example.todolist.controller.view;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -10,11 +11,16 @@ import com.example.todolist.dto.request.UpdateTaskRequest;
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
+import com.example.todolist.repository.CategoryListItem;
+import com.example.todolist.repository.TaskListItem;
 import com.example.todolist.service.CategoryService;
 import com.example.todolist.service.TaskService;
 import com.example.todolist.service.filter.TaskFilter;
+import com.example.todolist.service.importjob.ImportJobService;
+import com.example.todolist.service.pagination.CursorPage;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -35,6 +41,8 @@ class TaskViewControllerTest {
 
   @MockitoBean private TaskService taskService;
 
+  @MockitoBean private ImportJobService importJobService;
+
   @MockitoBean private CategoryService categoryService;
 
   @Test
@@ -55,9 +63,8 @@ class TaskViewControllerTest {
   @DisplayName("POST /tasks with valid data should create task and redirect")
   void submitNewTask_ShouldCreateTaskAndRedirect() throws Exception {
     UUID catId = UUID.randomUUID();
-    Category category = new Category();
-    category.setId(catId);
-    when(categoryService.findAllCategories()).thenReturn(List.of(category));
+    when(categoryService.findAllCategories())
+        .thenReturn(List.of(new CategoryListItem(catId, "Work", null, null)));
 
     mockMvc
         .perform(
@@ -93,7 +100,18 @@ class TaskViewControllerTest {
   @Test
   @DisplayName("GET /tasks should return tasks view with proper model attributes")
   void showTasks_ShouldReturnTasksView() throws Exception {
-    Page<Task> page = new PageImpl<>(List.of());
+    TaskListItem item =
+        new TaskListItem(
+            UUID.randomUUID(),
+            "Task title",
+            null,
+            Status.TODO,
+            null,
+            null,
+            UUID.randomUUID(),
+            "Work",
+            "#3357FF");
+    Page<TaskListItem> page = new PageImpl<>(List.of(item));
     when(taskService.getAllTasks(any(TaskFilter.class))).thenReturn(page);
     when(categoryService.findAllCategories()).thenReturn(List.of());
 
@@ -101,12 +119,47 @@ class TaskViewControllerTest {
         .perform(get("/tasks"))
         .andExpect(status().isOk())
         .andExpect(view().name("tasks"))
+        .andExpect(content().string(containsString("Work")))
         .andExpect(model().attributeExists("tasks"))
         .andExpect(model().attributeExists("categories"))
         .andExpect(model().attributeExists("page"))
         .andExpect(model().attributeExists("pageNumbers"));
   }
 
+  @Test
+  @DisplayName("GET /tasks?importJob= should still render the list when the job has expired")
+  void showTasks_ExpiredImportJob_ShouldRenderListWithMessage() throws Exception {
+    UUID jobId = UUID.randomUUID();
+    when(importJobService.findJob(jobId)).thenReturn(Optional.empty());
+    when(taskService.getAllTasks(any(TaskFilter.class))).thenReturn(new PageImpl<>(List.of()));
+    when(categoryService.findAllCategories()).thenReturn(List.of());
+
+    mockMvc
+        .perform(get("/tasks").param("importJob", jobId.toString()))
+        .andExpect(status().isOk())
+        .andExpect(view().name("tasks"))
+        .andExpect(model().attributeDoesNotExist("importJob"))
+        .andExpect(model().attribute("errorMessage", "This import is no longer available."))
+        .andExpect(model().attributeExists("tasks"));
+  }
+
+  @Test
+  @DisplayName("GET /tasks?paging=keyset should return tasks view with cursor page")
+  void showTasks_KeysetPaging_ShouldReturnCursorPage() throws Exception {
+    CursorPage<TaskListItem> cursorPage = new CursorPage<>(List.of(), 10, "next", null);
+    when(taskService.getAllTasksByCursor(any(TaskFilter.class))).thenReturn(cursorPage);
+    when(categoryService.findAllCategories()).thenReturn(List.of());
+
+    mockMvc
+        .perform(get("/tasks").param("paging", "keyset"))
+        .andExpect(status().isOk())
+        .andExpect(view().name("tasks"))
+        .andExpect(model().attribute("cursorPage", cursorPage))
+        .andExpect(model().attributeDoesNotExist("page"));
+
+    verify(taskService, never()).getAllTasks(any(TaskFilter.class));
+  }
+
   @Test
   @DisplayName("GET /tasks/edit/{id} should return task edit form")
   void showEditTaskForm_ShouldReturnViewWithPopulatedForm() throws Exception {
@@ -189,7 +242,9 @@ class TaskViewControllerTest {
     task.setCategory(category);
 
     when(taskService.findTaskById(taskId)).thenReturn(task);
-    when(categoryService.findAllCategories()).thenReturn(List.of(category));
+    List<CategoryListItem> categories =
+        List.of(new CategoryListItem(categoryId, "Work", null, null));
+    when(categoryService.findAllCategories()).thenReturn(categories);
 
     mockMvc
         .perform(get("/tasks/edit/" + taskId))
@@ -199,7 +254,7 @@ class TaskViewControllerTest {
         .andExpect(model().attributeExists("categories"))
         .andExpect(model().attribute("isEdit", true))
         .andExpect(model().attribute("taskId", taskId))
-        .andExpect(model().attribute("categories", List.of(category)))
+        .andExpect(model().attribute("categories", categories))
         .andExpect(
             model()
                 .attribute(
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.User;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.*;
@@ -163,4 +164,41 @@ class CategoryJdbcDaoIntegrationTest {
 
     assertThrows(Exception.class, () -> categoryJdbcDao.findById(uuid));
   }
+
+  private List<Category> newCategories(int count) {
+    User user = new User();
+    user.setId(userId);
+    List<Category> categories = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Category c = new Category();
+      c.setId(UUID.randomUUID());
+      c.setName("Bulk " + i);
+      c.setColor("Gray");
+      c.setUser(user);
+      categories.add(c);
+    }
+    return categories;
+  }
+
+  @Test
+  @DisplayName("insertAllMultiRow: should insert every category with multi-row statements")
+  void insertAllMultiRow_ShouldInsertAllCategories() {
+    List<Category> categories = newCategories(5);
+
+    int inserted = categoryJdbcDao.insertAllMultiRow(categories, 2);
+
+    assertEquals(5, inserted);
+    assertEquals(5, categoryJdbcDao.findAllByUserId(userId).size());
+  }
+
+  @Test
+  @DisplayName("insertAll: should insert every category across several batches")
+  void insertAll_ShouldInsertAllCategoriesInBatches() {
+    List<Category> categories = newCategories(3);
+
+    int inserted = categoryJdbcDao.insertAll(categories, 2);
+
+    assertEquals(3, inserted);
+    assertEquals(3, categoryJdbcDao.findAllByUserId(userId).size());
+  }
 }
@@ -5,13 +5,19 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
 import com.example.todolist.entity.User;
+import com.example.todolist.repository.ChangedTask;
+import com.example.todolist.repository.TaskListItem;
+import com.example.todolist.repository.TaskRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 @SpringBootTest
@@ -23,6 +29,8 @@ class TaskJdbcDaoIntegrationTest {
 
   @Autowired private JdbcTemplate jdbcTemplate;
 
+  @Autowired private TaskRepository taskRepository;
+
   private UUID userId;
 
   private static final String CREATE_USERS_TABLE =
@@ -191,4 +199,193 @@ class TaskJdbcDaoIntegrationTest {
 
     assertThrows(Exception.class, () -> taskJdbcDao.findById(uuid));
   }
+
+  @Test
+  @DisplayName("streamExportRows: should pass each task with its category name to the consumer")
+  void streamExportRows_ShouldJoinCategoryNames() {
+    UUID categoryId = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO categories (id, name, color, user_id) VALUES (?, ?, ?, ?)",
+        categoryId.toString(),
+        "Export category",
+        "#000000",
+        userId.toString());
+    LocalDateTime due = LocalDateTime.of(2025, 3, 4, 5, 6);
+
+    User user = new User();
+    user.setId(userId);
+    for (int i = 0; i < 3; i++) {
+      Task t = new Task();
+      t.setId(UUID.randomUUID());
+      t.setTitle("Export " + i);
+      t.setStatus(Status.TODO);
+      t.setDueDate(due);
+      t.setUser(user);
+      taskJdbcDao.insert(t);
+    }
+    jdbcTemplate.update(
+        "UPDATE tasks SET category_id = ? WHERE title = ?", categoryId.toString(), "Export 0");
+
+    List<TaskExportRow> rows = new ArrayList<>();
+    taskJdbcDao.streamExportRows(userId, 2, rows::add);
+
+    assertEquals(3, rows.size());
+    assertTrue(rows.contains(new TaskExportRow("Export 0", null, "TODO", due, "Export category")));
+    assertTrue(rows.contains(new TaskExportRow("Export 1", null, "TODO", due, null)));
+
+    jdbcTemplate.execute("DELETE FROM tasks");
+    jdbcTemplate.update("DELETE FROM categories WHERE id = ?", categoryId.toString());
+  }
+
+  @Test
+  @DisplayName("streamListItems: should pass the user's tasks as list rows ordered by id")
+  void streamListItems_ShouldStreamRowsInIdOrder() {
+    UUID categoryId = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO categories (id, name, color, user_id) VALUES (?, ?, ?, ?)",
+        categoryId.toString(),
+        "List category",
+        "#112233",
+        userId.toString());
+
+    User user = new User();
+    user.setId(userId);
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Task t = new Task();
+      t.setId(UUID.randomUUID());
+      t.setTitle("List " + i);
+      t.setStatus(Status.IN_PROGRESS);
+      t.setUser(user);
+      taskJdbcDao.insert(t);
+      ids.add(t.getId());
+    }
+    jdbcTemplate.update(
+        "UPDATE tasks SET category_id = ? WHERE id = ?", categoryId.toString(), ids.get(0));
+
+    List<TaskListItem> rows = new ArrayList<>();
+    taskJdbcDao.streamListItems(userId, 2, rows::add);
+
+    assertEquals(
+        ids.stream().sorted(Comparator.comparing(UUID::toString)).toList(),
+        rows.stream().map(TaskListItem::id).toList());
+    TaskListItem categorized =
+        rows.stream().filter(row -> row.id().equals(ids.get(0))).findFirst().orElseThrow();
+    assertEquals(
+        new TaskListItem(
+            ids.get(0),
+            "List 0",
+            null,
+            Status.IN_PROGRESS,
+            null,
+            userId,
+            categoryId,
+            "List category",
+            "#112233"),
+        categorized);
+
+    jdbcTemplate.execute("DELETE FROM tasks");
+    jdbcTemplate.update("DELETE FROM categories WHERE id = ?", categoryId.toString());
+  }
+
+  @Test
+  @DisplayName("insertAll: should insert every task across several batches")
+  void insertAll_ShouldInsertAllTasksInBatches() {
+    User user = new User();
+    user.setId(userId);
+    List<Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Task t = new Task();
+      t.setId(UUID.randomUUID());
+      t.setTitle("Batch " + i);
+      t.setStatus(Status.DONE);
+      t.setUser(user);
+      tasks.add(t);
+    }
+
+    int inserted = taskJdbcDao.insertAll(tasks, 2);
+
+    assertEquals(5, inserted);
+    List<Task> fetched = taskJdbcDao.findAllByUserId(userId);
+    assertEquals(5, fetched.size());
+    assertTrue(fetched.stream().allMatch(t -> t.getStatus() == Status.DONE));
+    assertTrue(fetched.stream().allMatch(t -> t.getCreatedAt() != null));
+  }
+
+  @Test
+  @DisplayName("TaskRowMapper: should map by resolved indexes and skip optional columns")
+  void taskRowMapper_ShouldSkipMissingOptionalColumns() {
+    User user = new User();
+    user.setId(userId);
+    Task t = new Task();
+    t.setId(UUID.randomUUID());
+    t.setTitle("Partial");
+    t.setStatus(Status.IN_PROGRESS);
+    t.setUser(user);
+    taskJdbcDao.insert(t);
+
+    List<Task> tasks =
+        jdbcTemplate.query(
+            "SELECT status, created_at, due_date, description, title, id FROM tasks",
+            new TaskJdbcDao.TaskRowMapper());
+
+    assertEquals(1, tasks.size());
+    assertEquals(t.getId(), tasks.get(0).getId());
+    assertEquals("Partial", tasks.get(0).getTitle());
+    assertEquals(Status.IN_PROGRESS, tasks.get(0).getStatus());
+    assertNull(tasks.get(0).getUpdatedAt());
+    assertNull(tasks.get(0).getUser());
+  }
+
+  @Test
+  @DisplayName("insertAllMultiRow: should insert every task with multi-row statements")
+  void insertAllMultiRow_ShouldInsertAllTasks() {
+    User user = new User();
+    user.setId(userId);
+    List<Task> tasks = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      Task t = new Task();
+      t.setId(UUID.randomUUID());
+      t.setTitle("Multi " + i);
+      t.setUser(user);
+      tasks.add(t);
+    }
+
+    int inserted = taskJdbcDao.insertAllMultiRow(tasks, 3);
+
+    assertEquals(7, inserted);
+    List<Task> fetched = taskJdbcDao.findAllByUserId(userId);
+    assertEquals(7, fetched.size());
+    assertTrue(fetched.stream().allMatch(t -> t.getStatus() == Status.TODO));
+  }
+
+  @Test
+  @DisplayName("insert and update: should each surface the task in the changes feed")
+  void writes_ShouldShowUpInChangesFeed() {
+    LocalDateTime created = LocalDateTime.now().minusMinutes(1);
+    User user = new User();
+    user.setId(userId);
+    Task t = new Task();
+    t.setId(UUID.randomUUID());
+    t.setTitle("Synced");
+    t.setStatus(Status.TODO);
+    t.setCreatedAt(created);
+    t.setUser(user);
+
+    taskJdbcDao.insert(t);
+    ChangedTask inserted = changedAfter(created.minusSeconds(1), new UUID(0, 0));
+    assertEquals(t.getId(), inserted.task().id());
+
+    t.setTitle("Synced again");
+    taskJdbcDao.update(t);
+    ChangedTask updated = changedAfter(inserted.updatedAt(), t.getId());
+    assertEquals("Synced again", updated.task().title());
+    assertTrue(updated.updatedAt().isAfter(created));
+  }
+
+  private ChangedTask changedAfter(LocalDateTime time, UUID id) {
+    List<ChangedTask> changes = taskRepository.findChangedAfter(userId, time, id, Limit.of(10));
+    assertEquals(1, changes.size());
+    return changes.get(0);
+  }
 }
@@ -5,12 +5,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.User;
+import com.example.todolist.service.sort.NameCollation;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
 
 @DataJpaTest
 @DisplayName("CategoryRepository tests")
@@ -77,4 +79,65 @@ class CategoryRepositoryTest {
     assertEquals("Work", categories.get(0).getName());
     assertEquals("Home", categories.get(1).getName());
   }
+
+  @Test
+  @DisplayName("findListItemsByUserId should project only the given user's categories")
+  void findListItemsByUserId_shouldProjectUserCategories() {
+    List<CategoryListItem> items = categoryRepository.findListItemsByUserId(user.getId());
+
+    assertEquals(2, items.size());
+    assertTrue(items.stream().allMatch(c -> c.userId().equals(user.getId())));
+    assertEquals(
+        List.of("Home", "Work"), items.stream().map(CategoryListItem::name).sorted().toList());
+    assertEquals("#FFFFFF", items.get(0).color());
+  }
+
+  @Test
+  @DisplayName("findAllByUserId with a sort on nameSortKey should return collation order")
+  void findAllByUserId_SortedByNameSortKey() {
+    for (String name : List.of("Żaba", "Łódź", "Zebra", "ąbc", "Lato")) {
+      Category c = new Category();
+      c.setName(name);
+      c.setNameSortKey(NameCollation.sortKey(name));
+      c.setNameSortKeyVersion(NameCollation.SORT_KEY_VERSION);
+      c.setUser(fakeUser);
+      categoryRepository.save(c);
+    }
+
+    List<String> names =
+        categoryRepository.findAllByUserId(fakeUser.getId(), Sort.by("nameSortKey")).stream()
+            .filter(c -> c.getNameSortKey() != null)
+            .map(Category::getName)
+            .toList();
+
+    assertEquals(List.of("ąbc", "Lato", "Łódź", "Zebra", "Żaba"), names);
+  }
+
+  @Test
+  @DisplayName("findAllWithStaleSortKey should return missing and outdated keys only")
+  void findAllWithStaleSortKey_ReturnsMissingAndOutdated() {
+    Category current = new Category();
+    current.setName("Dom");
+    current.setNameSortKey(NameCollation.sortKey("Dom"));
+    current.setNameSortKeyVersion(NameCollation.SORT_KEY_VERSION);
+    current.setUser(fakeUser);
+    Category outdated = new Category();
+    outdated.setName("Praca");
+    outdated.setNameSortKey(new byte[] {0x7f});
+    outdated.setNameSortKeyVersion("17:0");
+    outdated.setUser(fakeUser);
+    Category missing = new Category();
+    missing.setName("Sport");
+    missing.setUser(fakeUser);
+    List<Category> fixtures = categoryRepository.saveAll(List.of(current, outdated, missing));
+
+    List<String> names =
+        categoryRepository.findAllWithStaleSortKey(NameCollation.SORT_KEY_VERSION).stream()
+            .filter(fixtures::contains)
+            .map(Category::getName)
+            .sorted()
+            .toList();
+
+    assertEquals(List.of("Praca", "Sport"), names);
+  }
 }
@@ -5,24 +5,41 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
+import com.example.todolist.entity.TaskDeletion;
 import com.example.todolist.entity.User;
+import com.example.todolist.service.search.TaskSearchIndex;
+import com.example.todolist.service.search.Trigrams;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @DataJpaTest
+@Import(TaskSearchIndex.class)
 @DisplayName("TaskRepository tests")
 class TaskRepositoryTest {
 
   @Autowired TaskRepository taskRepository;
+  @Autowired JdbcTemplate jdbcTemplate;
   @Autowired CategoryRepository categoryRepository;
   @Autowired UserRepository userRepository;
+  @Autowired TaskSearchIndex taskSearchIndex;
+  @Autowired TaskSearchTermRepository taskSearchTermRepository;
+  @Autowired TaskDeletionRepository taskDeletionRepository;
 
   private User user1;
   private User user2;
@@ -56,37 +73,229 @@ class TaskRepositoryTest {
     cat2 = categoryRepository.save(cat2);
   }
 
+  private Task saveTask(String title, String description) {
+    Task t = new Task();
+    t.setTitle(title);
+    t.setDescription(description);
+    t.setStatus(Status.TODO);
+    t.setUser(user1);
+    t.setCategory(cat1);
+    taskRepository.save(t);
+    taskSearchIndex.index(t);
+    return t;
+  }
+
+  private TaskSearchCriteria keyword(String query) {
+    return new TaskSearchCriteria(user1.getId(), Trigrams.keywords(query), null, null, null, null);
+  }
+
+  private static List<UUID> ids(Task... tasks) {
+    return Arrays.stream(tasks).map(Task::getId).toList();
+  }
+
+  private static List<UUID> ids(List<TaskListItem> items) {
+    return items.stream().map(TaskListItem::id).toList();
+  }
+
   @Test
-  @DisplayName("searchTasksByFilter should return tasks matching keyword")
-  void searchTasksByTitle_shouldReturnMatchingTasks() {
-    Task t1 = new Task();
-    t1.setTitle("Shopping list");
-    t1.setStatus(Status.TODO);
-    t1.setUser(user1);
-    t1.setCategory(cat1);
-    taskRepository.save(t1);
+  @DisplayName("findModifiedAt should read the task's timestamp only for its owner")
+  void findModifiedAt_ShouldCheckOwner() {
+    Task task = saveTask("A", null);
+    taskRepository.flush();
 
-    Task t2 = new Task();
-    t2.setTitle("Shop for car parts");
-    t2.setStatus(Status.TODO);
-    t2.setUser(user1);
-    t2.setCategory(cat1);
-    taskRepository.save(t2);
+    assertTrue(taskRepository.findModifiedAt(task.getId(), user1.getId()).isPresent());
+    assertTrue(taskRepository.findModifiedAt(task.getId(), user2.getId()).isEmpty());
+  }
 
-    Task t3 = new Task();
-    t3.setTitle("Random task");
-    t3.setStatus(Status.TODO);
-    t3.setUser(user1);
-    t3.setCategory(cat1);
-    taskRepository.save(t3);
+  @Test
+  @DisplayName("sliceTasksByFilter should tell whether a next page exists without counting")
+  void sliceTasksByFilter_ShouldReportNextPage() {
+    saveTask("A", null);
+    saveTask("B", null);
+    saveTask("C", null);
+    TaskSearchCriteria criteria =
+        new TaskSearchCriteria(user1.getId(), List.of(), null, null, null, null);
+
+    Slice<TaskListItem> first =
+        taskRepository.sliceTasksByFilter(criteria, PageRequest.of(0, 2, Sort.by("title")));
+    Slice<TaskListItem> last =
+        taskRepository.sliceTasksByFilter(criteria, PageRequest.of(1, 2, Sort.by("title")));
+
+    assertEquals(List.of("A", "B"), first.map(TaskListItem::title).getContent());
+    assertTrue(first.hasNext());
+    assertEquals(List.of("C"), last.map(TaskListItem::title).getContent());
+    assertFalse(last.hasNext());
+    assertEquals(3, taskRepository.countTasksByFilter(criteria));
+  }
 
-    Page<Task> result =
-        taskRepository.searchTasksByFilter(
-            user1.getId(), "shop", null, null, null, null, PageRequest.of(0, 10));
+  @Test
+  @DisplayName("sliceTasksByFilter should read category columns and sort by category name")
+  void sliceTasksByFilter_ShouldProjectCategoryColumns() {
+    Category home = new Category();
+    home.setName("Home");
+    home.setColor("#000000");
+    home.setUser(user1);
+    categoryRepository.save(home);
+    Task atWork = saveTask("Report", null);
+    Task atHome = saveTask("Dishes", null);
+    atHome.setCategory(home);
+    Task uncategorized = saveTask("Someday", null);
+    uncategorized.setCategory(null);
+    taskRepository.flush();
+
+    List<TaskListItem> result =
+        taskRepository
+            .sliceTasksByFilter(
+                new TaskSearchCriteria(user1.getId(), List.of(), null, null, null, null),
+                PageRequest.of(0, 10, Sort.by("category.name")))
+            .getContent();
+
+    assertEquals(3, result.size());
+    assertEquals(ids(atHome, atWork), ids(result.subList(1, 3)));
+    assertEquals(uncategorized.getId(), result.get(0).id());
+    assertEquals(
+        List.of("Home", "Work"),
+        List.of(result.get(1).categoryName(), result.get(2).categoryName()));
+    assertEquals("#000000", result.get(1).categoryColor());
+    assertEquals(user1.getId(), result.get(1).userId());
+  }
 
-    assertEquals(2, result.getTotalElements());
+  @Test
+  @DisplayName("sliceTasksByFilter should return tasks whose words start with the keyword")
+  void sliceTasksByFilter_ShouldReturnPrefixMatches() {
+    saveTask("Shopping list", null);
+    saveTask("Shop for car parts", null);
+    saveTask("Random task", "groceries");
+
+    Slice<TaskListItem> result =
+        taskRepository.sliceTasksByFilter(keyword("shop"), PageRequest.of(0, 10, Sort.by("title")));
+
+    assertEquals(2, result.getNumberOfElements());
     assertTrue(
-        result.getContent().stream().allMatch(t -> t.getTitle().toLowerCase().contains("shop")));
+        result.getContent().stream().allMatch(t -> t.title().toLowerCase().startsWith("shop")));
+    assertEquals(2, taskRepository.countTasksByFilter(keyword("sh")));
+  }
+
+  @Test
+  @DisplayName("indexMissing should index tasks written without search terms and then stop")
+  void indexMissing_ShouldIndexUnindexedTasks() {
+    Task unindexed = new Task();
+    unindexed.setTitle("Unindexed groceries");
+    unindexed.setStatus(Status.TODO);
+    unindexed.setUser(user1);
+    taskRepository.save(unindexed);
+    Task noTrigrams = new Task();
+    noTrigrams.setTitle("--");
+    noTrigrams.setStatus(Status.TODO);
+    noTrigrams.setUser(user1);
+    taskRepository.save(noTrigrams);
+
+    taskSearchIndex.indexMissing();
+
+    assertEquals(
+        ids(unindexed),
+        ids(
+            taskRepository
+                .sliceTasksByFilter(keyword("groceries"), PageRequest.of(0, 10))
+                .getContent()));
+    assertTrue(taskSearchTermRepository.findAllByTaskId(noTrigrams.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("sliceTasksByFilter should return nothing for a keyword without trigrams")
+  void sliceTasksByFilter_ShouldMatchNothingForKeywordWithoutTrigrams() {
+    saveTask("-- draft --", null);
+    saveTask("Shopping list", null);
+    TaskSearchCriteria criteria =
+        new TaskSearchCriteria(user1.getId(), Trigrams.keywords("--"), null, null, null, null);
+
+    Slice<TaskListItem> result =
+        taskRepository.sliceTasksByFilter(
+            criteria, PageRequest.of(0, 10, Sort.by(TaskRepositoryCustom.RELEVANCE)));
+
+    assertTrue(result.getContent().isEmpty());
+    assertEquals(0, taskRepository.countTasksByFilter(criteria));
+  }
+
+  @Test
+  @DisplayName("sliceTasksByFilter should find keywords inside words like the former LIKE filter")
+  void sliceTasksByFilter_ShouldReturnSubstringMatches() {
+    Task task = saveTask("Task A", null);
+    Task workshop = saveTask("Visit the workshop", null);
+    Task project = saveTask("Project plan", null);
+    saveTask("Call the plumber", null);
+
+    assertEquals(
+        ids(task),
+        ids(taskRepository.sliceTasksByFilter(keyword("ask"), PageRequest.of(0, 10)).getContent()));
+    assertEquals(
+        ids(workshop),
+        ids(
+            taskRepository
+                .sliceTasksByFilter(keyword("shop"), PageRequest.of(0, 10))
+                .getContent()));
+    assertEquals(
+        ids(project),
+        ids(
+            taskRepository
+                .sliceTasksByFilter(keyword("roject"), PageRequest.of(0, 10))
+                .getContent()));
+  }
+
+  @Test
+  @DisplayName("sliceTasksByFilter should require every word of a multi-word keyword")
+  void sliceTasksByFilter_ShouldRequireEveryKeywordWord() {
+    Task both = saveTask("Spotkanie z klientem", null);
+    saveTask("Spotkanie zespołu", null);
+    saveTask("Telefon do klienta", null);
+
+    assertEquals(
+        ids(both),
+        ids(
+            taskRepository
+                .sliceTasksByFilter(keyword("spotkanie klient"), PageRequest.of(0, 10))
+                .getContent()));
+  }
+
+  @Test
+  @DisplayName("sliceTasksByFilter should tolerate typos and rank title matches first")
+  void sliceTasksByFilter_ShouldMatchFuzzilyAndRankByRelevance() {
+    Task inDescription = saveTask("Weekend", "groceries and shopping");
+    Task inTitle = saveTask("Shopping list", null);
+    saveTask("Call the plumber", null);
+
+    Slice<TaskListItem> result =
+        taskRepository.sliceTasksByFilter(
+            keyword("shoping"),
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, TaskRepositoryCustom.RELEVANCE)));
+
+    assertEquals(ids(inTitle, inDescription), ids(result.getContent()));
+  }
+
+  @Test
+  @DisplayName("sliceTasksByFilter should ignore other users' tasks and apply the other filters")
+  void sliceTasksByFilter_ShouldCombineKeywordWithFilters() {
+    Task todo = saveTask("Pay rent", null);
+    Task done = saveTask("Pay taxes", null);
+    done.setStatus(Status.DONE);
+    Task foreign = new Task();
+    foreign.setTitle("Pay bills");
+    foreign.setStatus(Status.TODO);
+    foreign.setUser(user2);
+    taskRepository.save(foreign);
+    taskSearchIndex.index(foreign);
+
+    TaskSearchCriteria byKeyword = keyword("pay");
+    TaskSearchCriteria byKeywordAndStatus =
+        new TaskSearchCriteria(user1.getId(), byKeyword.keywords(), Status.TODO, null, null, null);
+
+    assertEquals(2, taskRepository.countTasksByFilter(byKeyword));
+    assertEquals(
+        ids(todo),
+        ids(
+            taskRepository
+                .sliceTasksByFilter(byKeywordAndStatus, PageRequest.of(0, 10))
+                .getContent()));
   }
 
   @Test
@@ -157,62 +366,302 @@ class TaskRepositoryTest {
   }
 
   @Test
-  @DisplayName("countByUserId should return correct task count for user")
-  void countByUserId_ShouldReturnCorrectCount() {
-    Task t1 = new Task();
-    t1.setTitle("A");
-    t1.setStatus(Status.TODO);
-    t1.setUser(user1);
-    t1.setCategory(cat1);
-    taskRepository.save(t1);
+  @DisplayName("seekTasksByFilter should walk all pages forward and backward without gaps")
+  void seekTasksByFilter_ShouldWalkPagesInBothDirections() {
+    LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(123_456_789);
+    for (int i = 0; i < 5; i++) {
+      Task t = new Task();
+      t.setTitle("Task " + i);
+      t.setStatus(Status.TODO);
+      t.setUser(user1);
+      t.setCategory(cat1);
+      t.setDueDate(i < 3 ? base.plusDays(i % 2) : null);
+      taskRepository.save(t);
+    }
+    TaskSearchCriteria criteria =
+        new TaskSearchCriteria(user1.getId(), List.of(), null, null, null, null);
+
+    List<TaskListItem> all =
+        taskRepository.seekTasksByFilter(
+            criteria, "dueDate", Sort.Direction.ASC, null, null, false, 10);
+    assertEquals(5, all.size());
+    assertNull(all.get(4).dueDate());
+
+    List<TaskListItem> walked = new ArrayList<>();
+    TaskListItem anchor = null;
+    while (true) {
+      List<TaskListItem> page =
+          taskRepository.seekTasksByFilter(
+              criteria,
+              "dueDate",
+              Sort.Direction.ASC,
+              anchor != null ? anchor.dueDate() : null,
+              anchor != null ? anchor.id() : null,
+              false,
+              2);
+      if (page.isEmpty()) {
+        break;
+      }
+      walked.addAll(page);
+      assertTrue(walked.size() <= all.size(), "page walk returned a task twice");
+      anchor = page.get(page.size() - 1);
+    }
+    assertEquals(all, walked);
+
+    TaskListItem last = all.get(4);
+    List<TaskListItem> before =
+        taskRepository.seekTasksByFilter(
+            criteria, "dueDate", Sort.Direction.ASC, last.dueDate(), last.id(), true, 10);
+    assertEquals(List.of(all.get(3), all.get(2), all.get(1), all.get(0)), before);
+  }
 
-    Task t2 = new Task();
-    t2.setTitle("B");
-    t2.setStatus(Status.TODO);
-    t2.setUser(user1);
-    t2.setCategory(cat1);
-    taskRepository.save(t2);
+  @Test
+  @DisplayName("seekTasksByFilter should match a nanosecond anchor to its own row")
+  void seekTasksByFilter_ShouldCompareNanosecondAnchorAtColumnPrecision() {
+    // stored as .123456 whether the write rounds or truncates
+    LocalDateTime due = LocalDateTime.now().plusDays(1).withNano(123_456_123);
+    Task t = new Task();
+    t.setTitle("Nanos");
+    t.setStatus(Status.TODO);
+    t.setUser(user1);
+    t.setDueDate(due);
+    taskRepository.save(t);
+    TaskSearchCriteria criteria =
+        new TaskSearchCriteria(user1.getId(), List.of(), null, null, null, null);
+
+    List<TaskListItem> after =
+        taskRepository.seekTasksByFilter(
+            criteria, "dueDate", Sort.Direction.ASC, due, t.getId(), false, 10);
+    List<TaskListItem> before =
+        taskRepository.seekTasksByFilter(
+            criteria, "dueDate", Sort.Direction.ASC, due, t.getId(), true, 10);
+
+    assertTrue(after.stream().noneMatch(item -> item.id().equals(t.getId())));
+    assertTrue(before.stream().noneMatch(item -> item.id().equals(t.getId())));
+  }
 
-    Task t3 = new Task();
-    t3.setTitle("C");
-    t3.setStatus(Status.TODO);
-    t3.setUser(user2);
-    t3.setCategory(cat2);
-    taskRepository.save(t3);
+  @Test
+  @DisplayName("seekTasksByFilter should order by category name including tasks without category")
+  void seekTasksByFilter_ShouldSortByCategoryNameWithNullsLast() {
+    Task withCategory = new Task();
+    withCategory.setTitle("With");
+    withCategory.setStatus(Status.TODO);
+    withCategory.setUser(user1);
+    withCategory.setCategory(cat1);
+    taskRepository.save(withCategory);
+
+    Task withoutCategory = new Task();
+    withoutCategory.setTitle("Without");
+    withoutCategory.setStatus(Status.TODO);
+    withoutCategory.setUser(user1);
+    taskRepository.save(withoutCategory);
+
+    List<TaskListItem> result =
+        taskRepository.seekTasksByFilter(
+            new TaskSearchCriteria(user1.getId(), List.of(), null, null, null, null),
+            "category.name",
+            Sort.Direction.DESC,
+            null,
+            null,
+            false,
+            10);
+
+    assertEquals(ids(withCategory, withoutCategory), ids(result));
+    assertEquals(cat1.getName(), result.get(0).categoryName());
+    assertEquals(cat1.getColor(), result.get(0).categoryColor());
+    assertNull(result.get(1).categoryId());
+  }
 
-    long count = taskRepository.countByUserId(user1.getId());
+  @Test
+  @DisplayName("aggregateStatsByUserId should group counts by status and category in one query")
+  void aggregateStatsByUserId_ShouldGroupByStatusAndCategory() {
+    LocalDateTime now = LocalDateTime.now();
+    Task overdue = new Task();
+    overdue.setTitle("Overdue");
+    overdue.setStatus(Status.TODO);
+    overdue.setUser(user1);
+    overdue.setCategory(cat1);
+    overdue.setDueDate(now.minusDays(1));
+    taskRepository.save(overdue);
+
+    Task doneLate = new Task();
+    doneLate.setTitle("Done late");
+    doneLate.setStatus(Status.DONE);
+    doneLate.setUser(user1);
+    doneLate.setCategory(cat1);
+    doneLate.setDueDate(now.minusDays(1));
+    taskRepository.save(doneLate);
+
+    Task uncategorized = new Task();
+    uncategorized.setTitle("No category");
+    uncategorized.setStatus(Status.TODO);
+    uncategorized.setUser(user1);
+    taskRepository.save(uncategorized);
+
+    Task otherUser = new Task();
+    otherUser.setTitle("Other");
+    otherUser.setStatus(Status.TODO);
+    otherUser.setUser(user2);
+    otherUser.setCategory(cat2);
+    taskRepository.save(otherUser);
+
+    List<TaskStatsRow> rows = taskRepository.aggregateStatsByUserId(user1.getId(), now);
+
+    assertEquals(3, rows.size());
+    assertEquals(3L, rows.stream().mapToLong(TaskStatsRow::getTotal).sum());
+    assertEquals(1L, rows.stream().mapToLong(TaskStatsRow::getOverdue).sum());
+    assertTrue(
+        rows.stream()
+            .anyMatch(
+                r ->
+                    r.getStatus() == Status.DONE
+                        && cat1.getId().equals(r.getCategoryId())
+                        && "Work".equals(r.getCategoryName())));
+  }
 
-    assertEquals(2, count);
+  private TaskSearchCriteria allOf(User user) {
+    return new TaskSearchCriteria(user.getId(), List.of(), null, null, null, null);
   }
 
   @Test
-  @DisplayName("countByUserIdAndStatus should return correct count for status")
-  void countByUserIdAndStatus_ShouldReturnCorrectCount() {
-    Task t1 = new Task();
-    t1.setTitle("A");
-    t1.setStatus(Status.TODO);
-    t1.setUser(user1);
-    t1.setCategory(cat1);
-    taskRepository.save(t1);
+  @DisplayName("updateTasksByFilter should update only the listed tasks of the user")
+  void updateTasksByFilter_ShouldUpdateListedTasks() {
+    Task first = saveTask("First", null);
+    Task second = saveTask("Second", null);
+    Task untouched = saveTask("Third", null);
+    Task foreign = new Task();
+    foreign.setTitle("Foreign");
+    foreign.setStatus(Status.TODO);
+    foreign.setUser(user2);
+    taskRepository.save(foreign);
+
+    int updated =
+        taskRepository.updateTasksByFilter(
+            allOf(user1),
+            List.of(first.getId(), second.getId(), foreign.getId()),
+            "status",
+            Status.DONE);
+
+    assertEquals(2, updated);
+    assertEquals(Status.DONE, taskRepository.findById(first.getId()).orElseThrow().getStatus());
+    assertEquals(Status.DONE, taskRepository.findById(second.getId()).orElseThrow().getStatus());
+    assertEquals(Status.TODO, taskRepository.findById(untouched.getId()).orElseThrow().getStatus());
+    assertEquals(Status.TODO, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+  }
 
-    Task t2 = new Task();
-    t2.setTitle("B");
-    t2.setStatus(Status.TODO);
-    t2.setUser(user1);
-    t2.setCategory(cat1);
-    taskRepository.save(t2);
+  @Test
+  @DisplayName("updateTasksByFilter should clear a field for every task matching the filter")
+  void updateTasksByFilter_ShouldClearFieldByFilter() {
+    saveTask("Pay rent", null);
+    saveTask("Pay taxes", null);
+    Task other = saveTask("Walk the dog", null);
+
+    int updated = taskRepository.updateTasksByFilter(keyword("pay"), null, "category", null);
+
+    assertEquals(2, updated);
+    assertEquals(
+        List.of(other.getId()),
+        taskRepository.findAllByUserId(user1.getId()).stream()
+            .filter(t -> t.getCategory() != null)
+            .map(Task::getId)
+            .toList());
+  }
 
-    Task t3 = new Task();
-    t3.setTitle("C");
-    t3.setStatus(Status.DONE);
-    t3.setUser(user1);
-    t3.setCategory(cat1);
-    taskRepository.save(t3);
+  @Test
+  @DisplayName("deleteTasksByFilter should delete matching tasks with their search terms")
+  void deleteTasksByFilter_ShouldDeleteTasksAndTerms() {
+    Task rent = saveTask("Pay rent", null);
+    Task taxes = saveTask("Pay taxes", null);
+    Task dog = saveTask("Walk the dog", null);
+
+    int deleted = taskRepository.deleteTasksByFilter(keyword("pay"), null);
+
+    assertEquals(2, deleted);
+    List<UUID> remaining =
+        taskRepository.findAllByUserId(user1.getId()).stream().map(Task::getId).toList();
+    assertEquals(List.of(dog.getId()), remaining);
+    assertTrue(taskSearchTermRepository.findAllByTaskId(rent.getId()).isEmpty());
+    assertTrue(taskSearchTermRepository.findAllByTaskId(taxes.getId()).isEmpty());
+    assertFalse(taskSearchTermRepository.findAllByTaskId(dog.getId()).isEmpty());
+    assertEquals(
+        Set.of(rent.getId(), taxes.getId()),
+        Set.copyOf(
+            taskDeletionRepository
+                .findDeletedAfter(
+                    user1.getId(), LocalDateTime.of(2000, 1, 1, 0, 0), new UUID(0, 0), Limit.of(10))
+                .stream()
+                .map(TaskDeletion::getTaskId)
+                .toList()));
+  }
 
-    long countTodo = taskRepository.countByUserIdAndStatus(user1.getId(), Status.TODO);
-    long countDone = taskRepository.countByUserIdAndStatus(user1.getId(), Status.DONE);
+  @Test
+  @DisplayName("deleteTasksByFilter should write tombstones only for the listed tasks")
+  void deleteTasksByFilter_ShouldTombstoneListedIds() {
+    Task rent = saveTask("Pay rent", null);
+    saveTask("Pay taxes", null);
+
+    int deleted = taskRepository.deleteTasksByFilter(keyword("pay"), List.of(rent.getId()));
+
+    assertEquals(1, deleted);
+    assertEquals(
+        List.of(rent.getId()),
+        taskDeletionRepository
+            .findDeletedAfter(
+                user1.getId(), LocalDateTime.of(2000, 1, 1, 0, 0), new UUID(0, 0), Limit.of(10))
+            .stream()
+            .map(TaskDeletion::getTaskId)
+            .toList());
+  }
+
+  @Test
+  @DisplayName("findChangedAfter should return the user's tasks after a position in update order")
+  void findChangedAfter_ShouldSeekInUpdateOrder() {
+    Task first = saveTask("First", null);
+    Task second = saveTask("Second", null);
+    Task third = saveTask("Third", null);
+    taskRepository.flush();
+    LocalDateTime time = LocalDateTime.of(2030, 1, 1, 12, 0);
+    for (Task task : List.of(first, second, third)) {
+      jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?", time, task.getId());
+    }
+    jdbcTemplate.update(
+        "UPDATE tasks SET updated_at = ? WHERE id = ?", time.plusSeconds(1), first.getId());
+    List<UUID> sameTime =
+        jdbcTemplate.queryForList(
+            "SELECT id FROM tasks WHERE updated_at = ? ORDER BY id", UUID.class, time);
+
+    List<ChangedTask> all =
+        taskRepository.findChangedAfter(
+            user1.getId(), time.minusDays(1), new UUID(0, 0), Limit.of(10));
+    List<ChangedTask> afterFirstTie =
+        taskRepository.findChangedAfter(user1.getId(), time, sameTime.get(0), Limit.of(10));
+
+    assertEquals(
+        List.of(sameTime.get(0), sameTime.get(1), first.getId()),
+        all.stream().map(changed -> changed.task().id()).toList());
+    assertEquals(
+        List.of(sameTime.get(1), first.getId()),
+        afterFirstTie.stream().map(changed -> changed.task().id()).toList());
+    assertEquals("Work", all.get(0).task().categoryName());
+    assertTrue(
+        taskRepository
+            .findChangedAfter(user2.getId(), time.minusDays(1), new UUID(0, 0), Limit.of(10))
+            .isEmpty());
+  }
 
-    assertEquals(2, countTodo);
-    assertEquals(1, countDone);
+  @Test
+  @DisplayName("clearCategory should uncategorize all tasks of the category in one statement")
+  void clearCategory_ShouldUncategorizeTasks() {
+    Task first = saveTask("First", null);
+    Task second = saveTask("Second", null);
+
+    int updated = taskRepository.clearCategory(cat1.getId(), LocalDateTime.now());
+    categoryRepository.deleteById(cat1.getId());
+    categoryRepository.flush();
+
+    assertEquals(2, updated);
+    assertNull(taskRepository.findById(first.getId()).orElseThrow().getCategory());
+    assertNull(taskRepository.findById(second.getId()).orElseThrow().getCategory());
+    assertTrue(categoryRepository.findById(cat1.getId()).isEmpty());
   }
 }
@@ -1,8 +1,10 @@
 package com.example.todolist.repository;
 
 import static org.hibernate.validator.internal.util.Contracts.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.example.todolist.entity.User;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,4 +30,24 @@ class UserRepositoryTest {
 
     assertTrue(foundUser.isPresent(), "User not found");
   }
+
+  @Test
+  @DisplayName("incrementDataVersion should bump the counter read by findDataVersion")
+  void incrementDataVersionBumpsCounter() {
+    User user = new User();
+    user.setEmail("version@gmail.com");
+    user.setPassword("password");
+    user.setRole("USER");
+    user = userRepository.saveAndFlush(user);
+    UserDataVersion initial = userRepository.findDataVersion(user.getId()).orElseThrow();
+    LocalDateTime now = initial.modifiedAt().plusSeconds(1);
+
+    int updated = userRepository.incrementDataVersion(user.getId(), now);
+
+    UserDataVersion bumped = userRepository.findDataVersion(user.getId()).orElseThrow();
+    assertEquals(1, updated);
+    assertEquals(0, initial.version());
+    assertEquals(1, bumped.version());
+    assertEquals(now, bumped.modifiedAt());
+  }
 }
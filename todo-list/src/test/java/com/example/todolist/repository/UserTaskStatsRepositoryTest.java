@@ -0,0 +1,61 @@
+package com.example.todolist.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.todolist.entity.UserTaskStats;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@DataJpaTest
+@DisplayName("UserTaskStatsRepository tests")
+class UserTaskStatsRepositoryTest {
+
+  @Autowired private UserTaskStatsRepository statsRepository;
+
+  private UserTaskStats counters(UUID userId, UUID categoryId) {
+    UserTaskStats stats = new UserTaskStats();
+    stats.setUserId(userId);
+    stats.setCategoryId(categoryId);
+    return statsRepository.save(stats);
+  }
+
+  @Test
+  @DisplayName("increment should only touch the row of the given category")
+  void increment_ShouldTargetMatchingRow() {
+    UUID userId = UUID.randomUUID();
+    UUID categoryId = UUID.randomUUID();
+    UserTaskStats uncategorized = counters(userId, UserTaskStats.NO_CATEGORY);
+    UserTaskStats categorized = counters(userId, categoryId);
+
+    assertEquals(1, statsRepository.increment(userId, UserTaskStats.NO_CATEGORY, 2, 1, 0, 1));
+    assertEquals(1, statsRepository.increment(userId, categoryId, 1, 0, 1, 0));
+    assertEquals(
+        0, statsRepository.increment(UUID.randomUUID(), UserTaskStats.NO_CATEGORY, 1, 1, 0, 0));
+
+    UserTaskStats refreshedUncategorized =
+        statsRepository.findByUserIdAndCategoryId(userId, UserTaskStats.NO_CATEGORY).orElseThrow();
+    assertEquals(uncategorized.getId(), refreshedUncategorized.getId());
+    assertEquals(2, statsRepository.findAllByUserId(userId).size());
+    assertTrue(statsRepository.existsByUserId(userId));
+    assertEquals(2, statsRepository.deleteAllByUserId(userId));
+    assertFalse(statsRepository.existsByUserId(userId));
+    assertNotNull(categorized.getId());
+  }
+
+  @Test
+  @DisplayName("a second uncategorized row for the same user should violate the unique key")
+  void uncategorizedRow_ShouldBeUniquePerUser() {
+    UUID userId = UUID.randomUUID();
+    counters(userId, UserTaskStats.NO_CATEGORY);
+
+    UserTaskStats duplicate = new UserTaskStats();
+    duplicate.setUserId(userId);
+    duplicate.setCategoryId(UserTaskStats.NO_CATEGORY);
+    assertThrows(
+        DataIntegrityViolationException.class, () -> statsRepository.saveAndFlush(duplicate));
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.todolist.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.todolist.config.CategoryCacheProperties;
+import com.example.todolist.repository.CategoryListItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@DisplayName("CategoryCache")
+class CategoryCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private CategoryCache cache;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache =
+        new CategoryCache(new CategoryCacheProperties(100, Duration.ofMinutes(5)), meterRegistry);
+  }
+
+  private List<CategoryListItem> load(UUID userId) {
+    loads.incrementAndGet();
+    return new ArrayList<>(List.of(new CategoryListItem(UUID.randomUUID(), "Work", null, userId)));
+  }
+
+  private double gets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", CategoryCache.NAME)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  @Test
+  @DisplayName("loads once per user and publishes hits and misses")
+  void loadsOncePerUser() {
+    UUID userId = UUID.randomUUID();
+
+    List<CategoryListItem> first = cache.get(userId, this::load);
+    List<CategoryListItem> second = cache.get(userId, this::load);
+
+    assertSame(first, second);
+    assertEquals(1, loads.get());
+    assertEquals(1, gets("hit"));
+    assertEquals(1, gets("miss"));
+    assertNotNull(
+        meterRegistry.find("cache.evictions").tag("cache", CategoryCache.NAME).functionCounter());
+    assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+  }
+
+  @Test
+  @DisplayName("evict makes the next read load again")
+  void evictReloads() {
+    UUID userId = UUID.randomUUID();
+    UUID otherUserId = UUID.randomUUID();
+    cache.get(userId, this::load);
+    cache.get(otherUserId, this::load);
+
+    cache.evict(userId);
+    cache.get(userId, this::load);
+    cache.get(otherUserId, this::load);
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  @DisplayName("evict inside a transaction drops the entry again after commit")
+  void evictAfterCommit() {
+    UUID userId = UUID.randomUUID();
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cache.evict(userId);
+      cache.get(userId, this::load);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    cache.get(userId, this::load);
+
+    assertEquals(2, loads.get());
+  }
+}
@@ -4,14 +4,21 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.example.todolist.config.CategoryCacheProperties;
 import com.example.todolist.dto.request.CreateCategoryRequest;
 import com.example.todolist.dto.request.UpdateCategoryRequest;
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.User;
 import com.example.todolist.exception.CategoryNotFoundException;
+import com.example.todolist.repository.CategoryListItem;
 import com.example.todolist.repository.CategoryRepository;
 import com.example.todolist.repository.TaskRepository;
-import com.example.todolist.repository.UserRepository;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeType;
+import com.example.todolist.service.sort.NameCollation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,7 +28,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +37,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 class CategoryServiceTest {
 
   @Mock CategoryRepository categoryRepository;
-  @Mock UserRepository userRepository;
   @Mock UserService userService;
   @Mock TaskRepository taskRepository;
+  @Mock TaskStatsService taskStatsService;
+  @Mock DataVersionService dataVersionService;
+  @Mock ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  CategoryCache categoryCache =
+      new CategoryCache(
+          new CategoryCacheProperties(100, Duration.ofMinutes(5)), new SimpleMeterRegistry());
+
   @InjectMocks CategoryService categoryService;
 
   private User user;
@@ -52,6 +68,10 @@ class CategoryServiceTest {
     return c;
   }
 
+  private CategoryListItem item(String name) {
+    return new CategoryListItem(UUID.randomUUID(), name, null, userId);
+  }
+
   @Nested
   @DisplayName("findCategoryById")
   class FindCategoryById {
@@ -90,7 +110,8 @@ class CategoryServiceTest {
       when(userService.getCurrentUser()).thenReturn(user);
       List<Category> cats =
           new ArrayList<>(List.of(cat("Zebra"), cat("ąĄĄ"), cat("abc"), cat("Żaba"), cat("bcd")));
-      when(categoryRepository.findAllByUserId(userId)).thenReturn(new ArrayList<>(cats));
+      when(categoryRepository.findAllByUserId(eq(userId), any(Sort.class)))
+          .thenReturn(new ArrayList<>(cats));
 
       List<Category> sorted1 = categoryService.findAllCategories("name", null);
       List<Category> sorted2 = categoryService.findAllCategories("name", "asc");
@@ -116,7 +137,8 @@ class CategoryServiceTest {
       Category c4 = cat("Zebra");
       List<Category> cats = Arrays.asList(c1, c2, c3, c4);
 
-      when(categoryRepository.findAllByUserId(userId)).thenAnswer(inv -> new ArrayList<>(cats));
+      when(categoryRepository.findAllByUserId(eq(userId), any(Sort.class)))
+          .thenAnswer(inv -> new ArrayList<>(cats));
 
       List<Category> result = categoryService.findAllCategories("name", "desc");
       List<String> actual = result.stream().map(Category::getName).toList();
@@ -131,11 +153,100 @@ class CategoryServiceTest {
       assertEquals(Arrays.asList("Zebra", "Kot", "Ądrian"), noNull);
     }
 
+    @Test
+    @DisplayName("Returns the database order when every category has a current sort key")
+    void usesDatabaseOrder_WhenSortKeysPresent() {
+      when(userService.getCurrentUser()).thenReturn(user);
+      Category zebra = cat("Zebra");
+      Category abc = cat("abc");
+      zebra.setNameSortKey(NameCollation.sortKey("Zebra"));
+      zebra.setNameSortKeyVersion(NameCollation.SORT_KEY_VERSION);
+      abc.setNameSortKey(NameCollation.sortKey("abc"));
+      abc.setNameSortKeyVersion(NameCollation.SORT_KEY_VERSION);
+      when(categoryRepository.findAllByUserId(
+              userId, Sort.by(Sort.Direction.DESC, "nameSortKey", "id")))
+          .thenReturn(new ArrayList<>(List.of(zebra, abc)));
+
+      List<Category> result = categoryService.findAllCategories("name", "desc");
+
+      assertEquals(List.of(zebra, abc), result);
+    }
+
+    @Test
+    @DisplayName("Sorts in memory when a sort key comes from another collator version")
+    void sortsInMemory_WhenSortKeyVersionDiffers() {
+      when(userService.getCurrentUser()).thenReturn(user);
+      Category zebra = cat("Zebra");
+      Category abc = cat("abc");
+      zebra.setNameSortKey(NameCollation.sortKey("Zebra"));
+      zebra.setNameSortKeyVersion(NameCollation.SORT_KEY_VERSION);
+      abc.setNameSortKey(new byte[] {0x7f});
+      abc.setNameSortKeyVersion("17:0");
+      when(categoryRepository.findAllByUserId(eq(userId), any(Sort.class)))
+          .thenReturn(new ArrayList<>(List.of(zebra, abc)));
+
+      List<Category> result = categoryService.findAllCategories("name", "asc");
+
+      assertEquals(List.of(abc, zebra), result);
+    }
+
+    @Test
+    @DisplayName("refreshSortKeys recomputes missing and outdated keys with the current version")
+    void refreshSortKeys_RecomputesStaleKeys() {
+      Category dom = cat("Dom");
+      Category praca = cat("Praca");
+      praca.setNameSortKey(new byte[] {0x7f});
+      praca.setNameSortKeyVersion("17:0");
+      when(categoryRepository.findAllWithStaleSortKey(NameCollation.SORT_KEY_VERSION))
+          .thenReturn(List.of(dom, praca));
+
+      categoryService.refreshSortKeys();
+
+      assertArrayEquals(NameCollation.sortKey("Dom"), dom.getNameSortKey());
+      assertEquals(NameCollation.SORT_KEY_VERSION, dom.getNameSortKeyVersion());
+      assertArrayEquals(NameCollation.sortKey("Praca"), praca.getNameSortKey());
+      assertEquals(NameCollation.SORT_KEY_VERSION, praca.getNameSortKeyVersion());
+    }
+
+    @Test
+    @DisplayName("Serves the unsorted list from the cache after the first read")
+    void cachesPerUser() {
+      when(userService.getCurrentUser()).thenReturn(user);
+      when(categoryRepository.findListItemsByUserId(userId)).thenReturn(List.of(item("Work")));
+
+      List<CategoryListItem> first = categoryService.findAllCategories();
+      List<CategoryListItem> second = categoryService.findAllCategories();
+
+      assertEquals(first, second);
+      verify(categoryRepository, times(1)).findListItemsByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("Reads the database again after a category of the user changed")
+    void reloadsAfterEviction() {
+      when(userService.getCurrentUser()).thenReturn(user);
+      when(categoryRepository.findListItemsByUserId(userId)).thenReturn(List.of(item("Work")));
+      UUID id = UUID.randomUUID();
+      Category existing = cat("Work");
+      existing.setId(id);
+      existing.setUser(user);
+      when(categoryRepository.findById(id)).thenReturn(Optional.of(existing));
+      when(categoryRepository.save(any(Category.class))).thenAnswer(inv -> inv.getArgument(0));
+
+      categoryService.findAllCategories();
+      categoryService.updateCategory(id, new UpdateCategoryRequest("Home", null));
+      categoryService.findAllCategories();
+
+      verify(categoryCache).evict(userId);
+      verify(categoryRepository, times(2)).findListItemsByUserId(userId);
+    }
+
     @Test
     @DisplayName("Returns empty list if no categories")
     void returnsEmptyList_IfNoCategories() {
       when(userService.getCurrentUser()).thenReturn(user);
-      when(categoryRepository.findAllByUserId(userId)).thenReturn(new ArrayList<>());
+      when(categoryRepository.findAllByUserId(eq(userId), any(Sort.class)))
+          .thenReturn(new ArrayList<>());
 
       List<Category> result = categoryService.findAllCategories("name", "asc");
       assertTrue(result.isEmpty());
@@ -153,7 +264,8 @@ class CategoryServiceTest {
       Category c6 = cat("aBc");
 
       List<Category> cats = Arrays.asList(c1, c2, c3, c4, c5, c6);
-      when(categoryRepository.findAllByUserId(userId)).thenAnswer(inv -> new ArrayList<>(cats));
+      when(categoryRepository.findAllByUserId(eq(userId), any(Sort.class)))
+          .thenAnswer(inv -> new ArrayList<>(cats));
 
       List<Category> resultAsc = categoryService.findAllCategories("name", null);
       List<String> arrAsc = resultAsc.stream().map(Category::getName).toList();
@@ -178,10 +290,6 @@ class CategoryServiceTest {
     @Test
     @DisplayName("should create category when name is unique")
     void shouldCreateCategory() {
-      SecurityContextHolder.getContext()
-          .setAuthentication(new UsernamePasswordAuthenticationToken("test@example.com", null));
-
-      when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
       when(userService.getCurrentUser()).thenReturn(user);
       when(categoryRepository.existsCategoriesByNameAndUserId("Work", userId)).thenReturn(false);
 
@@ -201,15 +309,15 @@ class CategoryServiceTest {
       assertEquals("Work", result.getName());
       assertEquals("#FFF", result.getColor());
       assertEquals(user, result.getUser());
+      verify(categoryCache).evict(userId);
+      verify(dataVersionService).bump(userId);
+      verify(eventPublisher)
+          .publishEvent(new ChangeEvent(userId, ChangeType.CATEGORY_CREATED, saved.getId()));
     }
 
     @Test
     @DisplayName("should throw IllegalArgumentException if category name exists for user")
     void shouldThrowIfExists() {
-      SecurityContextHolder.getContext()
-          .setAuthentication(new UsernamePasswordAuthenticationToken("test@example.com", null));
-
-      when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
       when(userService.getCurrentUser()).thenReturn(user);
       when(categoryRepository.existsCategoriesByNameAndUserId("Work", userId)).thenReturn(true);
 
@@ -234,6 +342,7 @@ class CategoryServiceTest {
       existing.setId(id);
       existing.setName("Old");
       existing.setColor("#000");
+      existing.setUser(user);
 
       UpdateCategoryRequest update = new UpdateCategoryRequest("New", "#FFF");
 
@@ -245,6 +354,25 @@ class CategoryServiceTest {
       assertEquals("New", result.getName());
       assertEquals("#FFF", result.getColor());
       assertEquals(id, result.getId());
+      verify(taskRepository).touchByCategoryId(eq(id), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("should not mark tasks changed when name and color stay the same")
+    void shouldNotTouchTasks_WhenUnchanged() {
+      UUID id = UUID.randomUUID();
+      Category existing = new Category();
+      existing.setId(id);
+      existing.setName("Same");
+      existing.setColor("#000");
+      existing.setUser(user);
+
+      when(categoryRepository.findById(id)).thenReturn(Optional.of(existing));
+      when(categoryRepository.save(any(Category.class))).thenAnswer(inv -> inv.getArgument(0));
+
+      categoryService.updateCategory(id, new UpdateCategoryRequest("Same", "#000"));
+
+      verify(taskRepository, never()).touchByCategoryId(any(), any());
     }
 
     @Test
@@ -269,12 +397,18 @@ class CategoryServiceTest {
       UUID id = UUID.randomUUID();
       Category category = new Category();
       category.setId(id);
+      category.setUser(user);
       when(categoryRepository.findById(id)).thenReturn(Optional.of(category));
 
       categoryService.deleteCategoryById(id);
 
-      verify(categoryRepository).findById(id);
-      verify(categoryRepository).delete(category);
+      InOrder inOrder = inOrder(taskStatsService, taskRepository, categoryRepository);
+      inOrder.verify(taskStatsService).moveToUncategorized(category);
+      inOrder.verify(taskRepository).clearCategory(eq(id), any(LocalDateTime.class));
+      inOrder.verify(categoryRepository).delete(category);
+      verify(categoryCache).evict(userId);
+      verify(dataVersionService).bump(userId);
+      verify(eventPublisher).publishEvent(new ChangeEvent(userId, ChangeType.CATEGORY_DELETED, id));
     }
 
     @Test
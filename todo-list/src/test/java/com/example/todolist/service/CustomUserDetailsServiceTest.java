@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 import com.example.todolist.entity.User;
 import com.example.todolist.repository.UserRepository;
 import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +28,7 @@ class CustomUserDetailsServiceTest {
   @DisplayName("loadUserByUsername returns UserDetails when user exists")
   void loadUserByUsername_ShouldReturnUserDetails_WhenUserExists() {
     User user = new User();
+    user.setId(UUID.randomUUID());
     user.setEmail("test@example.com");
     user.setPassword("hashedPassword");
     user.setRole("USER");
@@ -35,6 +37,8 @@ class CustomUserDetailsServiceTest {
 
     UserDetails userDetails = customUserDetailsService.loadUserByUsername("test@example.com");
 
+    assertEquals(user.getId(), assertInstanceOf(AuthenticatedUser.class, userDetails).getId());
+
     assertEquals("test@example.com", userDetails.getUsername());
     assertEquals("hashedPassword", userDetails.getPassword());
     assertTrue(
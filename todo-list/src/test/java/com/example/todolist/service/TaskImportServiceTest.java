@@ -0,0 +1,163 @@
+package com.example.todolist.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.example.todolist.config.TaskImportProperties;
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Status;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.repository.CategoryRepository;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeType;
+import com.example.todolist.service.search.TaskSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskImportService")
+class TaskImportServiceTest {
+
+  private static final String HEADER = "title;description;status;dueDate;categoryName\n";
+
+  @Mock TaskJdbcDao taskJdbcDao;
+  @Mock CategoryRepository categoryRepository;
+  @Mock UserService userService;
+  @Mock TaskStatsService taskStatsService;
+  @Mock TaskSearchIndex taskSearchIndex;
+  @Mock Validator validator;
+  @Mock EntityManager entityManager;
+  @Mock DataVersionService dataVersionService;
+  @Mock ApplicationEventPublisher eventPublisher;
+
+  TaskImportService taskImportService;
+  User user;
+
+  @BeforeEach
+  void setUp() {
+    taskImportService =
+        new TaskImportService(
+            taskJdbcDao,
+            categoryRepository,
+            userService,
+            taskStatsService,
+            taskSearchIndex,
+            validator,
+            new TaskImportProperties(2, 1, 1, 100, Duration.ofHours(1)),
+            entityManager,
+            dataVersionService,
+            eventPublisher);
+    user = new User();
+    user.setId(UUID.randomUUID());
+    when(userService.getCurrentUser()).thenReturn(user);
+  }
+
+  private static MockMultipartFile csv(String content) {
+    return new MockMultipartFile(
+        "file", "tasks.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Task> insertedTasks(int batches) {
+    ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+    verify(taskJdbcDao, times(batches)).insertAll(captor.capture(), eq(2));
+    List<Task> inserted = new ArrayList<>();
+    captor.getAllValues().forEach(inserted::addAll);
+    return inserted;
+  }
+
+  @Test
+  @DisplayName("Should import well-formed UTF-8 CSV in batches of the configured size")
+  void importCsv_success() {
+    Category cat = new Category();
+    cat.setName("Praca");
+    cat.setId(UUID.randomUUID());
+    when(categoryRepository.findAllByUserId(user.getId())).thenReturn(List.of(cat));
+
+    TaskImportResult result =
+        taskImportService.importTasksFromCsv(
+            csv(
+                HEADER
+                    + "Aktualizacja dokumentacji;Dodać nowe endpointy do API docs;TODO;2025-12-14T12:00;Praca\n"
+                    + "Tytuł;Opis;DONE;2025-12-11T10:00;Praca\n"
+                    + "Kolejne;Coś;IN_PROGRESS;;\n"));
+
+    List<Task> imported = insertedTasks(2);
+    assertThat(result.importedRows()).isEqualTo(3);
+    assertThat(imported.get(0))
+        .extracting(
+            Task::getTitle,
+            Task::getDescription,
+            Task::getStatus,
+            Task::getDueDate,
+            t -> t.getCategory() != null ? t.getCategory().getName() : null,
+            Task::getUser)
+        .containsExactly(
+            "Aktualizacja dokumentacji",
+            "Dodać nowe endpointy do API docs",
+            Status.TODO,
+            LocalDateTime.parse("2025-12-14T12:00"),
+            "Praca",
+            user);
+    assertThat(imported).allMatch(t -> t.getId() != null);
+    assertThat(imported.get(1).getStatus()).isEqualTo(Status.DONE);
+    assertThat(imported.get(2).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    assertThat(imported.get(2).getDueDate()).isNull();
+    verify(categoryRepository, times(1)).findAllByUserId(user.getId());
+    verify(taskStatsService, times(2)).recordAdded(anyCollection());
+    verify(taskSearchIndex, times(2)).index(anyCollection());
+    verify(dataVersionService, times(2)).bump(anyCollection());
+    verify(eventPublisher, times(2))
+        .publishEvent(new ChangeEvent(user.getId(), ChangeType.TASKS_CHANGED, null));
+    verify(entityManager, times(2)).clear();
+  }
+
+  @Test
+  @DisplayName("Should import with unknown category gracefully (category=null)")
+  void importCsv_unknownCategory() {
+    taskImportService.importTasksFromCsv(csv(HEADER + "A;B;DONE;2025-12-15T15:00;Brak\n"));
+
+    assertThat(insertedTasks(1).get(0).getCategory()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should treat missing/empty fields as null/task defaults")
+  void importCsv_missingFields() {
+    taskImportService.importTasksFromCsv(csv(HEADER + "Tylko tytul;;;;\n"));
+
+    Task task = insertedTasks(1).get(0);
+    assertThat(task.getTitle()).isEqualTo("Tylko tytul");
+    assertThat(task.getDescription()).isNull();
+    assertThat(task.getStatus()).isEqualTo(Status.TODO);
+    assertThat(task.getDueDate()).isNull();
+    assertThat(task.getCategory()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should fail the whole import on a malformed row")
+  void importCsv_malformedRow() {
+    assertThatThrownBy(
+            () -> taskImportService.importTasksFromCsv(csv(HEADER + "A;;NOT_A_STATUS;;\n")))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("CSV import failed");
+    verifyNoInteractions(taskJdbcDao);
+  }
+}
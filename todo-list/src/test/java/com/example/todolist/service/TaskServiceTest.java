@@ -3,23 +3,42 @@ package com.example.todolist.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.example.todolist.config.TaskListProperties;
+import com.example.todolist.dao.TaskExportRow;
+import com.example.todolist.dao.TaskJdbcDao;
+import com.example.todolist.dto.request.BulkTaskOperation;
+import com.example.todolist.dto.request.BulkTaskRequest;
 import com.example.todolist.dto.request.CreateTaskRequest;
 import com.example.todolist.dto.request.UpdateTaskRequest;
+import com.example.todolist.dto.response.TaskStatsResponse;
 import com.example.todolist.entity.Category;
 import com.example.todolist.entity.Status;
 import com.example.todolist.entity.Task;
 import com.example.todolist.entity.User;
+import com.example.todolist.entity.UserTaskStats;
 import com.example.todolist.exception.CategoryNotFoundException;
+import com.example.todolist.exception.InvalidCursorException;
+import com.example.todolist.exception.TaskListTooLargeException;
 import com.example.todolist.exception.TaskNotFoundException;
 import com.example.todolist.repository.CategoryRepository;
+import com.example.todolist.repository.KeywordTerms;
+import com.example.todolist.repository.TaskListItem;
 import com.example.todolist.repository.TaskRepository;
-import com.example.todolist.repository.UserRepository;
+import com.example.todolist.repository.TaskSearchCriteria;
+import com.example.todolist.service.events.ChangeEvent;
+import com.example.todolist.service.events.ChangeType;
 import com.example.todolist.service.filter.TaskFilter;
+import com.example.todolist.service.pagination.CursorPage;
+import com.example.todolist.service.pagination.TaskCountCache;
+import com.example.todolist.service.pagination.TaskCursor;
+import com.example.todolist.service.pagination.TaskSortKey;
+import com.example.todolist.service.search.TaskSearchIndex;
+import com.example.todolist.service.sync.TaskSyncService;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
-import jakarta.validation.Validator;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
@@ -27,6 +46,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -34,9 +54,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
-import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,10 +63,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 class TaskServiceTest {
 
   @Mock TaskRepository taskRepository;
+  @Mock TaskJdbcDao taskJdbcDao;
   @Mock CategoryRepository categoryRepository;
-  @Mock UserRepository userRepository;
   @Mock UserService userService;
-  @Mock Validator validator;
+  @Mock TaskStatsService taskStatsService;
+  @Mock TaskSearchIndex taskSearchIndex;
+  @Mock TaskCountCache taskCountCache;
+  @Mock DataVersionService dataVersionService;
+  @Mock TaskSyncService taskSyncService;
+  @Mock ApplicationEventPublisher eventPublisher;
+  @Spy TaskListProperties taskListProperties = new TaskListProperties(2, 4);
 
   @InjectMocks TaskService taskService;
 
@@ -99,17 +124,63 @@ class TaskServiceTest {
   @Nested
   @DisplayName("GetAllTasks")
   class GetAllTasksTests {
+    @Captor ArgumentCaptor<TaskSearchCriteria> criteriaCaptor;
+    @Captor ArgumentCaptor<PageRequest> prCaptor;
+
     @Test
     @DisplayName("getAllTasks should return all tasks of current user")
     void getAllTasks_ShouldReturnAllTasksOfUser() {
-      List<Task> tasks = List.of(new Task(), new Task());
+      List<TaskListItem> tasks =
+          List.of(
+              new TaskListItem(
+                  UUID.randomUUID(), "a", null, Status.TODO, null, userId, null, null, null),
+              new TaskListItem(
+                  UUID.randomUUID(), "b", null, Status.TODO, null, userId, null, null, null));
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.findAllByUserId(userId)).thenReturn(tasks);
+      when(taskRepository.sliceTasksByFilter(any(), eq(PageRequest.of(0, 2))))
+          .thenReturn(new SliceImpl<>(tasks, PageRequest.of(0, 2), false));
 
-      List<Task> result = taskService.getAllTasks();
+      List<TaskListItem> result = taskService.getAllTasks();
+
+      assertEquals(tasks, result);
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), eq(PageRequest.of(0, 2)));
+      assertEquals(userId, criteriaCaptor.getValue().userId());
+      assertFalse(criteriaCaptor.getValue().hasKeyword());
+      verify(taskRepository, never()).findAllByUserId(any());
+    }
+
+    @Test
+    @DisplayName("getAllTasks should fail when the user has more tasks than the unpaged limit")
+    void getAllTasks_ShouldThrow_WhenOverLimit() {
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.sliceTasksByFilter(any(), eq(PageRequest.of(0, 2))))
+          .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 2), true));
 
-      assertEquals(2, result.size());
-      verify(taskRepository).findAllByUserId(userId);
+      assertThatThrownBy(() -> taskService.getAllTasks())
+          .isInstanceOf(TaskListTooLargeException.class)
+          .hasMessageContaining("More than 2 tasks");
+    }
+
+    @Test
+    @DisplayName("streamAllTasks should pass the current user's rows through to the consumer")
+    void streamAllTasks_ShouldPassRowsToConsumer() {
+      TaskListItem item =
+          new TaskListItem(
+              UUID.randomUUID(), "a", null, Status.TODO, null, userId, null, null, null);
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      doAnswer(
+              inv -> {
+                Consumer<TaskListItem> consumer = inv.getArgument(2);
+                consumer.accept(item);
+                return null;
+              })
+          .when(taskJdbcDao)
+          .streamListItems(eq(userId), anyInt(), any());
+
+      List<TaskListItem> received = new ArrayList<>();
+      taskService.streamAllTasks(received::add);
+
+      assertEquals(List.of(item), received);
     }
 
     @Test
@@ -122,19 +193,22 @@ class TaskServiceTest {
       filter.setDirection(null);
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      Page<Task> expected = new PageImpl<>(List.of());
-      when(taskRepository.searchTasksByFilter(
-              eq(userId), eq(""), isNull(), isNull(), isNull(), isNull(), any(PageRequest.class)))
-          .thenReturn(expected);
-
-      Page<Task> result = taskService.getAllTasks(filter);
-
-      assertSame(expected, result);
-
-      ArgumentCaptor<PageRequest> prCaptor = ArgumentCaptor.forClass(PageRequest.class);
-      verify(taskRepository)
-          .searchTasksByFilter(
-              eq(userId), eq(""), isNull(), isNull(), isNull(), isNull(), prCaptor.capture());
+      when(taskRepository.sliceTasksByFilter(any(), any(PageRequest.class)))
+          .thenReturn(new SliceImpl<>(List.of()));
+
+      Page<TaskListItem> result = taskService.getAllTasks(filter);
+
+      assertTrue(result.getContent().isEmpty());
+      assertEquals(0, result.getTotalElements());
+
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), prCaptor.capture());
+      TaskSearchCriteria criteria = criteriaCaptor.getValue();
+      assertEquals(userId, criteria.userId());
+      assertFalse(criteria.hasKeyword());
+      assertNull(criteria.status());
+      assertNull(criteria.categoryId());
+      assertNull(criteria.dueAfter());
+      assertNull(criteria.dueBefore());
       PageRequest pageRequest = prCaptor.getValue();
       assertEquals(0, pageRequest.getPageNumber());
       assertEquals(1, pageRequest.getPageSize());
@@ -151,15 +225,12 @@ class TaskServiceTest {
       filter.setDirection("desc");
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(
-              eq(userId), eq(""), isNull(), isNull(), isNull(), isNull(), any(PageRequest.class)))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any(PageRequest.class)))
+          .thenReturn(new SliceImpl<>(List.of()));
 
       taskService.getAllTasks(filter);
 
-      ArgumentCaptor<PageRequest> prCaptor = ArgumentCaptor.forClass(PageRequest.class);
-      verify(taskRepository)
-          .searchTasksByFilter(any(), any(), any(), any(), any(), any(), prCaptor.capture());
+      verify(taskRepository).sliceTasksByFilter(any(), prCaptor.capture());
       PageRequest pageRequest = prCaptor.getValue();
       assertEquals(
           Sort.Direction.DESC,
@@ -174,27 +245,15 @@ class TaskServiceTest {
       filter.setDueBefore(LocalDate.of(2023, 2, 5));
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(
-              eq(userId),
-              eq(""),
-              isNull(),
-              isNull(),
-              eq(LocalDate.of(2023, 1, 15).atStartOfDay()),
-              eq(LocalDate.of(2023, 2, 5).atTime(LocalTime.MAX)),
-              any(PageRequest.class)))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any(PageRequest.class)))
+          .thenReturn(new SliceImpl<>(List.of()));
 
       taskService.getAllTasks(filter);
 
-      verify(taskRepository)
-          .searchTasksByFilter(
-              eq(userId),
-              eq(""),
-              isNull(),
-              isNull(),
-              eq(LocalDate.of(2023, 1, 15).atStartOfDay()),
-              eq(LocalDate.of(2023, 2, 5).atTime(LocalTime.MAX)),
-              any(PageRequest.class));
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), any(PageRequest.class));
+      assertEquals(LocalDate.of(2023, 1, 15).atStartOfDay(), criteriaCaptor.getValue().dueAfter());
+      assertEquals(
+          LocalDate.of(2023, 2, 5).atTime(LocalTime.MAX), criteriaCaptor.getValue().dueBefore());
     }
 
     @Test
@@ -204,27 +263,13 @@ class TaskServiceTest {
       filter.setStatus("TODO");
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(
-              eq(userId),
-              eq(""),
-              eq(Status.TODO),
-              isNull(),
-              isNull(),
-              isNull(),
-              any(PageRequest.class)))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any(PageRequest.class)))
+          .thenReturn(new SliceImpl<>(List.of()));
 
       taskService.getAllTasks(filter);
 
-      verify(taskRepository)
-          .searchTasksByFilter(
-              eq(userId),
-              eq(""),
-              eq(Status.TODO),
-              isNull(),
-              isNull(),
-              isNull(),
-              any(PageRequest.class));
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), any(PageRequest.class));
+      assertEquals(Status.TODO, criteriaCaptor.getValue().status());
     }
 
     @Test
@@ -234,15 +279,13 @@ class TaskServiceTest {
       filter.setStatus("NOT_A_STATUS");
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(
-              eq(userId), eq(""), isNull(), isNull(), isNull(), isNull(), any(PageRequest.class)))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any(PageRequest.class)))
+          .thenReturn(new SliceImpl<>(List.of()));
 
       taskService.getAllTasks(filter);
 
-      verify(taskRepository)
-          .searchTasksByFilter(
-              eq(userId), eq(""), isNull(), isNull(), isNull(), isNull(), any(PageRequest.class));
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), any(PageRequest.class));
+      assertNull(criteriaCaptor.getValue().status());
     }
 
     @Test
@@ -253,53 +296,67 @@ class TaskServiceTest {
       filter.setCategoryId(categoryId);
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(
-              eq(userId),
-              eq(""),
-              isNull(),
-              eq(categoryId),
-              isNull(),
-              isNull(),
-              any(PageRequest.class)))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any(PageRequest.class)))
+          .thenReturn(new SliceImpl<>(List.of()));
 
       taskService.getAllTasks(filter);
 
-      verify(taskRepository)
-          .searchTasksByFilter(
-              eq(userId),
-              eq(""),
-              isNull(),
-              eq(categoryId),
-              isNull(),
-              isNull(),
-              any(PageRequest.class));
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), any(PageRequest.class));
+      assertEquals(categoryId, criteriaCaptor.getValue().categoryId());
     }
 
     @Test
-    @DisplayName("Keyword blank/null -> empty string as keyword ")
-    void keywordIsBlankOrNull_TreatedAsEmptyString() {
+    @DisplayName("Keyword blank/null -> no keyword filter")
+    void keywordIsBlankOrNull_NoKeywordFilter() {
       TaskFilter filterNull = new TaskFilter();
       filterNull.setTitle(null);
-      filterNull.setPage(0);
-      filterNull.setSize(1);
+      TaskFilter filterBlank = new TaskFilter();
+      filterBlank.setTitle("  ");
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(any(), eq(""), any(), any(), any(), any(), any()))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any())).thenReturn(new SliceImpl<>(List.of()));
       taskService.getAllTasks(filterNull);
+      taskService.getAllTasks(filterBlank);
+
+      verify(taskRepository, times(2)).sliceTasksByFilter(criteriaCaptor.capture(), any());
+      assertTrue(criteriaCaptor.getAllValues().stream().noneMatch(TaskSearchCriteria::hasKeyword));
+    }
+
+    @Test
+    @DisplayName("Keyword of only punctuation -> filter that matches no task")
+    void keywordWithoutTrigrams_MatchesNothing() {
+      TaskFilter filter = new TaskFilter();
+      filter.setTitle("--");
 
-      TaskFilter filterBlank = new TaskFilter();
-      filterBlank.setTitle("  ");
-      filterBlank.setPage(0);
-      filterBlank.setSize(1);
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(any(), eq(""), any(), any(), any(), any(), any()))
-          .thenReturn(Page.empty());
-      taskService.getAllTasks(filterBlank);
+      when(taskRepository.sliceTasksByFilter(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+      taskService.getAllTasks(filter);
 
-      verify(taskRepository, times(2))
-          .searchTasksByFilter(any(), eq(""), any(), any(), any(), any(), any());
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), any());
+      TaskSearchCriteria criteria = criteriaCaptor.getValue();
+      assertTrue(criteria.hasKeyword());
+      assertTrue(criteria.keywordTerms().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Keyword is turned into query trigrams and sorted by relevance by default")
+    void keyword_UsesTrigramsAndRelevance() {
+      TaskFilter filter = new TaskFilter();
+      filter.setTitle("Zakupy");
+
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.sliceTasksByFilter(any(), any())).thenReturn(new SliceImpl<>(List.of()));
+      taskService.getAllTasks(filter);
+
+      verify(taskRepository).sliceTasksByFilter(criteriaCaptor.capture(), prCaptor.capture());
+      TaskSearchCriteria criteria = criteriaCaptor.getValue();
+      assertEquals(
+          List.of(new KeywordTerms(Set.of("  z", " za", "zak", "aku", "kup", "upy"), 3)),
+          criteria.keywords());
+      assertEquals(
+          Sort.Direction.DESC,
+          Objects.requireNonNull(prCaptor.getValue().getSort().getOrderFor("relevance"))
+              .getDirection());
     }
 
     @Test
@@ -308,13 +365,11 @@ class TaskServiceTest {
       TaskFilter filter = new TaskFilter();
       filter.setSort(null);
       filter.setDirection(null);
-      filter.setTitle("X");
       filter.setPage(0);
       filter.setSize(1);
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(any(), any(), any(), any(), any(), any(), any()))
-          .thenReturn(Page.empty());
+      when(taskRepository.sliceTasksByFilter(any(), any())).thenReturn(new SliceImpl<>(List.of()));
       taskService.getAllTasks(filter);
 
       filter.setSort(" ");
@@ -324,97 +379,235 @@ class TaskServiceTest {
       filter.setDirection("desc");
       taskService.getAllTasks(filter);
 
-      ArgumentCaptor<PageRequest> prCaptor = ArgumentCaptor.forClass(PageRequest.class);
-      verify(taskRepository, atLeastOnce())
-          .searchTasksByFilter(any(), any(), any(), any(), any(), any(), prCaptor.capture());
-      boolean descCaptured =
-          prCaptor.getAllValues().stream()
-              .anyMatch(
-                  pr ->
-                      pr.getSort().stream()
-                          .anyMatch(
-                              o ->
-                                  o.getProperty().equals("deadline")
-                                      && o.getDirection() == Sort.Direction.DESC));
-      assertTrue(descCaptured);
+      verify(taskRepository, times(3)).sliceTasksByFilter(any(), prCaptor.capture());
+      List<PageRequest> requests = prCaptor.getAllValues();
+      assertEquals(
+          Sort.Direction.ASC,
+          Objects.requireNonNull(requests.get(1).getSort().getOrderFor("title")).getDirection());
+      assertEquals(
+          Sort.Direction.DESC,
+          Objects.requireNonNull(requests.get(2).getSort().getOrderFor("deadline")).getDirection());
     }
 
     @Test
-    @DisplayName("dueAfter and dueBefore passed correctly (incl. null)")
-    void dueAfterDueBeforeAreProcessed() {
+    @DisplayName("Pagination is normalized for negative/zero")
+    void pagination_IsNormalized() {
       TaskFilter filter = new TaskFilter();
-      filter.setTitle("a");
-      filter.setPage(0);
-      filter.setSize(1);
+      filter.setTitle("abc");
+      filter.setPage(-10);
+      filter.setSize(0);
+
       when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.sliceTasksByFilter(any(), any())).thenReturn(new SliceImpl<>(List.of()));
       taskService.getAllTasks(filter);
 
-      filter.setDueAfter(LocalDate.of(2024, 2, 1));
+      verify(taskRepository).sliceTasksByFilter(any(), prCaptor.capture());
+      PageRequest req = prCaptor.getValue();
+      assertEquals(0, req.getPageNumber());
+      assertEquals(1, req.getPageSize());
+    }
+
+    private TaskListItem item() {
+      return new TaskListItem(
+          UUID.randomUUID(), "t", null, Status.TODO, null, userId, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Last page derives the total from the rows without counting")
+    void lastPage_TotalWithoutCount() {
+      TaskFilter filter = new TaskFilter();
+      filter.setPage(2);
+      filter.setSize(10);
+
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      taskService.getAllTasks(filter);
+      when(taskRepository.sliceTasksByFilter(any(), any()))
+          .thenReturn(new SliceImpl<>(List.of(item(), item()), PageRequest.of(2, 10), false));
+
+      Page<TaskListItem> result = taskService.getAllTasks(filter);
+
+      assertEquals(22, result.getTotalElements());
+      verify(taskRepository, never()).countTasksByFilter(any());
+      verifyNoInteractions(taskStatsService, taskCountCache);
+    }
+
+    @Test
+    @DisplayName("Status and category filters take the total from the task counters")
+    void statusFilter_TotalFromCounters() {
+      UUID categoryId = UUID.randomUUID();
+      TaskFilter filter = new TaskFilter();
+      filter.setStatus("DONE");
+      filter.setCategoryId(categoryId);
+      filter.setSize(1);
 
-      filter.setDueAfter(null);
-      filter.setDueBefore(LocalDate.of(2024, 2, 20));
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      taskService.getAllTasks(filter);
+      when(taskRepository.sliceTasksByFilter(any(), any()))
+          .thenReturn(new SliceImpl<>(List.of(item()), PageRequest.of(0, 1), true));
+      when(taskStatsService.countTasks(userId, Status.DONE, categoryId))
+          .thenReturn(OptionalLong.of(7));
+
+      Page<TaskListItem> result = taskService.getAllTasks(filter);
+
+      assertEquals(7, result.getTotalElements());
+      assertEquals(7, result.getTotalPages());
+      verify(taskRepository, never()).countTasksByFilter(any());
+      verifyNoInteractions(taskCountCache);
+    }
+
+    @Test
+    @DisplayName("Keyword filters reuse the cached count")
+    void keywordFilter_TotalFromCountCache() {
+      TaskFilter filter = new TaskFilter();
+      filter.setTitle("shopping");
+      filter.setSize(1);
 
-      filter.setDueAfter(LocalDate.of(2024, 2, 1));
-      filter.setDueBefore(LocalDate.of(2024, 2, 20));
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      taskService.getAllTasks(filter);
+      when(taskRepository.sliceTasksByFilter(any(), any()))
+          .thenReturn(new SliceImpl<>(List.of(item()), PageRequest.of(0, 1), true));
+      when(taskCountCache.get(any(), any())).thenReturn(5L);
 
-      verify(taskRepository, times(4))
-          .searchTasksByFilter(eq(userId), any(), any(), any(), any(), any(), any());
+      Page<TaskListItem> result = taskService.getAllTasks(filter);
+
+      assertEquals(5, result.getTotalElements());
+      verify(taskCountCache).get(criteriaCaptor.capture(), any());
+      assertTrue(criteriaCaptor.getValue().hasKeyword());
+      verifyNoInteractions(taskStatsService);
     }
 
     @Test
-    @DisplayName("Valid status is mapped, invalid triggers catch block and is passed as null")
-    void status_MappingAndCatch() {
+    @DisplayName("A stale total never hides a next page")
+    void staleTotal_KeepsNextPage() {
       TaskFilter filter = new TaskFilter();
-      filter.setPage(0);
+      filter.setPage(1);
       filter.setSize(1);
-      filter.setTitle("abc");
 
-      filter.setStatus("TODO");
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      taskService.getAllTasks(filter);
-      verify(taskRepository)
-          .searchTasksByFilter(eq(userId), eq("abc"), eq(Status.TODO), any(), any(), any(), any());
+      when(taskRepository.sliceTasksByFilter(any(), any()))
+          .thenReturn(new SliceImpl<>(List.of(item()), PageRequest.of(1, 1), true));
+      when(taskStatsService.countTasks(userId, null, null)).thenReturn(OptionalLong.of(1));
 
-      reset(taskRepository);
-      filter.setStatus("ASDFG");
+      Page<TaskListItem> result = taskService.getAllTasks(filter);
+
+      assertTrue(result.hasNext());
+      assertEquals(3, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("getTaskSlice returns the slice without any count")
+    void getTaskSlice_SkipsCount() {
+      TaskFilter filter = new TaskFilter();
+      Slice<TaskListItem> slice = new SliceImpl<>(List.of(item()), PageRequest.of(0, 10), true);
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      taskService.getAllTasks(filter);
-      verify(taskRepository)
-          .searchTasksByFilter(eq(userId), eq("abc"), isNull(), any(), any(), any(), any());
+      when(taskRepository.sliceTasksByFilter(any(), any())).thenReturn(slice);
+
+      assertSame(slice, taskService.getTaskSlice(filter));
+      verify(taskRepository, never()).countTasksByFilter(any());
+      verifyNoInteractions(taskStatsService, taskCountCache);
+    }
+  }
+
+  @Nested
+  @DisplayName("GetAllTasksByCursor")
+  class GetAllTasksByCursorTests {
+    private TaskListItem titled(String title) {
+      return new TaskListItem(
+          UUID.randomUUID(), title, null, Status.TODO, null, userId, null, null, null);
+    }
+
+    @Test
+    @DisplayName("First page fetches size+1 rows and returns only a next cursor")
+    void firstPage_ReturnsNextCursor() {
+      TaskFilter filter = new TaskFilter();
+      filter.setSize(2);
+      TaskListItem a = titled("a");
+      TaskListItem b = titled("b");
+      TaskListItem c = titled("c");
 
-      reset(taskRepository);
-      filter.setStatus(null);
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      taskService.getAllTasks(filter);
-      verify(taskRepository)
-          .searchTasksByFilter(eq(userId), eq("abc"), isNull(), any(), any(), any(), any());
+      when(taskRepository.seekTasksByFilter(
+              any(), eq("title"), eq(Sort.Direction.ASC), isNull(), isNull(), eq(false), eq(3)))
+          .thenReturn(List.of(a, b, c));
+
+      CursorPage<TaskListItem> result = taskService.getAllTasksByCursor(filter);
+
+      assertEquals(List.of(a, b), result.content());
+      assertNull(result.prevCursor());
+      TaskCursor next = TaskCursor.decode(result.nextCursor());
+      assertEquals(b.id(), next.id());
+      assertEquals("b", next.value());
+      assertFalse(next.backward());
     }
 
     @Test
-    @DisplayName("Pagination is normalized for negative/zero")
-    void pagination_IsNormalized() {
+    @DisplayName("Next cursor is passed as the seek anchor and yields a prev cursor")
+    void followingPage_UsesCursorAnchor() {
+      TaskListItem b = titled("b");
+      TaskListItem c = titled("c");
       TaskFilter filter = new TaskFilter();
-      filter.setTitle("abc");
-      filter.setPage(-10);
-      filter.setSize(0);
+      filter.setSize(2);
+      filter.setCursor(TaskCursor.at(b, TaskSortKey.TITLE, Sort.Direction.ASC, false).encode());
 
       when(userService.getCurrentUser()).thenReturn(mockUser);
-      when(taskRepository.searchTasksByFilter(any(), any(), any(), any(), any(), any(), any()))
-          .thenReturn(Page.empty());
-      taskService.getAllTasks(filter);
+      when(taskRepository.seekTasksByFilter(
+              any(), eq("title"), eq(Sort.Direction.ASC), eq("b"), eq(b.id()), eq(false), eq(3)))
+          .thenReturn(List.of(c));
 
-      ArgumentCaptor<PageRequest> prCaptor = ArgumentCaptor.forClass(PageRequest.class);
-      verify(taskRepository)
-          .searchTasksByFilter(any(), any(), any(), any(), any(), any(), prCaptor.capture());
-      PageRequest req = prCaptor.getValue();
-      assertEquals(0, req.getPageNumber());
-      assertEquals(1, req.getPageSize());
+      CursorPage<TaskListItem> result = taskService.getAllTasksByCursor(filter);
+
+      assertEquals(List.of(c), result.content());
+      assertNull(result.nextCursor());
+      TaskCursor prev = TaskCursor.decode(result.prevCursor());
+      assertEquals(c.id(), prev.id());
+      assertTrue(prev.backward());
+    }
+
+    @Test
+    @DisplayName("Backward cursor reverses the fetched rows")
+    void backwardPage_ReversesRows() {
+      TaskListItem a = titled("a");
+      TaskListItem b = titled("b");
+      TaskListItem c = titled("c");
+      TaskFilter filter = new TaskFilter();
+      filter.setSize(2);
+      filter.setSort("title");
+      filter.setDirection("desc");
+      filter.setCursor(TaskCursor.at(a, TaskSortKey.TITLE, Sort.Direction.DESC, true).encode());
+
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.seekTasksByFilter(
+              any(), eq("title"), eq(Sort.Direction.DESC), eq("a"), eq(a.id()), eq(true), eq(3)))
+          .thenReturn(List.of(b, c));
+
+      CursorPage<TaskListItem> result = taskService.getAllTasksByCursor(filter);
+
+      assertEquals(List.of(c, b), result.content());
+      assertNull(result.prevCursor());
+      assertEquals(b.id(), TaskCursor.decode(result.nextCursor()).id());
+    }
+
+    @Test
+    @DisplayName("Cursor produced for another sort order is rejected")
+    void cursorForDifferentSort_Throws() {
+      TaskListItem a = titled("a");
+      TaskFilter filter = new TaskFilter();
+      filter.setSort("dueDate");
+      filter.setCursor(TaskCursor.at(a, TaskSortKey.TITLE, Sort.Direction.ASC, false).encode());
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+
+      assertThrows(InvalidCursorException.class, () -> taskService.getAllTasksByCursor(filter));
+    }
+
+    @Test
+    @DisplayName("Malformed cursor and unknown sort property are rejected")
+    void invalidCursorOrSort_Throws() {
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+
+      TaskFilter badCursor = new TaskFilter();
+      badCursor.setCursor("not-a-cursor");
+      assertThrows(InvalidCursorException.class, () -> taskService.getAllTasksByCursor(badCursor));
+
+      TaskFilter badSort = new TaskFilter();
+      badSort.setSort("someField");
+      assertThrows(InvalidCursorException.class, () -> taskService.getAllTasksByCursor(badSort));
     }
   }
 
@@ -456,6 +649,104 @@ class TaskServiceTest {
 
       verify(taskRepository, times(1)).deleteById(taskId);
     }
+
+    @Test
+    @DisplayName("deleteTaskById should decrement counters of the deleted task")
+    void deleteTaskById_ShouldRecordRemoval() {
+      UUID taskId = UUID.randomUUID();
+      Task task = createTask(taskId);
+      when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+      taskService.deleteTaskById(taskId);
+
+      InOrder inOrder = inOrder(taskRepository, taskStatsService);
+      inOrder.verify(taskRepository).deleteById(taskId);
+      inOrder.verify(taskStatsService).recordRemoved(task);
+      verify(taskSearchIndex).remove(taskId);
+      verify(taskSyncService).recordDeleted(taskId, userId);
+      verify(eventPublisher).publishEvent(new ChangeEvent(userId, ChangeType.TASK_DELETED, taskId));
+      verify(dataVersionService).bump(task.getUser().getId());
+    }
+  }
+
+  @Nested
+  @DisplayName("BulkUpdate")
+  class BulkUpdateTests {
+    @Captor ArgumentCaptor<TaskSearchCriteria> criteriaCaptor;
+
+    @Test
+    @DisplayName("bulkUpdate should set the status of the listed tasks and rebuild counters")
+    void bulkUpdate_SetStatusByIds() {
+      List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+      BulkTaskRequest request = new BulkTaskRequest();
+      request.setIds(ids);
+      request.setOperation(BulkTaskOperation.SET_STATUS);
+      request.setStatus(Status.DONE);
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.updateTasksByFilter(
+              criteriaCaptor.capture(), eq(ids), eq("status"), eq(Status.DONE)))
+          .thenReturn(2);
+
+      int affected = taskService.bulkUpdate(request);
+
+      assertEquals(2, affected);
+      assertEquals(userId, criteriaCaptor.getValue().userId());
+      assertFalse(criteriaCaptor.getValue().hasKeyword());
+      verify(taskStatsService).rebuild(userId);
+      verify(dataVersionService).bump(userId);
+    }
+
+    @Test
+    @DisplayName("bulkUpdate should delete tasks matching the filter")
+    void bulkUpdate_DeleteByFilter() {
+      TaskFilter filter = new TaskFilter();
+      filter.setStatus("DONE");
+      BulkTaskRequest request = new BulkTaskRequest();
+      request.setFilter(filter);
+      request.setOperation(BulkTaskOperation.DELETE);
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.deleteTasksByFilter(criteriaCaptor.capture(), isNull())).thenReturn(5);
+
+      int affected = taskService.bulkUpdate(request);
+
+      assertEquals(5, affected);
+      assertEquals(Status.DONE, criteriaCaptor.getValue().status());
+      verify(taskStatsService).rebuild(userId);
+      verify(taskSyncService).pruneDeletions(userId);
+    }
+
+    @Test
+    @DisplayName("bulkUpdate should not rebuild counters when only due dates change")
+    void bulkUpdate_SetDueDate_ShouldNotRebuildCounters() {
+      LocalDateTime due = LocalDateTime.of(2030, 1, 1, 10, 0);
+      BulkTaskRequest request = new BulkTaskRequest();
+      request.setIds(List.of(UUID.randomUUID()));
+      request.setOperation(BulkTaskOperation.SET_DUE_DATE);
+      request.setDueDate(due);
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskRepository.updateTasksByFilter(any(), any(), eq("dueDate"), eq(due))).thenReturn(1);
+
+      assertEquals(1, taskService.bulkUpdate(request));
+      verifyNoInteractions(taskStatsService);
+    }
+
+    @Test
+    @DisplayName("bulkUpdate should reject categories of other users")
+    void bulkUpdate_SetForeignCategory_ShouldThrow() {
+      User other = new User();
+      other.setId(UUID.randomUUID());
+      Category category = createCategory(UUID.randomUUID());
+      category.setUser(other);
+      BulkTaskRequest request = new BulkTaskRequest();
+      request.setIds(List.of(UUID.randomUUID()));
+      request.setOperation(BulkTaskOperation.SET_CATEGORY);
+      request.setCategoryId(category.getId());
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(categoryRepository.findById(category.getId())).thenReturn(Optional.of(category));
+
+      assertThrows(CategoryNotFoundException.class, () -> taskService.bulkUpdate(request));
+      verify(taskRepository, never()).updateTasksByFilter(any(), any(), any(), any());
+    }
   }
 
   @Nested
@@ -485,6 +776,9 @@ class TaskServiceTest {
       assertEquals("newDesc", result.getDescription());
       assertEquals(Status.IN_PROGRESS, result.getStatus());
       assertEquals(category, result.getCategory());
+      verify(taskStatsService).recordChanged(null, null, result);
+      verify(taskSearchIndex).index(result);
+      verify(dataVersionService).bump(userId);
     }
 
     @Test
@@ -542,9 +836,6 @@ class TaskServiceTest {
     @Test
     @DisplayName("createTask should create a task with correct properties")
     void createTask_ShouldCreateTaskProperly() {
-      SecurityContextHolder.getContext()
-          .setAuthentication(new UsernamePasswordAuthenticationToken("user@mail.com", null));
-
       User user = new User();
       user.setEmail("user@mail.com");
 
@@ -555,7 +846,7 @@ class TaskServiceTest {
           new CreateTaskRequest("title", "desc", Status.TODO, LocalDateTime.now(), catId);
 
       when(categoryRepository.findById(catId)).thenReturn(Optional.of(category));
-      when(userRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+      when(userService.getCurrentUser()).thenReturn(user);
       when(taskRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
       Task result = taskService.createTask(dto);
@@ -564,6 +855,11 @@ class TaskServiceTest {
       assertEquals("desc", result.getDescription());
       assertEquals(user, result.getUser());
       assertEquals(category, result.getCategory());
+      verify(taskStatsService).recordAdded(result);
+      verify(taskSearchIndex).index(result);
+      verify(dataVersionService).bump(user.getId());
+      verify(eventPublisher)
+          .publishEvent(new ChangeEvent(user.getId(), ChangeType.TASK_CREATED, result.getId()));
     }
 
     @Test
@@ -583,21 +879,57 @@ class TaskServiceTest {
   @Nested
   @DisplayName("GetStats")
   class GetStatsTests {
+    private UserTaskStats counters(UUID categoryId, long todo, long inProgress, long done) {
+      UserTaskStats stats = new UserTaskStats();
+      stats.setUserId(userId);
+      stats.setCategoryId(categoryId);
+      stats.setTodo(todo);
+      stats.setInProgress(inProgress);
+      stats.setDone(done);
+      stats.setTotal(todo + inProgress + done);
+      return stats;
+    }
+
     @Test
-    @DisplayName("getStats should return correct counts for tasks")
+    @DisplayName("getStats should sum maintained counters instead of counting tasks")
     void getStats_ShouldReturnCounts() {
-      when(taskRepository.countByUserId(userId)).thenReturn(10L);
-      when(taskRepository.countByUserIdAndStatus(userId, Status.TODO)).thenReturn(4L);
-      when(taskRepository.countByUserIdAndStatus(userId, Status.IN_PROGRESS)).thenReturn(3L);
-      when(taskRepository.countByUserIdAndStatus(userId, Status.DONE)).thenReturn(3L);
+      UUID workId = UUID.randomUUID();
+      Category work = createCategory(workId);
+      work.setName("Work");
+      when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskStatsService.getCounters(userId))
+          .thenReturn(List.of(counters(null, 1, 0, 0), counters(workId, 3, 3, 3)));
+      when(categoryRepository.findAllByUserId(userId)).thenReturn(List.of(work));
+      when(taskRepository.countByUserIdAndStatusNotAndDueDateBefore(
+              eq(userId), eq(Status.DONE), any(LocalDateTime.class)))
+          .thenReturn(2L);
+
+      TaskStatsResponse stats = taskService.getStats();
+
+      assertEquals(10L, stats.getTotalTasks());
+      assertEquals(4L, stats.getTodoTasks());
+      assertEquals(3L, stats.getInProgressTasks());
+      assertEquals(3L, stats.getDoneTasks());
+      assertEquals(2L, stats.getOverdueTasks());
+      assertEquals(30, stats.getPercentDone());
+      assertEquals(1, stats.getCategories().size());
+      assertEquals("Work", stats.getCategories().get(0).getCategoryName());
+      assertEquals(9L, stats.getCategories().get(0).getTotalTasks());
+      assertEquals(3L, stats.getCategories().get(0).getDoneTasks());
+      verify(taskRepository, never()).aggregateStatsByUserId(any(), any());
+    }
+
+    @Test
+    @DisplayName("getStats should return zeros when user has no tasks")
+    void getStats_NoTasks_ReturnsZeros() {
       when(userService.getCurrentUser()).thenReturn(mockUser);
+      when(taskStatsService.getCounters(userId)).thenReturn(List.of(counters(null, 0, 0, 0)));
 
-      Map<String, Object> stats = taskService.getStats();
+      TaskStatsResponse stats = taskService.getStats();
 
-      assertEquals(10L, stats.get("totalTasks"));
-      assertEquals(4L, stats.get("todoTasks"));
-      assertEquals(3L, stats.get("inProgressTasks"));
-      assertEquals(3L, stats.get("doneTasks"));
+      assertEquals(0L, stats.getTotalTasks());
+      assertEquals(0, stats.getPercentDone());
+      assertTrue(stats.getCategories().isEmpty());
     }
   }
 
@@ -628,17 +960,18 @@ class TaskServiceTest {
       UUID userId = UUID.randomUUID();
       user.setId(userId);
 
-      Category cat = new Category();
-      cat.setName("Praca");
-
       LocalDateTime date = LocalDateTime.of(2025, 12, 31, 18, 30);
 
-      List<Task> tasks =
-          List.of(
-              createTask(UUID.randomUUID(), "żółw", "ąćęłńóśźż", Status.TODO, date, cat, user),
-              createTask(UUID.randomUUID(), null, null, null, null, null, user));
       when(userService.getCurrentUser()).thenReturn(user);
-      when(taskRepository.findAllByUserId(userId)).thenReturn(tasks);
+      doAnswer(
+              inv -> {
+                Consumer<TaskExportRow> consumer = inv.getArgument(2);
+                consumer.accept(new TaskExportRow("żółw", "ąćęłńóśźż", "TODO", date, "Praca"));
+                consumer.accept(new TaskExportRow(null, null, null, null, null));
+                return null;
+              })
+          .when(taskJdbcDao)
+          .streamExportRows(eq(userId), anyInt(), any());
 
       HttpServletResponse response = mock(HttpServletResponse.class);
 
@@ -673,11 +1006,13 @@ class TaskServiceTest {
 
     @Test
     @DisplayName("Should throw RuntimeException on writer error")
-    void exportTasksCsv_writerError() {
+    void exportTasksCsv_writerError() throws Exception {
       User user = new User();
       user.setId(UUID.randomUUID());
       when(userService.getCurrentUser()).thenReturn(user);
-      when(taskRepository.findAllByUserId(any())).thenThrow(new RuntimeException("DB error"));
+      doThrow(new RuntimeException("DB error"))
+          .when(taskJdbcDao)
+          .streamExportRows(any(), anyInt(), any());
 
       HttpServletResponse response = mock(HttpServletResponse.class);
       ByteArrayOutputStream outStream = new ByteArrayOutputStream();
@@ -696,107 +1031,11 @@ class TaskServiceTest {
             @Override
             public void setWriteListener(jakarta.servlet.WriteListener listener) {}
           };
+      when(response.getOutputStream()).thenReturn(sos);
 
       assertThatThrownBy(() -> taskService.exportTasksToCSV(response))
           .isInstanceOf(RuntimeException.class)
           .hasMessageContaining("DB error");
     }
   }
-
-  @Nested
-  @DisplayName("Import")
-  class ImportTests {
-    @Test
-    @DisplayName("Should import well-formed UTF-8 CSV and persist tasks properly")
-    void importCsv_success() {
-      User user = new User();
-      user.setId(UUID.randomUUID());
-      when(userService.getCurrentUser()).thenReturn(user);
-
-      Category cat = new Category();
-      cat.setName("Praca");
-      cat.setId(UUID.randomUUID());
-      when(categoryRepository.findByNameAndUserId(eq("Praca"), any())).thenReturn(Optional.of(cat));
-      when(categoryRepository.findById(eq(cat.getId()))).thenReturn(Optional.of(cat));
-
-      String csv =
-          "title;description;status;dueDate;categoryName\n"
-              + "Aktualizacja dokumentacji;Dodać nowe endpointy do API docs;TODO;2025-12-14T12:00;Praca\n"
-              + "Tytuł;Opis;DONE;2025-12-11T10:00;Praca\n"
-              + "Kolejne;Coś;IN_PROGRESS;;\n";
-      MockMultipartFile file =
-          new MockMultipartFile(
-              "file", "tasks.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
-
-      taskService.importTasksFromCsv(file);
-
-      ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
-      verify(taskRepository, times(3)).save(captor.capture());
-      List<Task> imported = captor.getAllValues();
-
-      assertThat(imported.get(0))
-          .extracting(
-              Task::getTitle,
-              Task::getDescription,
-              Task::getStatus,
-              Task::getDueDate,
-              t -> t.getCategory() != null ? t.getCategory().getName() : null)
-          .containsExactly(
-              "Aktualizacja dokumentacji",
-              "Dodać nowe endpointy do API docs",
-              Status.TODO,
-              LocalDateTime.parse("2025-12-14T12:00"),
-              "Praca");
-      assertThat(imported.get(1).getStatus()).isEqualTo(Status.DONE);
-      assertThat(imported.get(2).getStatus()).isEqualTo(Status.IN_PROGRESS);
-      assertThat(imported.get(2).getDueDate()).isNull();
-    }
-
-    @Test
-    @DisplayName("Should import with unknown category gracefully (category=null)")
-    void importCsv_unknownCategory() {
-      User user = new User();
-      user.setId(UUID.randomUUID());
-      when(userService.getCurrentUser()).thenReturn(user);
-      when(categoryRepository.findByNameAndUserId(eq("Brak"), any())).thenReturn(Optional.empty());
-
-      String csv =
-          "title;description;status;dueDate;categoryName\n" + "A;B;DONE;2025-12-15T15:00;Brak\n";
-      MockMultipartFile file =
-          new MockMultipartFile(
-              "file", "tasks.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
-
-      taskService.importTasksFromCsv(file);
-
-      ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
-      verify(taskRepository).save(captor.capture());
-
-      assertThat(captor.getValue().getCategory()).isNull();
-    }
-
-    @Test
-    @DisplayName("Should treat missing/empty fields as null/task defaults")
-    void importCsv_missingFields() {
-      User user = new User();
-      user.setId(UUID.randomUUID());
-      when(userService.getCurrentUser()).thenReturn(user);
-
-      String csv = "title;description;status;dueDate;categoryName\n" + "Tylko tytul;;;;\n";
-      MockMultipartFile file =
-          new MockMultipartFile(
-              "file", "tasks.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
-
-      taskService.importTasksFromCsv(file);
-
-      ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
-      verify(taskRepository).save(captor.capture());
-
-      Task task = captor.getValue();
-      assertThat(task.getTitle()).isEqualTo("Tylko tytul");
-      assertThat(task.getDescription()).isNull();
-      assertThat(task.getStatus()).isEqualTo(Status.TODO);
-      assertThat(task.getDueDate()).isNull();
-      assertThat(task.getCategory()).isNull();
-    }
-  }
 }
@@ -0,0 +1,286 @@
+package com.example.todolist.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.todolist.entity.Category;
+import com.example.todolist.entity.Status;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.entity.UserTaskStats;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.repository.TaskStatsRow;
+import com.example.todolist.repository.UserRepository;
+import com.example.todolist.repository.UserTaskStatsRepository;
+import java.util.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStatsService")
+class TaskStatsServiceTest {
+
+  @Mock UserTaskStatsRepository statsRepository;
+  @Mock TaskRepository taskRepository;
+  @Mock UserRepository userRepository;
+  @Mock PlatformTransactionManager transactionManager;
+  @InjectMocks TaskStatsService taskStatsService;
+
+  private User user;
+  private UUID userId;
+  private Category category;
+
+  @BeforeEach
+  void setUp() {
+    userId = UUID.randomUUID();
+    user = new User();
+    user.setId(userId);
+    category = new Category();
+    category.setId(UUID.randomUUID());
+    category.setUser(user);
+  }
+
+  private Task task(Status status, Category category) {
+    Task t = new Task();
+    t.setStatus(status);
+    t.setCategory(category);
+    t.setUser(user);
+    return t;
+  }
+
+  @Nested
+  @DisplayName("recording writes")
+  class RecordingWrites {
+
+    @Test
+    @DisplayName("should increment total and status counter of the task's category")
+    void recordAdded_IncrementsCounters() {
+      when(statsRepository.increment(userId, category.getId(), 1, 0, 1, 0)).thenReturn(1);
+
+      taskStatsService.recordAdded(task(Status.IN_PROGRESS, category));
+
+      verify(statsRepository).increment(userId, category.getId(), 1, 0, 1, 0);
+      verify(statsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("should insert a counters row when user is tracked but category row is missing")
+    void recordAdded_InsertsMissingRow() {
+      when(statsRepository.increment(any(), any(), anyLong(), anyLong(), anyLong(), anyLong()))
+          .thenReturn(0);
+      when(statsRepository.existsByUserId(userId)).thenReturn(true);
+
+      taskStatsService.recordAdded(task(Status.DONE, null));
+
+      InOrder order = inOrder(userRepository, statsRepository);
+      order.verify(userRepository).lockById(userId);
+      order.verify(statsRepository).increment(userId, UserTaskStats.NO_CATEGORY, 1, 0, 0, 1);
+      ArgumentCaptor<UserTaskStats> captor = ArgumentCaptor.forClass(UserTaskStats.class);
+      order.verify(statsRepository).saveAndFlush(captor.capture());
+      assertEquals(UserTaskStats.NO_CATEGORY, captor.getValue().getCategoryId());
+      assertEquals(1, captor.getValue().getTotal());
+      assertEquals(1, captor.getValue().getDone());
+    }
+
+    @Test
+    @DisplayName("should leave untracked users for the lazy rebuild")
+    void recordAdded_SkipsUntrackedUser() {
+      when(statsRepository.existsByUserId(userId)).thenReturn(false);
+
+      taskStatsService.recordAdded(task(Status.TODO, category));
+
+      verify(statsRepository, never()).saveAndFlush(any());
+      verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("should not insert when a concurrent write created the row before the lock")
+    void recordAdded_RetriesIncrementUnderLock() {
+      when(statsRepository.increment(userId, category.getId(), 1, 1, 0, 0))
+          .thenReturn(0)
+          .thenReturn(1);
+      when(statsRepository.existsByUserId(userId)).thenReturn(true);
+
+      taskStatsService.recordAdded(task(Status.TODO, category));
+
+      verify(userRepository).lockById(userId);
+      verify(statsRepository, times(2)).increment(userId, category.getId(), 1, 1, 0, 0);
+      verify(statsRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("should apply one increment per category and status for a batch")
+    void recordAddedBatch_GroupsIncrements() {
+      when(statsRepository.increment(any(), any(), anyLong(), anyLong(), anyLong(), anyLong()))
+          .thenReturn(1);
+
+      taskStatsService.recordAdded(
+          List.of(
+              task(Status.TODO, category),
+              task(Status.TODO, category),
+              task(Status.DONE, category)));
+
+      verify(statsRepository).increment(userId, category.getId(), 2, 2, 0, 0);
+      verify(statsRepository).increment(userId, category.getId(), 1, 0, 0, 1);
+    }
+
+    @Test
+    @DisplayName("should move counts between rows when status or category changes")
+    void recordChanged_MovesCounts() {
+      when(statsRepository.increment(any(), any(), anyLong(), anyLong(), anyLong(), anyLong()))
+          .thenReturn(1);
+
+      taskStatsService.recordChanged(null, Status.TODO, task(Status.DONE, category));
+
+      verify(statsRepository).increment(userId, UserTaskStats.NO_CATEGORY, -1, -1, 0, 0);
+      verify(statsRepository).increment(userId, category.getId(), 1, 0, 0, 1);
+    }
+
+    @Test
+    @DisplayName("should do nothing when neither status nor category changed")
+    void recordChanged_Unchanged_NoWrites() {
+      taskStatsService.recordChanged(category.getId(), Status.TODO, task(Status.TODO, category));
+
+      verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    @DisplayName("should fold a deleted category's counters into the uncategorized row")
+    void moveToUncategorized_MergesRow() {
+      UserTaskStats row = new UserTaskStats();
+      row.setTotal(5);
+      row.setTodo(2);
+      row.setInProgress(1);
+      row.setDone(2);
+      when(statsRepository.findByUserIdAndCategoryId(userId, category.getId()))
+          .thenReturn(Optional.of(row));
+      when(statsRepository.increment(userId, UserTaskStats.NO_CATEGORY, 5, 2, 1, 2)).thenReturn(1);
+
+      taskStatsService.moveToUncategorized(category);
+
+      InOrder order = inOrder(userRepository, statsRepository);
+      order.verify(userRepository).lockById(userId);
+      order.verify(statsRepository).findByUserIdAndCategoryId(userId, category.getId());
+      order.verify(statsRepository).delete(row);
+    }
+  }
+
+  @Nested
+  @DisplayName("reading and rebuilding")
+  class ReadingAndRebuilding {
+
+    @Test
+    @DisplayName("should aggregate counters from tasks without writing when none are stored")
+    void getCounters_AggregatesWhenMissing() {
+      TaskStatsRow row = mock(TaskStatsRow.class);
+      when(row.getStatus()).thenReturn(Status.TODO);
+      when(row.getCategoryId()).thenReturn(category.getId());
+      when(row.getTotal()).thenReturn(3L);
+      when(statsRepository.findAllByUserId(userId)).thenReturn(List.of());
+      when(taskRepository.aggregateStatsByUserId(eq(userId), any())).thenReturn(List.of(row));
+
+      List<UserTaskStats> counters = taskStatsService.getCounters(userId);
+
+      verify(statsRepository, never()).deleteAllByUserId(any());
+      verify(statsRepository, never()).saveAll(anyCollection());
+      assertEquals(2, counters.size());
+      assertEquals(UserTaskStats.NO_CATEGORY, counters.get(0).getCategoryId());
+      assertEquals(0, counters.get(0).getTotal());
+      assertEquals(3, counters.get(1).getTotal());
+      assertEquals(3, counters.get(1).getTodo());
+    }
+
+    @Test
+    @DisplayName("rebuild should lock the user before replacing the counters")
+    void rebuild_LocksUserBeforeReplacingRows() {
+      TaskStatsRow row = mock(TaskStatsRow.class);
+      when(row.getStatus()).thenReturn(Status.DONE);
+      when(row.getCategoryId()).thenReturn(null);
+      when(row.getTotal()).thenReturn(2L);
+      when(taskRepository.aggregateStatsByUserId(eq(userId), any())).thenReturn(List.of(row));
+      when(statsRepository.saveAll(anyCollection()))
+          .thenAnswer(inv -> new ArrayList<>(inv.getArgument(0)));
+
+      List<UserTaskStats> counters = taskStatsService.rebuild(userId);
+
+      InOrder order = inOrder(userRepository, statsRepository);
+      order.verify(userRepository).lockById(userId);
+      order.verify(statsRepository).deleteAllByUserId(userId);
+      order.verify(statsRepository).saveAll(anyCollection());
+      assertEquals(1, counters.size());
+      assertEquals(UserTaskStats.NO_CATEGORY, counters.get(0).getCategoryId());
+      assertEquals(2, counters.get(0).getDone());
+    }
+
+    @Test
+    @DisplayName("seed should create the empty uncategorized row")
+    void seed_CreatesUncategorizedRow() {
+      taskStatsService.seed(userId);
+
+      ArgumentCaptor<UserTaskStats> captor = ArgumentCaptor.forClass(UserTaskStats.class);
+      verify(statsRepository).save(captor.capture());
+      assertEquals(userId, captor.getValue().getUserId());
+      assertEquals(UserTaskStats.NO_CATEGORY, captor.getValue().getCategoryId());
+      assertEquals(0, captor.getValue().getTotal());
+    }
+
+    @Test
+    @DisplayName("should return stored counters without touching tasks")
+    void getCounters_ReturnsStoredRows() {
+      UserTaskStats stored = new UserTaskStats();
+      when(statsRepository.findAllByUserId(userId)).thenReturn(List.of(stored));
+
+      assertEquals(List.of(stored), taskStatsService.getCounters(userId));
+      verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("countTasks should sum the matching counters and never rebuild")
+    void countTasks_SumsCounters() {
+      UserTaskStats inCategory = new UserTaskStats();
+      inCategory.setCategoryId(category.getId());
+      inCategory.setTotal(5);
+      inCategory.setDone(2);
+      UserTaskStats uncategorized = new UserTaskStats();
+      uncategorized.setTotal(3);
+      uncategorized.setDone(1);
+      when(statsRepository.findAllByUserId(userId)).thenReturn(List.of(inCategory, uncategorized));
+
+      assertEquals(OptionalLong.of(8), taskStatsService.countTasks(userId, null, null));
+      assertEquals(OptionalLong.of(3), taskStatsService.countTasks(userId, Status.DONE, null));
+      assertEquals(
+          OptionalLong.of(2), taskStatsService.countTasks(userId, Status.DONE, category.getId()));
+    }
+
+    @Test
+    @DisplayName("countTasks should be empty when the user has no counters")
+    void countTasks_EmptyWithoutCounters() {
+      when(statsRepository.findAllByUserId(userId)).thenReturn(List.of());
+
+      assertTrue(taskStatsService.countTasks(userId, null, null).isEmpty());
+      verify(statsRepository, never()).deleteAllByUserId(any());
+      verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @DisplayName("rebuildAll should rebuild every user")
+    void rebuildAll_RebuildsEveryUser() {
+      User other = new User();
+      other.setId(UUID.randomUUID());
+      when(userRepository.findAll()).thenReturn(List.of(user, other));
+
+      assertEquals(2, taskStatsService.rebuildAll());
+      verify(statsRepository).deleteAllByUserId(userId);
+      verify(statsRepository).deleteAllByUserId(other.getId());
+      verify(transactionManager, times(2)).getTransaction(any());
+      verify(transactionManager, times(2)).commit(any());
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.todolist.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.todolist.config.TaskListProperties;
+import com.example.todolist.exception.TooManyTaskStreamsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TaskStreamLimiter")
+class TaskStreamLimiterTest {
+
+  private final TaskStreamLimiter limiter = new TaskStreamLimiter(new TaskListProperties(10, 2));
+
+  @Test
+  @DisplayName("Streams beyond the limit are refused until one ends")
+  void acquire_RefusesBeyondLimit() {
+    TaskStreamLimiter.Permit first = limiter.acquire();
+    limiter.acquire();
+
+    assertThrows(TooManyTaskStreamsException.class, limiter::acquire);
+
+    first.close();
+    limiter.acquire();
+    assertEquals(0, limiter.availablePermits());
+  }
+
+  @Test
+  @DisplayName("Closing a permit twice gives back only one stream")
+  void close_ReleasesOnce() {
+    TaskStreamLimiter.Permit permit = limiter.acquire();
+
+    permit.close();
+    permit.close();
+
+    assertEquals(2, limiter.availablePermits());
+  }
+}
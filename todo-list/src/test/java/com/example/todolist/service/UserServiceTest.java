@@ -7,7 +7,9 @@ import com.example.todolist.dto.request.RegisterRequest;
 import com.example.todolist.entity.User;
 import com.example.todolist.exception.UserAlreadyExistsException;
 import com.example.todolist.repository.UserRepository;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +28,8 @@ class UserServiceTest {
 
   @Mock PasswordEncoder encoder;
 
+  @Mock TaskStatsService taskStatsService;
+
   @InjectMocks UserService userService;
 
   @Test
@@ -34,6 +38,14 @@ class UserServiceTest {
     RegisterRequest dto = new RegisterRequest("mail@test.com", "pass123");
     when(userRepository.findByEmail("mail@test.com")).thenReturn(Optional.empty());
     when(encoder.encode("pass123")).thenReturn("encodedPassword");
+    UUID userId = UUID.randomUUID();
+    when(userRepository.save(any(User.class)))
+        .thenAnswer(
+            inv -> {
+              User saved = inv.getArgument(0);
+              saved.setId(userId);
+              return saved;
+            });
 
     userService.register(dto);
 
@@ -46,6 +58,7 @@ class UserServiceTest {
                     user.getEmail().equals("mail@test.com")
                         && user.getPassword().equals("encodedPassword")
                         && user.getRole().equals("USER")));
+    verify(taskStatsService).seed(userId);
   }
 
   @Test
@@ -90,4 +103,23 @@ class UserServiceTest {
     assertTrue(ex.getMessage().contains("User not found"));
     verify(userRepository).findByEmail(email);
   }
+
+  @Test
+  @DisplayName("getCurrentUser returns a reference by the principal's id without querying by email")
+  void getCurrentUser_UsesAuthenticatedUserId() {
+    UUID id = UUID.randomUUID();
+    User reference = new User();
+    reference.setId(id);
+    AuthenticatedUser principal =
+        new AuthenticatedUser(id, "test@example.com", "password", List.of());
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    when(userRepository.getReferenceById(id)).thenReturn(reference);
+
+    User result = userService.getCurrentUser();
+
+    assertSame(reference, result);
+    verify(userRepository, never()).findByEmail(any());
+  }
 }
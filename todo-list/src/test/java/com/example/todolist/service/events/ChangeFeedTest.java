@@ -0,0 +1,85 @@
+package com.example.todolist.service.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.todolist.config.ChangeFeedProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ChangeFeed")
+class ChangeFeedTest {
+
+  ExecutorService senders;
+  SimpleMeterRegistry meterRegistry;
+  ChangeFeed changeFeed;
+  UUID userId;
+
+  @BeforeEach
+  void setUp() {
+    senders = mock(ExecutorService.class);
+    meterRegistry = new SimpleMeterRegistry();
+    changeFeed =
+        new ChangeFeed(
+            new ChangeFeedProperties(2, 2, Duration.ofMinutes(1), 10), meterRegistry, senders);
+    userId = UUID.randomUUID();
+  }
+
+  private ChangeEvent event() {
+    return new ChangeEvent(userId, ChangeType.TASK_UPDATED, UUID.randomUUID());
+  }
+
+  @Test
+  @DisplayName("Events are queued on the publishing thread and sent by one sender per subscriber")
+  void publish_SchedulesOneSender() {
+    changeFeed.subscribe(userId, null);
+
+    changeFeed.publish(event());
+    changeFeed.publish(event());
+
+    verify(senders, times(1)).execute(any());
+    assertEquals(1, changeFeed.subscriberCount(userId));
+  }
+
+  @Test
+  @DisplayName("A subscriber whose buffer is full is disconnected")
+  void publish_DropsSlowSubscriber() {
+    changeFeed.subscribe(userId, null);
+
+    changeFeed.publish(event());
+    changeFeed.publish(event());
+    changeFeed.publish(event());
+
+    assertEquals(0, changeFeed.subscriberCount(userId));
+    assertEquals(1, meterRegistry.counter("todo.change-feed.dropped").count());
+    assertEquals(0, meterRegistry.get("todo.change-feed.subscribers").gauge().value());
+  }
+
+  @Test
+  @DisplayName("Opening more feeds than allowed stops the oldest")
+  void subscribe_StopsOldestBeyondLimit() {
+    changeFeed.subscribe(userId, null);
+    changeFeed.subscribe(userId, null);
+    changeFeed.subscribe(userId, null);
+    changeFeed.subscribe(UUID.randomUUID(), null);
+
+    assertEquals(2, changeFeed.subscriberCount(userId));
+    assertEquals(3, meterRegistry.get("todo.change-feed.subscribers").gauge().value());
+  }
+
+  @Test
+  @DisplayName("Events of users without open feeds are ignored")
+  void publish_WithoutSubscribers() {
+    changeFeed.publish(event());
+
+    verify(senders, times(0)).execute(any());
+  }
+}
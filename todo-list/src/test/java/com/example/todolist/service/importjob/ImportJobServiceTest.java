@@ -0,0 +1,136 @@
+package com.example.todolist.service.importjob;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.todolist.config.TaskImportProperties;
+import com.example.todolist.entity.Task;
+import com.example.todolist.entity.User;
+import com.example.todolist.exception.ImportJobNotFoundException;
+import com.example.todolist.exception.ImportQueueFullException;
+import com.example.todolist.service.TaskImportService;
+import com.example.todolist.service.UserService;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImportJobService")
+class ImportJobServiceTest {
+
+  @Mock TaskImportService taskImportService;
+  @Mock UserService userService;
+
+  ExecutorService executor;
+  ImportJobService importJobService;
+  User user;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    importJobService =
+        new ImportJobService(
+            taskImportService,
+            userService,
+            new TaskImportProperties(2, 1, 1, 1, Duration.ofHours(1)),
+            executor);
+    user = new User();
+    user.setId(UUID.randomUUID());
+    when(userService.getCurrentUser()).thenReturn(user);
+  }
+
+  private static MockMultipartFile csv(String rows) {
+    return new MockMultipartFile(
+        "file",
+        "tasks.csv",
+        "text/csv",
+        ("title;description;status;dueDate;categoryName\n" + rows)
+            .getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void awaitJobs() throws InterruptedException {
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @DisplayName("Job imports valid rows in chunks and records rejected rows")
+  void submit_ImportsChunksAndRecordsRejectedRows() throws Exception {
+    when(taskImportService.batchSize()).thenReturn(2);
+    when(taskImportService.categoriesByName(user.getId())).thenReturn(Map.of());
+    when(taskImportService.parseRow(any(), anyInt(), any(), any()))
+        .thenAnswer(
+            inv -> {
+              String[] row = inv.getArgument(0);
+              return row[0].isBlank()
+                  ? new TaskImportService.ParsedRow(null, "Row " + inv.getArgument(1) + ": bad")
+                  : new TaskImportService.ParsedRow(new Task(), null);
+            });
+    when(taskImportService.importChunk(anyList()))
+        .thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+    ImportJob job = importJobService.submit(csv("A;;;;\n;;;;\nB;;;;\nC;;;;\n;;;;\n"));
+    awaitJobs();
+
+    assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+    assertEquals(3, job.getAcceptedRows());
+    assertEquals(2, job.getRejectedRows());
+    assertEquals(List.of("Row 3: bad"), job.getErrors());
+    assertTrue(job.isFinished());
+    verify(taskImportService, times(2)).importChunk(anyList());
+    assertSame(job, importJobService.getJob(job.getId()));
+  }
+
+  @Test
+  @DisplayName("Job is marked failed when a chunk cannot be written")
+  void submit_MarksJobFailedOnError() throws Exception {
+    when(taskImportService.batchSize()).thenReturn(2);
+    when(taskImportService.parseRow(any(), anyInt(), any(), any()))
+        .thenReturn(new TaskImportService.ParsedRow(new Task(), null));
+    when(taskImportService.importChunk(anyList())).thenThrow(new RuntimeException("DB down"));
+
+    ImportJob job = importJobService.submit(csv("A;;;;\n"));
+    awaitJobs();
+
+    assertEquals(ImportJobStatus.FAILED, job.getStatus());
+    assertEquals("DB down", job.getMessage());
+  }
+
+  @Test
+  @DisplayName("Jobs of other users are not visible")
+  void getJob_OtherUser_Throws() throws Exception {
+    when(taskImportService.batchSize()).thenReturn(2);
+    ImportJob job = importJobService.submit(csv(""));
+    awaitJobs();
+
+    User other = new User();
+    other.setId(UUID.randomUUID());
+    when(userService.getCurrentUser()).thenReturn(other);
+
+    assertThrows(ImportJobNotFoundException.class, () -> importJobService.getJob(job.getId()));
+    assertThrows(
+        ImportJobNotFoundException.class, () -> importJobService.getJob(UUID.randomUUID()));
+    assertTrue(importJobService.findJob(job.getId()).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Uploads are refused when the worker queue is full")
+  void submit_QueueFull_Throws() {
+    executor.shutdownNow();
+
+    assertThrows(ImportQueueFullException.class, () -> importJobService.submit(csv("A;;;;\n")));
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.todolist.service.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.todolist.repository.KeywordTerms;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Trigrams")
+class TrigramsTest {
+
+  @Test
+  @DisplayName("Document words are lower-cased, stripped of diacritics and padded on both sides")
+  void ofDocument_NormalizesAndPads() {
+    assertEquals(
+        Set.of("  z", " zo", "zol", "olw", "lw ", "  a", " a1", "a1 "),
+        Trigrams.ofDocument("Żółw, A1!"));
+  }
+
+  @Test
+  @DisplayName("Query trigrams of a prefix are contained in the word's document trigrams")
+  void ofQuery_IsPrefixOfDocument() {
+    assertTrue(Trigrams.ofDocument("shopping").containsAll(Trigrams.ofQuery("shop")));
+    assertTrue(Trigrams.ofQuery(null).isEmpty());
+    assertTrue(Trigrams.ofQuery(" - ").isEmpty());
+  }
+
+  @Test
+  @DisplayName("Query words of three or four letters match inside longer words")
+  void ofQuery_ShortWordsMatchAsSubstring() {
+    assertEquals(Set.of("ask"), Trigrams.ofQuery("ask"));
+    assertTrue(Trigrams.ofDocument("Task").containsAll(Trigrams.ofQuery("ask")));
+    assertTrue(Trigrams.ofDocument("workshop").containsAll(Trigrams.ofQuery("shop")));
+    assertEquals(Set.of("  s", " sk"), Trigrams.ofQuery("sk"));
+  }
+
+  @Test
+  @DisplayName("Longer query words found inside a word miss only their padded trigrams")
+  void ofQuery_LongerInfixMeetsThreshold() {
+    Set<String> query = Trigrams.ofQuery("roject");
+    Set<String> shared = new HashSet<>(query);
+    shared.retainAll(Trigrams.ofDocument("Project"));
+    assertTrue(shared.size() >= Trigrams.requiredMatches(query.size()));
+  }
+
+  @Test
+  @DisplayName("Short queries must match exactly, longer ones tolerate half of their trigrams")
+  void requiredMatches() {
+    assertEquals(0, Trigrams.requiredMatches(0));
+    assertEquals(4, Trigrams.requiredMatches(4));
+    assertEquals(3, Trigrams.requiredMatches(5));
+    assertEquals(4, Trigrams.requiredMatches(7));
+  }
+
+  @Test
+  @DisplayName("A query with text but no trigrams yields a word that matches nothing")
+  void keywords_OfQueryWithoutTrigrams() {
+    assertEquals(List.of(new KeywordTerms(Set.of(), 1)), Trigrams.keywords("--"));
+    assertTrue(Trigrams.keywords("  ").isEmpty());
+    assertTrue(Trigrams.keywords(null).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Every query word gets its own trigrams and threshold")
+  void keywords_ThresholdPerWord() {
+    assertEquals(
+        List.of(
+            new KeywordTerms(Set.of("  z", " za", "zak", "aku", "kup", "upy"), 3),
+            new KeywordTerms(Set.of("mle", "lek"), 2)),
+        Trigrams.keywords("Zakupy, mlek"));
+  }
+}
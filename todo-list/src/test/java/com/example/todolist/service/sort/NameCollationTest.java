@@ -0,0 +1,56 @@
+package com.example.todolist.service.sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NameCollation")
+class NameCollationTest {
+
+  private static final List<String> POLISH_ORDER =
+      List.of("abc", "ąĄĄ", "bcd", "Łódź", "mleko", "Śniadania", "Zebra", "Źródła", "Żaba");
+
+  private static List<String> reversed(List<String> names) {
+    List<String> copy = new ArrayList<>(names);
+    Collections.reverse(copy);
+    return copy;
+  }
+
+  @Test
+  @DisplayName("Names are sorted in Polish order, nulls last, and reversed when descending")
+  void sort_UsesPolishOrder() {
+    List<String> shuffled =
+        Arrays.asList(
+            "Żaba", null, "bcd", "Źródła", "abc", "Zebra", "Łódź", "ąĄĄ", "Śniadania", "mleko");
+
+    List<String> ascending =
+        NameCollation.sort(shuffled, Function.identity(), NameCollation.POLISH, false);
+    List<String> descending =
+        NameCollation.sort(shuffled, Function.identity(), NameCollation.POLISH, true);
+
+    assertEquals(POLISH_ORDER, ascending.subList(0, POLISH_ORDER.size()));
+    assertNull(ascending.get(ascending.size() - 1));
+    assertNull(descending.get(0));
+    assertEquals(reversed(POLISH_ORDER), descending.subList(1, descending.size()));
+  }
+
+  @Test
+  @DisplayName("Stored sort keys compare as unsigned bytes in collation order")
+  void sortKey_MatchesCollationOrder() {
+    List<String> byKey =
+        reversed(POLISH_ORDER).stream()
+            .sorted(Comparator.comparing(NameCollation::sortKey, Arrays::compareUnsigned))
+            .toList();
+
+    assertEquals(POLISH_ORDER, byKey);
+    assertArrayEquals(NameCollation.sortKey("dom"), NameCollation.sortKey("Dom"));
+    assertNull(NameCollation.sortKey(null));
+  }
+}
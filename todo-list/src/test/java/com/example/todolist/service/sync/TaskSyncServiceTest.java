@@ -0,0 +1,193 @@
+package com.example.todolist.service.sync;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.todolist.config.TaskSyncProperties;
+import com.example.todolist.entity.TaskDeletion;
+import com.example.todolist.entity.User;
+import com.example.todolist.exception.InvalidCursorException;
+import com.example.todolist.exception.SyncTokenExpiredException;
+import com.example.todolist.repository.ChangedTask;
+import com.example.todolist.repository.TaskDeletionRepository;
+import com.example.todolist.repository.TaskListItem;
+import com.example.todolist.repository.TaskRepository;
+import com.example.todolist.service.UserService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskSyncService")
+class TaskSyncServiceTest {
+
+  @Mock TaskRepository taskRepository;
+  @Mock TaskDeletionRepository deletionRepository;
+  @Mock UserService userService;
+
+  TaskSyncService syncService;
+  UUID userId;
+  LocalDateTime base;
+
+  @BeforeEach
+  void setUp() {
+    syncService =
+        new TaskSyncService(
+            taskRepository,
+            deletionRepository,
+            userService,
+            new TaskSyncProperties(2, Duration.ofSeconds(5), Duration.ofDays(30)));
+    User user = new User();
+    userId = UUID.randomUUID();
+    user.setId(userId);
+    lenient().when(userService.getCurrentUser()).thenReturn(user);
+    base = LocalDateTime.now().minusHours(1);
+  }
+
+  private ChangedTask changed(UUID id, LocalDateTime updatedAt) {
+    return new ChangedTask(
+        new TaskListItem(id, "t", null, null, null, userId, null, null, null), updatedAt);
+  }
+
+  @Test
+  @DisplayName("A request without a token returns no changes and a token from just before now")
+  void withoutToken_StartsTracking() {
+    TaskChanges<TaskListItem> changes = syncService.getChanges(null);
+
+    assertTrue(changes.changed().isEmpty());
+    assertFalse(changes.hasMore());
+    SyncToken token = SyncToken.decode(changes.nextToken());
+    assertTrue(token.time().isBefore(LocalDateTime.now().minusSeconds(4)));
+    verifyNoInteractions(taskRepository, deletionRepository);
+  }
+
+  @Test
+  @DisplayName("Changes and tombstones are merged in time order up to the page size")
+  void mergesChangesAndDeletions() {
+    UUID first = UUID.randomUUID();
+    UUID removed = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    SyncToken from = SyncToken.startingAt(base);
+    when(taskRepository.findChangedAfter(
+            eq(userId), eq(from.time()), eq(from.id()), any(Limit.class)))
+        .thenReturn(
+            List.of(changed(first, base.plusSeconds(1)), changed(third, base.plusSeconds(3))));
+    when(deletionRepository.findDeletedAfter(
+            eq(userId), eq(from.time()), eq(from.id()), any(Limit.class)))
+        .thenReturn(List.of(new TaskDeletion(removed, userId, base.plusSeconds(2))));
+
+    TaskChanges<TaskListItem> changes = syncService.getChanges(from.encode());
+
+    assertEquals(List.of(first), changes.changed().stream().map(TaskListItem::id).toList());
+    assertEquals(List.of(removed), changes.deleted());
+    assertTrue(changes.hasMore());
+    assertEquals(
+        new SyncToken(base.plusSeconds(2), removed), SyncToken.decode(changes.nextToken()));
+  }
+
+  @Test
+  @DisplayName("Once caught up the next token is moved back by the overlap")
+  void caughtUp_RewindsByOverlap() {
+    LocalDateTime recent = LocalDateTime.now().minusSeconds(1);
+    SyncToken from = SyncToken.startingAt(base);
+    when(taskRepository.findChangedAfter(any(), any(), any(), any(Limit.class)))
+        .thenReturn(List.of(changed(UUID.randomUUID(), recent)));
+
+    TaskChanges<TaskListItem> changes = syncService.getChanges(from.encode());
+
+    SyncToken next = SyncToken.decode(changes.nextToken());
+    assertFalse(changes.hasMore());
+    assertEquals(1, changes.changed().size());
+    assertTrue(next.time().isBefore(recent));
+    assertTrue(next.compareTo(from) > 0);
+  }
+
+  @Test
+  @DisplayName("A full page never moves the token past the overlap")
+  void fullPage_ClampsTokenToOverlap() {
+    SyncToken from = SyncToken.startingAt(base);
+    LocalDateTime recent = LocalDateTime.now().minusSeconds(1);
+    when(taskRepository.findChangedAfter(any(), any(), any(), any(Limit.class)))
+        .thenReturn(
+            List.of(
+                changed(UUID.randomUUID(), base.plusSeconds(1)),
+                changed(UUID.randomUUID(), recent),
+                changed(UUID.randomUUID(), recent.plusNanos(1000))));
+
+    TaskChanges<TaskListItem> changes = syncService.getChanges(from.encode());
+
+    SyncToken next = SyncToken.decode(changes.nextToken());
+    assertTrue(changes.hasMore());
+    assertEquals(2, changes.changed().size());
+    assertTrue(next.time().isBefore(LocalDateTime.now().minusSeconds(4)));
+    assertTrue(next.compareTo(from) > 0);
+  }
+
+  @Test
+  @DisplayName("A full page within the overlap keeps the token and ends paging")
+  void fullPageWithinOverlap_KeepsTokenAndStops() {
+    LocalDateTime recent = LocalDateTime.now().minusSeconds(1);
+    SyncToken from = SyncToken.startingAt(recent.minusNanos(1000));
+    when(taskRepository.findChangedAfter(any(), any(), any(), any(Limit.class)))
+        .thenReturn(
+            List.of(
+                changed(UUID.randomUUID(), recent),
+                changed(UUID.randomUUID(), recent.plusNanos(1000)),
+                changed(UUID.randomUUID(), recent.plusNanos(2000))));
+
+    TaskChanges<TaskListItem> changes = syncService.getChanges(from.encode());
+
+    assertFalse(changes.hasMore());
+    assertEquals(2, changes.changed().size());
+    assertEquals(from, SyncToken.decode(changes.nextToken()));
+  }
+
+  @Test
+  @DisplayName("Tokens older than the tombstone retention are rejected")
+  void expiredToken_Throws() {
+    String token = SyncToken.startingAt(LocalDateTime.now().minusDays(31)).encode();
+
+    assertThrows(SyncTokenExpiredException.class, () -> syncService.getChanges(token));
+    verifyNoInteractions(taskRepository);
+  }
+
+  @Test
+  @DisplayName("Malformed tokens are rejected")
+  void malformedToken_Throws() {
+    assertThrows(InvalidCursorException.class, () -> syncService.getChanges("not-a-token"));
+  }
+
+  @Test
+  @DisplayName("Token ids are ordered unsigned, like the database orders UUIDs")
+  void tokenOrder_IsUnsigned() {
+    SyncToken low = new SyncToken(base, new UUID(1, 0));
+    SyncToken high = new SyncToken(base, new UUID(-1, 0));
+
+    assertTrue(low.compareTo(high) < 0);
+    assertEquals(high, SyncToken.decode(high.encode()));
+  }
+
+  @Test
+  @DisplayName("recordDeleted writes a tombstone and prunes expired ones")
+  void recordDeleted_WritesTombstone() {
+    UUID taskId = UUID.randomUUID();
+
+    syncService.recordDeleted(taskId, userId);
+
+    verify(deletionRepository).save(any(TaskDeletion.class));
+    verify(deletionRepository).deleteByUserIdAndDeletedAtBefore(eq(userId), any());
+  }
+}